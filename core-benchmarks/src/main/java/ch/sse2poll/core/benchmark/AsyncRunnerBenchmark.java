@@ -0,0 +1,66 @@
+package ch.sse2poll.core.benchmark;
+
+import ch.sse2poll.core.engine.support.implementation.BoundedAsyncRunner;
+import ch.sse2poll.core.engine.support.implementation.FixedConcurrencyLimit;
+import ch.sse2poll.core.engine.support.implementation.GradientConcurrencyLimit;
+import ch.sse2poll.core.engine.support.implementation.VirtualThreadAsyncRunner;
+import ch.sse2poll.core.engine.support.interfaces.AsyncRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Dispatch overhead of each runner: hand a trivial computation over and wait until its callback ran.
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AsyncRunnerBenchmark {
+
+    @Param({"virtual", "bounded", "adaptive"})
+    public String runner;
+
+    private AsyncRunner asyncRunner;
+
+    @Setup
+    public void setUp() {
+        asyncRunner = switch (runner) {
+            case "virtual" -> new VirtualThreadAsyncRunner();
+            case "bounded" -> new BoundedAsyncRunner(new VirtualThreadAsyncRunner(),
+                    namespace -> new FixedConcurrencyLimit(256), 1024);
+            case "adaptive" -> new BoundedAsyncRunner(new VirtualThreadAsyncRunner(),
+                    namespace -> new GradientConcurrencyLimit(20, 1, 256), 1024);
+            default -> throw new IllegalArgumentException("Unknown runner: " + runner);
+        };
+    }
+
+    @Benchmark
+    public Object dispatch() {
+        return roundTrip();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object dispatchContended() {
+        return roundTrip();
+    }
+
+    private Object roundTrip() {
+        CompletableFuture<Object> done = new CompletableFuture<>();
+        asyncRunner.run("bench", () -> Boolean.TRUE, done::complete, done::completeExceptionally);
+        return done.join();
+    }
+}
@@ -0,0 +1,88 @@
+package ch.sse2poll.core.benchmark;
+
+import ch.sse2poll.core.engine.port.outgoing.CacheClient;
+import ch.sse2poll.core.framework.cache.CaffeineCacheClient;
+import ch.sse2poll.core.framework.cache.OffHeapCacheClient;
+import ch.sse2poll.core.framework.cache.codec.CompactBinaryCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Job lifecycle against the store alone. With keys=one every thread fights over a single entry; with keys=many
+// each thread owns its key, which is the common case of independent jobs.
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheClientBenchmark {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final String PAYLOAD = "{\"sku\":\"A-1\",\"quantity\":3}";
+
+    @Param({"caffeine", "offheap"})
+    public String store;
+
+    @Param({"one", "many"})
+    public String keys;
+
+    private final AtomicInteger threads = new AtomicInteger();
+    private CacheClient cache;
+
+    @Setup
+    public void setUp() {
+        cache = switch (store) {
+            case "caffeine" -> new CaffeineCacheClient(10_000);
+            case "offheap" -> new OffHeapCacheClient(10_000, 64L * 1024 * 1024, new CompactBinaryCodec());
+            default -> throw new IllegalArgumentException("Unknown store: " + store);
+        };
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+        String key;
+        String jobId;
+
+        @Setup
+        public void setUp(CacheClientBenchmark benchmark) {
+            jobId = "one".equals(benchmark.keys) ? "job-0" : "job-" + benchmark.threads.incrementAndGet();
+            key = "bench:" + jobId;
+            benchmark.cache.writePending(key, jobId, TTL);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object readPending(ThreadKey thread) {
+        return cache.read(thread.key, String.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void writeReady(ThreadKey thread) {
+        cache.writeReady(thread.key, PAYLOAD, TTL);
+    }
+
+    // kickoff marker, result write, and the consuming poll: what one job costs the store end to end
+    @Benchmark
+    @Threads(4)
+    public Object lifecycle(ThreadKey thread) {
+        cache.writePending(thread.key, thread.jobId, TTL);
+        cache.writeReady(thread.key, PAYLOAD, TTL);
+        return cache.consume(thread.key, String.class);
+    }
+}
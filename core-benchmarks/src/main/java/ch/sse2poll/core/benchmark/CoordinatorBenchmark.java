@@ -0,0 +1,134 @@
+package ch.sse2poll.core.benchmark;
+
+import ch.sse2poll.core.engine.CacheBackedPollCoordinator;
+import ch.sse2poll.core.engine.exception.PendingJobException;
+import ch.sse2poll.core.engine.port.incoming.PollCoordinator.Endpoint;
+import ch.sse2poll.core.engine.port.incoming.PollCoordinator.RequestContextView;
+import ch.sse2poll.core.engine.support.implementation.DefaultKeyFactory;
+import ch.sse2poll.core.engine.support.implementation.HistogramCompletionTimeModel;
+import ch.sse2poll.core.engine.support.implementation.SignalingReadyAwaiter;
+import ch.sse2poll.core.engine.support.implementation.UuidIdGenerator;
+import ch.sse2poll.core.engine.support.interfaces.AsyncRunner;
+import ch.sse2poll.core.engine.support.interfaces.KeyFactory;
+import ch.sse2poll.core.framework.cache.CaffeineCacheClient;
+import ch.sse2poll.core.framework.cache.CaffeineResultCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Whole request path minus HTTP: kickoff, a poll that finds the job pending and a poll that takes the result.
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CoordinatorBenchmark {
+
+    private static final Endpoint ENDPOINT = Endpoint.of("bench", String.class);
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final String PAYLOAD = "{\"sku\":\"A-1\",\"quantity\":3}";
+    private static final String PENDING_JOB = "pending-job";
+
+    private final KeyFactory keys = new DefaultKeyFactory();
+    private CaffeineCacheClient cache;
+    private CacheBackedPollCoordinator inline;
+    private CacheBackedPollCoordinator deferred;
+
+    @Setup
+    public void setUp() {
+        cache = new CaffeineCacheClient(10_000);
+        // the inline runner completes before the kickoff reads back, so every kickoff is served its own result
+        inline = new CacheBackedPollCoordinator(cache, new UuidIdGenerator(), keys, new SignalingReadyAwaiter(),
+                new InlineAsyncRunner(), shipped());
+        // each kickoff finds its own job still queued and gets a 202; the previous job completes so nothing piles up
+        deferred = new CacheBackedPollCoordinator(cache, new UuidIdGenerator(), keys, new SignalingReadyAwaiter(),
+                new LaggingAsyncRunner(), shipped());
+        cache.writePending(keys.build(ENDPOINT.namespace(), PENDING_JOB), PENDING_JOB, Duration.ofHours(1));
+    }
+
+    // What the auto-configuration wires, with a histogram that already holds enough samples to hint every 202.
+    private static CacheBackedPollCoordinator.Options shipped() {
+        HistogramCompletionTimeModel completionTimes = new HistogramCompletionTimeModel(Duration.ofSeconds(30));
+        for (int i = 0; i < 1_000; i++) {
+            completionTimes.record(ENDPOINT.namespace(), TimeUnit.MILLISECONDS.toNanos(50 + i % 400));
+        }
+        return CacheBackedPollCoordinator.Options.defaults()
+                .withResultCache(new CaffeineResultCache(10_000))
+                .withCompletionTimes(completionTimes);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object kickoffReady() {
+        return inline.handle(ENDPOINT, () -> PAYLOAD, NO_ARGS, Request.KICKOFF);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object kickoffPending() {
+        try {
+            return deferred.handle(ENDPOINT, () -> PAYLOAD, NO_ARGS, Request.KICKOFF);
+        } catch (PendingJobException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object pollPending() {
+        try {
+            return deferred.handle(ENDPOINT, () -> PAYLOAD, NO_ARGS, Request.POLL_PENDING);
+        } catch (PendingJobException ex) {
+            return ex;
+        }
+    }
+
+    // includes the write that makes the result available; subtract CacheClientBenchmark.writeReady for the poll alone
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object pollReady() {
+        cache.writeReady(keys.build(ENDPOINT.namespace(), "ready-job"), PAYLOAD, Duration.ofMinutes(5));
+        return deferred.handle(ENDPOINT, () -> PAYLOAD, NO_ARGS, Request.POLL_READY);
+    }
+
+    private record Request(String clientJobId, long waitMs) implements RequestContextView {
+        static final Request KICKOFF = new Request(null, 0);
+        static final Request POLL_PENDING = new Request(PENDING_JOB, 0);
+        static final Request POLL_READY = new Request("ready-job", 0);
+    }
+
+    static final class InlineAsyncRunner implements AsyncRunner {
+        @Override
+        public <T> void run(Supplier<T> compute, Consumer<T> onSuccess) {
+            onSuccess.accept(compute.get());
+        }
+    }
+
+    static final class LaggingAsyncRunner implements AsyncRunner {
+        private final AtomicReference<Runnable> queued = new AtomicReference<>();
+
+        @Override
+        public <T> void run(Supplier<T> compute, Consumer<T> onSuccess) {
+            Runnable previous = queued.getAndSet(() -> onSuccess.accept(compute.get()));
+            if (previous != null) {
+                previous.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ch.sse2poll.core.benchmark;
+
+import ch.sse2poll.core.engine.support.implementation.PollingReadyAwaiter;
+import ch.sse2poll.core.engine.support.implementation.SignalingReadyAwaiter;
+import ch.sse2poll.core.engine.support.interfaces.ReadyAwaiter;
+import ch.sse2poll.core.entities.model.Ready;
+import ch.sse2poll.core.framework.cache.InJvmCompletionBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// How long a waitMs poll takes to come back once the job finishes completeAfterMicros after it parked.
+// The gap between the score and completeAfterMicros is the awaiter's wake-up latency.
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadyAwaiterBenchmark {
+
+    private static final long WAIT_MS = 1_000;
+    private static final Optional<Ready<String>> READY = Optional.of(new Ready<>("done"));
+
+    @Param({"polling", "signaling", "signaling-bus"})
+    public String awaiter;
+
+    @Param({"200"})
+    public long completeAfterMicros;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ReadyAwaiter readyAwaiter;
+
+    @Setup
+    public void setUp() {
+        readyAwaiter = switch (awaiter) {
+            case "polling" -> new PollingReadyAwaiter();
+            case "signaling" -> new SignalingReadyAwaiter();
+            case "signaling-bus" -> new SignalingReadyAwaiter(new InJvmCompletionBus());
+            default -> throw new IllegalArgumentException("Unknown awaiter: " + awaiter);
+        };
+    }
+
+    @Benchmark
+    public Optional<Ready<String>> wakeOnCompletion() {
+        String key = "bench:" + sequence.incrementAndGet();
+        AtomicBoolean done = new AtomicBoolean();
+        readyAwaiter.register(key);
+        Thread.startVirtualThread(() -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(completeAfterMicros));
+            done.set(true);
+            readyAwaiter.signal(key);
+        });
+        return readyAwaiter.waitReady(key, WAIT_MS, () -> done.get() ? READY : Optional.empty());
+    }
+}
@@ -1,19 +1,49 @@
 package ch.sse2poll.core.engine;
 
+import ch.sse2poll.core.engine.port.incoming.ChunkEmitter;
 import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
+import ch.sse2poll.core.engine.port.incoming.ProgressReporter;
 import ch.sse2poll.core.engine.port.outgoing.CacheClient;
+import ch.sse2poll.core.engine.port.outgoing.PollMetrics;
+import ch.sse2poll.core.engine.port.outgoing.PollMetrics.PollOutcome;
+import ch.sse2poll.core.engine.port.outgoing.ResultCache;
+import ch.sse2poll.core.engine.support.implementation.GenericFailureTranslator;
 import ch.sse2poll.core.engine.support.interfaces.AsyncRunner;
+import ch.sse2poll.core.engine.support.interfaces.BodyEncoder;
+import ch.sse2poll.core.engine.support.interfaces.CompletionTimeModel;
+import ch.sse2poll.core.engine.support.interfaces.CompletionTimeModel.PollHint;
+import ch.sse2poll.core.engine.support.interfaces.FailureTranslator;
 import ch.sse2poll.core.engine.support.interfaces.IdGenerator;
 import ch.sse2poll.core.engine.support.interfaces.KeyFactory;
 import ch.sse2poll.core.engine.support.interfaces.ReadyAwaiter;
+import ch.sse2poll.core.engine.exception.FailedJobException;
 import ch.sse2poll.core.engine.exception.PendingJobException;
+import ch.sse2poll.core.engine.exception.RejectedJobException;
 import ch.sse2poll.core.engine.exception.UnknownJobException;
+import ch.sse2poll.core.entities.model.ChunkPage;
 import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Fingerprint;
+import ch.sse2poll.core.entities.model.JobRef;
+import ch.sse2poll.core.entities.model.JobStatus;
+import ch.sse2poll.core.entities.model.Partial;
 import ch.sse2poll.core.entities.model.Pending;
+import ch.sse2poll.core.entities.model.Progress;
 import ch.sse2poll.core.entities.model.Ready;
+import ch.sse2poll.core.entities.model.Retention;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 public class CacheBackedPollCoordinator implements PollCoordinator {
@@ -23,100 +53,805 @@ public class CacheBackedPollCoordinator implements PollCoordinator {
     private final KeyFactory keyFactory;
     private final ReadyAwaiter readyAwaiter;
     private final AsyncRunner asyncRunner;
+    private final ResultCache resultCache;
+    private final FailureTranslator failureTranslator;
+    private final BodyEncoder bodyEncoder;
+    private final CompletionTimeModel completionTimes;
+    private final PollMetrics metrics;
+    private final Retention retention;
+    private final ConcurrentMap<String, ReadBudget> readBudgets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Fingerprint, Flight> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Flight> running = new ConcurrentHashMap<>();
     private static final Duration CACHE_TTL = Duration.ofMinutes(5);
+    // batch waits span namespaces, so their awaiter time is reported under this one
+    private static final String BATCH_NAMESPACE = "batch";
+    private static final Ready<Object> SETTLED = new Ready<>(null);
+    // what a cursor poll's probe answers when chunks past its cursor arrived while it waited
+    private static final Ready<Object> MORE_CHUNKS = new Ready<>(null);
+    private static final String RETAINED_SUFFIX = ":consumed";
+    private static final int READ_BUDGET_PURGE_THRESHOLD = 1024;
 
     public CacheBackedPollCoordinator(CacheClient cacheClient,
             IdGenerator idGenerator,
             KeyFactory keyFactory,
             ReadyAwaiter readyAwaiter,
             AsyncRunner asyncRunner) {
+        this(cacheClient, idGenerator, keyFactory, readyAwaiter, asyncRunner, Options.defaults());
+    }
+
+    public CacheBackedPollCoordinator(CacheClient cacheClient,
+            IdGenerator idGenerator,
+            KeyFactory keyFactory,
+            ReadyAwaiter readyAwaiter,
+            AsyncRunner asyncRunner,
+            Options options) {
         this.cacheClient = cacheClient;
         this.idGenerator = idGenerator;
         this.keyFactory = keyFactory;
         this.readyAwaiter = readyAwaiter;
         this.asyncRunner = asyncRunner;
+        this.resultCache = options.resultCache();
+        this.failureTranslator = options.failureTranslator();
+        this.bodyEncoder = options.bodyEncoder();
+        this.completionTimes = options.completionTimes();
+        this.metrics = options.metrics();
+        this.retention = options.retention();
+    }
+
+    // The optional collaborators, each defaulting to the behavior of leaving the feature off; set the ones in use with
+    // the with* methods.
+    public record Options(ResultCache resultCache,
+            FailureTranslator failureTranslator,
+            BodyEncoder bodyEncoder,
+            CompletionTimeModel completionTimes,
+            PollMetrics metrics,
+            Retention retention) {
+
+        private static final BodyEncoder NO_ENCODER = payload -> {
+            throw new IllegalStateException("preEncode endpoints need a BodyEncoder");
+        };
+
+        public Options {
+            Objects.requireNonNull(resultCache, "resultCache");
+            Objects.requireNonNull(failureTranslator, "failureTranslator");
+            Objects.requireNonNull(bodyEncoder, "bodyEncoder");
+            Objects.requireNonNull(completionTimes, "completionTimes");
+            Objects.requireNonNull(metrics, "metrics");
+            Objects.requireNonNull(retention, "retention");
+        }
+
+        public static Options defaults() {
+            return new Options(ResultCache.NONE, new GenericFailureTranslator(), NO_ENCODER, CompletionTimeModel.NONE,
+                    PollMetrics.NONE, Retention.NONE);
+        }
+
+        public Options withResultCache(ResultCache resultCache) {
+            return new Options(resultCache, failureTranslator, bodyEncoder, completionTimes, metrics, retention);
+        }
+
+        public Options withFailureTranslator(FailureTranslator failureTranslator) {
+            return new Options(resultCache, failureTranslator, bodyEncoder, completionTimes, metrics, retention);
+        }
+
+        public Options withBodyEncoder(BodyEncoder bodyEncoder) {
+            return new Options(resultCache, failureTranslator, bodyEncoder, completionTimes, metrics, retention);
+        }
+
+        public Options withCompletionTimes(CompletionTimeModel completionTimes) {
+            return new Options(resultCache, failureTranslator, bodyEncoder, completionTimes, metrics, retention);
+        }
+
+        public Options withMetrics(PollMetrics metrics) {
+            return new Options(resultCache, failureTranslator, bodyEncoder, completionTimes, metrics, retention);
+        }
+
+        public Options withRetention(Retention retention) {
+            return new Options(resultCache, failureTranslator, bodyEncoder, completionTimes, metrics, retention);
+        }
     }
 
     @Override
     public Object handle(
-            String namespace,
+            Endpoint endpoint,
             Supplier<?> compute,
-            Class<?> responseType,
+            Object[] arguments,
             RequestContextView requestContext) {
         String clientJobId = requestContext.clientJobId();
-        long waitMs = requestContext.waitMs();
+        long waitMs = endpoint.lifecycle().clampWait(requestContext.waitMs());
+        boolean poll = clientJobId != null && !clientJobId.isBlank();
+        register(endpoint);
+        if (!poll) {
+            metrics.kickoff(endpoint.namespace());
+        }
 
-        if (clientJobId != null && !clientJobId.isBlank()) {
-            return handlePoll(namespace, clientJobId, waitMs, responseType);
+        try {
+            Object result = poll
+                    ? handlePoll(endpoint, clientJobId, waitMs, requestContext.cursor())
+                    : handleKickoff(endpoint, waitMs, compute, arguments);
+            if (poll) {
+                metrics.poll(endpoint.namespace(), clientJobId, outcome(result));
+            }
+            return result;
+        } catch (RuntimeException ex) {
+            if (poll) {
+                metrics.poll(endpoint.namespace(), clientJobId, outcome(ex));
+            }
+            throw ex;
         }
-        return handleKickoff(namespace, waitMs, compute, responseType);
     }
 
-    private Object handlePoll(String namespace, String jobId, long waitMs, Class<?> responseType) {
-        String key = keyFactory.build(namespace, jobId);
+    @Override
+    public CompletableFuture<Object> handleAsync(
+            Endpoint endpoint,
+            Supplier<?> compute,
+            Object[] arguments,
+            RequestContextView requestContext) {
+        String clientJobId = requestContext.clientJobId();
+        boolean poll = clientJobId != null && !clientJobId.isBlank();
+        register(endpoint);
+        if (!poll) {
+            metrics.kickoff(endpoint.namespace());
+        }
+
+        return dispatchAsync(endpoint, compute, arguments, requestContext).handle((value, error) -> {
+            if (error == null) {
+                if (poll) {
+                    metrics.poll(endpoint.namespace(), clientJobId, outcome(value));
+                }
+                return value;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (poll) {
+                metrics.poll(endpoint.namespace(), clientJobId, outcome(cause));
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+        });
+    }
+
+    private CompletableFuture<Object> dispatchAsync(
+            Endpoint endpoint,
+            Supplier<?> compute,
+            Object[] arguments,
+            RequestContextView requestContext) {
+        String clientJobId = requestContext.clientJobId();
+        long waitMs = endpoint.lifecycle().clampWait(requestContext.waitMs());
 
-        return returnReadyOrPending(key, jobId, waitMs, responseType);
+        try {
+            if (clientJobId != null && !clientJobId.isBlank()) {
+                String key = keyFactory.build(endpoint.namespace(), clientJobId);
+                if (requestContext.cursor() != null) {
+                    return returnChunksOrReadyAsync(endpoint.namespace(), key, clientJobId,
+                            offset(requestContext.cursor()), waitMs, endpoint.storedType());
+                }
+                return returnReadyOrPendingAsync(endpoint.namespace(), key, clientJobId, waitMs, endpoint.storedType());
+            }
+            Fingerprint fingerprint = fingerprint(endpoint, arguments);
+            Optional<Ready<?>> memoized = recall(endpoint, fingerprint);
+            if (memoized.isPresent()) {
+                return CompletableFuture.completedFuture(checked(memoized.get(), endpoint.storedType()).payload());
+            }
+            String jobId = idGenerator.newId();
+            String key = startJob(endpoint, jobId, compute, fingerprint);
+            return returnReadyOrPendingAsync(endpoint.namespace(), key, jobId, waitMs, endpoint.storedType());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<JobStatus>> pollAny(List<JobRef> jobs, long waitMs) {
+        List<JobStatus> statuses;
+        try {
+            statuses = sweep(jobs);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        if (waitMs <= 0 || statuses.stream().anyMatch(status -> status.state() != JobStatus.State.PENDING)) {
+            return CompletableFuture.completedFuture(statuses);
+        }
+
+        // the probes only look, so whichever poll wakes first settles nothing; the second sweep takes the results
+        List<CompletableFuture<Optional<Ready<Object>>>> waits = new ArrayList<>(jobs.size());
+        for (JobRef job : jobs) {
+            String key = keyFactory.build(job.namespace(), job.jobId());
+            waits.add(readyAwaiter.waitReadyAsync(key, waitMs, settledProbe(job.namespace(), key)));
+        }
+        long started = System.nanoTime();
+        return CompletableFuture.anyOf(waits.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, waitMs, TimeUnit.MILLISECONDS)
+                .handle((ignored, error) -> {
+                    waits.forEach(wait -> wait.cancel(false));
+                    metrics.awaited(BATCH_NAMESPACE, System.nanoTime() - started);
+                    return sweep(jobs);
+                });
+    }
+
+    private List<JobStatus> sweep(List<JobRef> jobs) {
+        List<JobStatus> statuses = new ArrayList<>(jobs.size());
+        for (JobRef job : jobs) {
+            JobStatus status = status(job);
+            metrics.poll(job.namespace(), job.jobId(), switch (status.state()) {
+                case READY -> PollOutcome.READY;
+                case PENDING -> PollOutcome.PENDING;
+                case UNKNOWN -> PollOutcome.UNKNOWN;
+                case FAILED -> PollOutcome.FAILED;
+            });
+            statuses.add(status);
+        }
+        return statuses;
     }
 
-    private Object handleKickoff(String namespace, long waitMs, Supplier<?> compute, Class<?> responseType) {
+    private JobStatus status(JobRef job) {
+        String namespace = job.namespace();
+        String key = keyFactory.build(namespace, job.jobId());
+        Class<?> storedType = storedType(namespace);
+        Envelope envelope = lookup(namespace, key, storedType).orElse(null);
+        return switch (envelope) {
+            case null -> JobStatus.unknown(job);
+            case Pending pending -> JobStatus.pending(job, pending.progress());
+            case Partial partial -> JobStatus.pending(job, partial.progress());
+            case Failed failed -> {
+                cache(namespace).delete(key);
+                yield JobStatus.failed(job, failed);
+            }
+            case Ready<?> ignored -> take(namespace, key, storedType)
+                    .map(taken -> JobStatus.ready(job, taken.payload()))
+                    // another poll took it between our read and the take
+                    .orElseGet(() -> JobStatus.unknown(job));
+        };
+    }
+
+    private Supplier<Optional<Ready<Object>>> settledProbe(String namespace, String key) {
+        Class<?> storedType = storedType(namespace);
+        return () -> lookup(namespace, key, storedType)
+                .filter(envelope -> !running(envelope))
+                .map(envelope -> SETTLED);
+    }
+
+    // Polls, cancels and batch polls only carry namespace and job id; the stored type and the cache partition come
+    // from the endpoints registered at startup, or from an endpoint's first request when nobody registered it.
+    @Override
+    public void register(Endpoint endpoint) {
+        if (routes.containsKey(endpoint.namespace())) {
+            return;
+        }
+        String partition = endpoint.lifecycle().partition();
+        CacheClient cache = cacheClient;
+        if (partition != null && !partition.isBlank()) {
+            cache = cacheClient.partition(partition);
+            if (cache == cacheClient) {
+                throw new IllegalStateException("Endpoint " + endpoint.namespace() + " asks for cache partition '"
+                        + partition + "', but the cache store keeps every endpoint in one space");
+            }
+        }
+        routes.putIfAbsent(endpoint.namespace(), new Route(endpoint.storedType(), cache));
+    }
+
+    private Class<?> storedType(String namespace) {
+        Route route = routes.get(namespace);
+        return route != null ? route.storedType() : Object.class;
+    }
+
+    private CacheClient cache(String namespace) {
+        Route route = routes.get(namespace);
+        return route != null ? route.cache() : cacheClient;
+    }
+
+    private static PollOutcome outcome(Object result) {
+        return result instanceof ChunkPage ? PollOutcome.PARTIAL : PollOutcome.READY;
+    }
+
+    private static PollOutcome outcome(Throwable error) {
+        if (error instanceof PendingJobException) {
+            return PollOutcome.PENDING;
+        }
+        return error instanceof UnknownJobException ? PollOutcome.UNKNOWN : PollOutcome.FAILED;
+    }
+
+    private Object handlePoll(Endpoint endpoint, String jobId, long waitMs, String cursor) {
+        String key = keyFactory.build(endpoint.namespace(), jobId);
+
+        if (cursor != null) {
+            return returnChunksOrReady(endpoint.namespace(), key, jobId, offset(cursor), waitMs, endpoint.storedType());
+        }
+        return returnReadyOrPending(endpoint.namespace(), key, jobId, waitMs, endpoint.storedType());
+    }
+
+    private Object handleKickoff(Endpoint endpoint, long waitMs, Supplier<?> compute, Object[] arguments) {
+        Fingerprint fingerprint = fingerprint(endpoint, arguments);
+        Optional<Ready<?>> memoized = recall(endpoint, fingerprint);
+        if (memoized.isPresent()) {
+            return checked(memoized.get(), endpoint.storedType()).payload();
+        }
+
         String jobId = idGenerator.newId();
+        String key = startJob(endpoint, jobId, compute, fingerprint);
+
+        return returnReadyOrPending(endpoint.namespace(), key, jobId, waitMs, endpoint.storedType());
+    }
+
+    private static Fingerprint fingerprint(Endpoint endpoint, Object[] arguments) {
+        if (endpoint.coalesce() || endpoint.memoizes()) {
+            return new Fingerprint(endpoint.namespace(), arguments);
+        }
+        return null;
+    }
+
+    private Optional<Ready<?>> recall(Endpoint endpoint, Fingerprint fingerprint) {
+        return endpoint.memoizes() ? resultCache.read(fingerprint) : Optional.empty();
+    }
+
+    @Override
+    public boolean cancel(String namespace, String jobId) {
         String key = keyFactory.build(namespace, jobId);
+        boolean known = exists(namespace, key);
 
-        cacheClient.writePending(key, jobId, CACHE_TTL);
+        Flight flight = running.remove(key);
+        if (flight != null && flight.detach(key) && flight.fingerprint() != null) {
+            inFlight.remove(flight.fingerprint(), flight);
+        }
+        CacheClient cache = cache(namespace);
+        cache.delete(key);
+        if (retention.enabled()) {
+            cache.delete(retainedKey(key));
+        }
+        readyAwaiter.signal(key);
+        return known || flight != null;
+    }
 
-        asyncRunner.run(compute, payload -> cacheClient.writeReady(key, payload, CACHE_TTL));
+    private String startJob(Endpoint endpoint, String jobId, Supplier<?> compute, Fingerprint fingerprint) {
+        String key = keyFactory.build(endpoint.namespace(), jobId);
 
-        return returnReadyOrPending(key, jobId, waitMs, responseType);
+        readyAwaiter.register(key);
+        cache(endpoint.namespace()).writePending(key, jobId, pendingTtl(endpoint));
+
+        if (endpoint.coalesce()) {
+            coalesce(endpoint, fingerprint, key, compute);
+        } else {
+            launch(endpoint, new Flight(fingerprint, key), key, compute);
+        }
+        return key;
     }
 
-    private Optional<Ready<?>> waitForReady(String key, long waitMs, Class<?> responseType) {
-        return readyAwaiter.waitReady(waitMs, () -> {
-            Optional<Envelope> again = cacheClient.read(key, Object.class);
-            if (again.isPresent() && again.get() instanceof Ready<?> r) {
-                Ready<?> cast = castReady(r, responseType);
-                return Optional.of(cast);
+    private void coalesce(Endpoint endpoint, Fingerprint fingerprint, String key, Supplier<?> compute) {
+        Flight flight = new Flight(fingerprint, key);
+        while (true) {
+            Flight existing = inFlight.putIfAbsent(fingerprint, flight);
+            if (existing == null) {
+                launch(endpoint, flight, key, compute);
+                return;
             }
-            return Optional.empty();
-        }).map(r -> (Ready<?>) r);
+            running.put(key, existing);
+            if (existing.join(key)) {
+                return;
+            }
+            // the computation already delivered its result; start a fresh one
+            running.remove(key, existing);
+            inFlight.remove(fingerprint, existing);
+        }
+    }
+
+    private void launch(Endpoint endpoint, Flight flight, String key, Supplier<?> compute) {
+        running.put(key, flight);
+        CacheClient cache = cache(endpoint.namespace());
+        Duration pendingTtl = pendingTtl(endpoint);
+        ChunkEmitter emitter = chunk -> flight.emit(chunk, (subscriber, partial, broadcast) -> {
+            cache.writePartial(subscriber, partial, pendingTtl);
+            // wakes cursor polls parked on the job; other nodes are told about a burst of chunks only once
+            if (broadcast) {
+                readyAwaiter.signal(subscriber);
+            } else {
+                readyAwaiter.signalLocally(subscriber);
+            }
+        });
+        ProgressReporter progress = update -> flight.report(update,
+                subscriber -> cache.updateProgress(subscriber, update, pendingTtl));
+        metrics.jobQueued(endpoint.namespace());
+        if (endpoint.async()) {
+            follow(endpoint, flight, JobContext.bind(emitter, progress, compute));
+            return;
+        }
+        // encode on the worker so polls hand out finished bytes; encoding errors fail the job like compute errors
+        Supplier<?> work = endpoint.preEncode() ? () -> bodyEncoder.encode(compute.get()) : compute;
+        try {
+            asyncRunner.run(endpoint.namespace(), flight.guard(JobContext.bind(emitter, progress, work)),
+                    payload -> complete(endpoint, flight, payload),
+                    error -> fail(endpoint, flight, error), flight.cancellation());
+        } catch (RejectedJobException ex) {
+            reject(endpoint, flight, ex);
+        }
     }
 
-    private Object returnReadyOrPending(String key, String jobId, long waitMs, Class<?> responseType) {
-        Optional<Envelope> cached = cacheClient.read(key, Object.class);
+    private void reject(Endpoint endpoint, Flight flight, RejectedJobException ex) {
+        metrics.jobFinished(endpoint.namespace(), flight.queueNanos(), -1L);
+        CacheClient cache = cache(endpoint.namespace());
+        for (String subscriber : settle(flight)) {
+            cache.delete(subscriber);
+            readyAwaiter.signal(subscriber);
+        }
+        throw ex;
+    }
+
+    // The computation only assembles its stage here and completes wherever its driver calls back, so no worker is
+    // taken; the runner still counts the stage against the namespace's bulkhead until it settles.
+    private void follow(Endpoint endpoint, Flight flight, Supplier<?> start) {
+        CompletableFuture<Object> stage;
+        try {
+            stage = flight.guardAsync(() -> asyncRunner.follow(endpoint.namespace(), () -> stage(start.get())));
+        } catch (RejectedJobException ex) {
+            reject(endpoint, flight, ex);
+            return;
+        } catch (RuntimeException ex) {
+            fail(endpoint, flight, ex);
+            return;
+        }
+        if (endpoint.preEncode()) {
+            stage = stage.thenApply(bodyEncoder::encode);
+        }
+        stage.whenComplete((payload, error) -> {
+            if (error == null) {
+                complete(endpoint, flight, payload);
+            } else {
+                fail(endpoint, flight, error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> stage(Object started) {
+        if (started instanceof CompletionStage<?> stage) {
+            return (CompletionStage<Object>) stage;
+        }
+        throw new IllegalStateException("Async endpoint returned "
+                + (started == null ? "null" : started.getClass().getName()) + " instead of a CompletionStage");
+    }
+
+    private void complete(Endpoint endpoint, Flight flight, Object payload) {
+        completionTimes.record(endpoint.namespace(), flight.elapsedNanos());
+        metrics.jobFinished(endpoint.namespace(), flight.queueNanos(), flight.computeNanos());
+        if (endpoint.memoizes()) {
+            resultCache.write(flight.fingerprint(), payload, endpoint.cacheFor());
+        }
+        CacheClient cache = cache(endpoint.namespace());
+        Duration readyTtl = readyTtl(endpoint);
+        for (String subscriber : settle(flight)) {
+            cache.writeReady(subscriber, payload, readyTtl);
+            readyAwaiter.signal(subscriber);
+        }
+    }
+
+    // Failures and cancels say nothing about how long a healthy job takes, so only complete() feeds the model.
+    private void fail(Endpoint endpoint, Flight flight, Throwable error) {
+        metrics.jobFinished(endpoint.namespace(), flight.queueNanos(), flight.computeNanos());
+        Failed failure = failureTranslator.translate(error);
+        CacheClient cache = cache(endpoint.namespace());
+        Duration readyTtl = readyTtl(endpoint);
+        for (String subscriber : settle(flight)) {
+            cache.writeFailed(subscriber, failure, readyTtl);
+            readyAwaiter.signal(subscriber);
+        }
+    }
+
+    private static Duration pendingTtl(Endpoint endpoint) {
+        Duration ttl = endpoint.lifecycle().pendingTtl();
+        return ttl != null ? ttl : CACHE_TTL;
+    }
+
+    private static Duration readyTtl(Endpoint endpoint) {
+        Duration ttl = endpoint.lifecycle().readyTtl();
+        return ttl != null ? ttl : CACHE_TTL;
+    }
+
+    private List<String> settle(Flight flight) {
+        if (flight.fingerprint() != null) {
+            inFlight.remove(flight.fingerprint(), flight);
+        }
+        List<String> keys = flight.close();
+        for (String key : keys) {
+            running.remove(key, flight);
+        }
+        return keys;
+    }
+
+    private Object returnReadyOrPending(String namespace, String key, String jobId, long waitMs, Class<?> responseType) {
+        Optional<Envelope> cached = lookup(namespace, key, responseType);
         if (cached.isEmpty()) {
             throw new UnknownJobException(jobId);
         }
 
         if (waitMs > 0) {
-            Optional<Ready<?>> ready = waitForReady(key, waitMs, responseType);
+            Optional<Ready<Object>> ready = await(namespace, key, waitMs,
+                    new ReadyProbe(namespace, key, jobId, responseType, cached.get()));
             if (ready.isPresent()) {
-                return consumeReady(key, ready.get());
+                return consumeReady(namespace, key, jobId, responseType);
+            }
+            // report the progress made while we waited
+            Envelope latest = lookup(namespace, key, responseType).orElse(cached.get());
+            return resolve(namespace, key, jobId, latest, responseType);
+        }
+
+        return resolve(namespace, key, jobId, cached.get(), responseType);
+    }
+
+    private CompletableFuture<Object> returnReadyOrPendingAsync(String namespace, String key, String jobId, long waitMs,
+                                                                Class<?> responseType) {
+        Optional<Envelope> cached = lookup(namespace, key, responseType);
+        if (cached.isEmpty()) {
+            throw new UnknownJobException(jobId);
+        }
+
+        if (waitMs <= 0 || !running(cached.get())) {
+            return CompletableFuture.completedFuture(resolve(namespace, key, jobId, cached.get(), responseType));
+        }
+
+        return awaitAsync(namespace, key, waitMs, new ReadyProbe(namespace, key, jobId, responseType, cached.get()))
+                .thenApply(ready -> {
+                    if (ready.isPresent()) {
+                        return consumeReady(namespace, key, jobId, responseType);
+                    }
+                    Envelope latest = lookup(namespace, key, responseType).orElse(cached.get());
+                    return resolve(namespace, key, jobId, latest, responseType);
+                });
+    }
+
+    // Cursor polls get the chunks emitted since their cursor, or the final result once the job is done.
+    private Object returnChunksOrReady(String namespace, String key, String jobId, int from, long waitMs,
+                                       Class<?> responseType) {
+        Envelope cached = readOrUnknown(namespace, key, jobId, responseType);
+
+        if (waitMs > 0 && running(cached) && newChunks(cached, from) == 0) {
+            Optional<Ready<Object>> ready = await(namespace, key, waitMs,
+                    new ReadyProbe(namespace, key, jobId, responseType, cached, from));
+            if (ready.isPresent() && ready.get() != MORE_CHUNKS) {
+                return consumeReady(namespace, key, jobId, responseType);
             }
+            cached = readOrUnknown(namespace, key, jobId, responseType);
+        }
+
+        return page(namespace, key, jobId, cached, from, responseType);
+    }
+
+    private CompletableFuture<Object> returnChunksOrReadyAsync(String namespace, String key, String jobId, int from,
+                                                               long waitMs, Class<?> responseType) {
+        Envelope cached = readOrUnknown(namespace, key, jobId, responseType);
+
+        if (waitMs <= 0 || !running(cached) || newChunks(cached, from) > 0) {
+            return CompletableFuture.completedFuture(page(namespace, key, jobId, cached, from, responseType));
+        }
+
+        return awaitAsync(namespace, key, waitMs, new ReadyProbe(namespace, key, jobId, responseType, cached, from))
+                .thenApply(ready -> {
+                    if (ready.isPresent() && ready.get() != MORE_CHUNKS) {
+                        return consumeReady(namespace, key, jobId, responseType);
+                    }
+                    return page(namespace, key, jobId, readOrUnknown(namespace, key, jobId, responseType), from, responseType);
+                });
+    }
+
+    private <T> Optional<Ready<T>> await(String namespace, String key, long waitMs,
+                                          Supplier<Optional<Ready<T>>> probe) {
+        long started = System.nanoTime();
+        try {
+            return readyAwaiter.waitReady(key, waitMs, probe);
+        } finally {
+            metrics.awaited(namespace, System.nanoTime() - started);
+        }
+    }
+
+    private <T> CompletableFuture<Optional<Ready<T>>> awaitAsync(String namespace, String key, long waitMs,
+                                                                  Supplier<Optional<Ready<T>>> probe) {
+        long started = System.nanoTime();
+        return readyAwaiter.waitReadyAsync(key, waitMs, probe)
+                .whenComplete((ready, error) -> metrics.awaited(namespace, System.nanoTime() - started));
+    }
+
+    private Object page(String namespace, String key, String jobId, Envelope envelope, int from, Class<?> responseType) {
+        if (envelope instanceof Partial partial && newChunks(partial, from) > 0) {
+            List<?> chunks = partial.chunks();
+            return new ChunkPage(jobId, chunks.subList(from, chunks.size()), Integer.toString(chunks.size()));
+        }
+        return resolve(namespace, key, jobId, envelope, responseType);
+    }
+
+    private Envelope readOrUnknown(String namespace, String key, String jobId, Class<?> responseType) {
+        return lookup(namespace, key, responseType).orElseThrow(() -> new UnknownJobException(jobId));
+    }
+
+    private static boolean running(Envelope envelope) {
+        return envelope instanceof Pending || envelope instanceof Partial;
+    }
+
+    private static int newChunks(Envelope envelope, int from) {
+        return envelope instanceof Partial partial ? Math.max(0, partial.chunks().size() - from) : 0;
+    }
+
+    private static int offset(String cursor) {
+        try {
+            return Math.max(0, Integer.parseInt(cursor.trim()));
+        } catch (NumberFormatException ex) {
+            return 0;
         }
+    }
 
-        Envelope envelope = cached.get();
-        if (envelope instanceof Ready<?> ready) {
-            return consumeReady(key, castReady(ready, responseType));
+    private Object resolve(String namespace, String key, String jobId, Envelope envelope, Class<?> responseType) {
+        if (envelope instanceof Ready<?>) {
+            return consumeReady(namespace, key, jobId, responseType);
         }
         if (envelope instanceof Pending pending) {
-            throw new PendingJobException(pending.jobId());
+            throw pending(namespace, key, pending.jobId(), pending.progress());
+        }
+        if (envelope instanceof Partial partial) {
+            throw pending(namespace, key, jobId, partial.progress());
+        }
+        if (envelope instanceof Failed failed) {
+            throw consumeFailed(namespace, key, jobId, failed);
         }
 
         throw new IllegalStateException("Unsupported envelope type: " + envelope.getClass().getName());
     }
 
-    private Object consumeReady(String key, Ready<?> ready) {
-        cacheClient.delete(key);
-        return ready.payload();
+    // Without a local flight (the job runs on another node) the hint falls back to the unconditional distribution.
+    private PendingJobException pending(String namespace, String key, String jobId, Progress progress) {
+        Flight flight = running.get(key);
+        Optional<PollHint> hint = completionTimes.hint(namespace, flight != null ? flight.elapsedNanos() : 0L);
+        if (hint.isEmpty()) {
+            return new PendingJobException(namespace, jobId, progress, null, null);
+        }
+        return new PendingJobException(namespace, jobId, progress, hint.get().retryAfter(), hint.get().suggestedWait());
+    }
+
+    private Object consumeReady(String namespace, String key, String jobId, Class<?> responseType) {
+        Optional<Ready<?>> taken = take(namespace, key, responseType);
+        if (taken.isPresent()) {
+            return checked(taken.get(), responseType).payload();
+        }
+        throw new UnknownJobException(jobId);
+    }
+
+    // Take-and-delete in one step so only one poll across all nodes receives the payload. With retention the taker
+    // leaves a copy under a side key, and polls that come after it (a retry of a lost 200, other pollers of the same
+    // job) are served from that copy until the window or the read budget runs out.
+    private Optional<Ready<?>> take(String namespace, String key, Class<?> responseType) {
+        Optional<Envelope> taken = cache(namespace).consume(key, responseType);
+        if (taken.isPresent() && taken.get() instanceof Ready<?> ready) {
+            retain(namespace, key, ready);
+            return Optional.of(ready);
+        }
+        return retained(namespace, key, responseType);
+    }
+
+    private Optional<Envelope> lookup(String namespace, String key, Class<?> responseType) {
+        CacheClient cache = cache(namespace);
+        Optional<Envelope> cached = cache.read(key, responseType);
+        if (cached.isPresent() || !retention.enabled()) {
+            return cached;
+        }
+        return cache.read(retainedKey(key), responseType);
+    }
+
+    private boolean exists(String namespace, String key) {
+        CacheClient cache = cache(namespace);
+        return cache.exists(key) || retention.enabled() && cache.exists(retainedKey(key));
+    }
+
+    private void retain(String namespace, String key, Ready<?> ready) {
+        if (!retention.enabled()) {
+            return;
+        }
+        cache(namespace).writeReady(retainedKey(key), ready.payload(), retention.window());
+        if (retention.maxReads() > 0) {
+            long now = System.nanoTime();
+            if (readBudgets.size() > READ_BUDGET_PURGE_THRESHOLD) {
+                readBudgets.values().removeIf(budget -> budget.expired(now));
+            }
+            readBudgets.put(key, new ReadBudget(retention.maxReads(), now + retention.window().toNanos()));
+        }
+    }
+
+    private Optional<Ready<?>> retained(String namespace, String key, Class<?> responseType) {
+        if (!retention.enabled()) {
+            return Optional.empty();
+        }
+        String retainedKey = retainedKey(key);
+        Optional<Ready<?>> retained = cache(namespace).read(retainedKey, responseType)
+                .filter(Ready.class::isInstance)
+                .map(envelope -> (Ready<?>) envelope);
+        if (retained.isEmpty() || retention.maxReads() == 0) {
+            return retained;
+        }
+        // budgets are counted per node; a node that never took the result starts a fresh one
+        int left = readBudgets.computeIfAbsent(key,
+                k -> new ReadBudget(retention.maxReads(), System.nanoTime() + retention.window().toNanos())).spend();
+        if (left <= 0) {
+            readBudgets.remove(key);
+            cache(namespace).delete(retainedKey);
+        }
+        return left >= 0 ? retained : Optional.empty();
+    }
+
+    private static String retainedKey(String key) {
+        return key + RETAINED_SUFFIX;
     }
 
-    private Ready<?> castReady(Ready<?> ready, Class<?> responseType) {
+    private FailedJobException consumeFailed(String namespace, String key, String jobId, Failed failed) {
+        cache(namespace).delete(key);
+        return new FailedJobException(jobId, failed.status(), failed.detail());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Ready<Object> checked(Ready<?> ready, Class<?> responseType) {
         Object payload = ready.payload();
         if (!responseType.isInstance(payload)) {
             throw new ClassCastException("Cached payload of type "
                     + (payload == null ? "null" : payload.getClass().getName())
                     + " does not match expected " + responseType.getName());
         }
-        return new Ready<>(responseType.cast(payload));
+        // Ready is immutable and the payload type is verified, so the cached instance is handed out as is
+        return (Ready<Object>) ready;
+    }
+
+    private record Route(Class<?> storedType, CacheClient cache) {
     }
 
+    private record ReadBudget(AtomicInteger left, long expiresAtNanos) {
+        ReadBudget(int reads, long expiresAtNanos) {
+            this(new AtomicInteger(reads), expiresAtNanos);
+        }
+
+        int spend() {
+            return left.decrementAndGet();
+        }
+
+        boolean expired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+
+    // The awaiter probes once before parking; when the poll has just read the envelope, that first probe reuses it
+    // instead of going back to the cache.
+    private final class ReadyProbe implements Supplier<Optional<Ready<Object>>> {
+        private final String namespace;
+        private final String key;
+        private final String jobId;
+        private final Class<?> responseType;
+        // cursor of the poll, or -1 when only a settled job ends the wait
+        private final int from;
+        private volatile Envelope known;
+
+        private ReadyProbe(String namespace, String key, String jobId, Class<?> responseType, Envelope known) {
+            this(namespace, key, jobId, responseType, known, -1);
+        }
+
+        private ReadyProbe(String namespace, String key, String jobId, Class<?> responseType, Envelope known,
+                           int from) {
+            this.namespace = namespace;
+            this.key = key;
+            this.jobId = jobId;
+            this.responseType = responseType;
+            this.known = known;
+            this.from = from;
+        }
+
+        @Override
+        public Optional<Ready<Object>> get() {
+            Envelope envelope = known;
+            if (envelope != null) {
+                known = null;
+            } else {
+                envelope = lookup(namespace, key, responseType).orElse(null);
+            }
+            if (envelope instanceof Ready<?> ready) {
+                return Optional.of(checked(ready, responseType));
+            }
+            if (envelope instanceof Failed failed) {
+                throw consumeFailed(namespace, key, jobId, failed);
+            }
+            if (from >= 0 && newChunks(envelope, from) > 0) {
+                return Optional.of(MORE_CHUNKS);
+            }
+            return Optional.empty();
+        }
+    }
 }
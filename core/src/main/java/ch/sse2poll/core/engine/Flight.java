@@ -0,0 +1,189 @@
+package ch.sse2poll.core.engine;
+
+import ch.sse2poll.core.entities.model.Fingerprint;
+import ch.sse2poll.core.entities.model.Partial;
+import ch.sse2poll.core.entities.model.Progress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+final class Flight {
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long CHUNK_BROADCAST_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final Fingerprint fingerprint;
+    private final long startedAtNanos = System.nanoTime();
+    private final List<String> keys = new ArrayList<>();
+    private final List<Object> chunks = new ArrayList<>();
+    private final CompletableFuture<Void> cancellation = new CompletableFuture<>();
+    private Progress progress;
+    private long progressWrittenAt;
+    private long chunkBroadcastAt;
+    private boolean chunkBroadcast;
+    private boolean closed;
+    private boolean cancelled;
+    private Thread runner;
+    private CompletableFuture<?> stage;
+    private long runningSinceNanos;
+    private long finishedAtNanos;
+
+    Flight(Fingerprint fingerprint, String key) {
+        this.fingerprint = fingerprint;
+        keys.add(key);
+    }
+
+    Fingerprint fingerprint() {
+        return fingerprint;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAtNanos;
+    }
+
+    // completes once the last job left, so a runner can drop the computation while it still waits for a slot
+    CompletionStage<Void> cancellation() {
+        return cancellation;
+    }
+
+    synchronized long queueNanos() {
+        return (runningSinceNanos != 0 ? runningSinceNanos : System.nanoTime()) - startedAtNanos;
+    }
+
+    synchronized long computeNanos() {
+        return runningSinceNanos != 0 && finishedAtNanos != 0 ? finishedAtNanos - runningSinceNanos : -1L;
+    }
+
+    synchronized boolean join(String key) {
+        if (closed) {
+            return false;
+        }
+        keys.add(key);
+        return true;
+    }
+
+    synchronized List<String> close() {
+        closed = true;
+        return List.copyOf(keys);
+    }
+
+    // Holds the lock while writing so a chunk can never land after close() handed out the final result. The writer is
+    // told to broadcast the chunk to other nodes at most every CHUNK_BROADCAST_INTERVAL_NANOS.
+    synchronized boolean emit(Object chunk, PartialWriter writer) {
+        if (closed) {
+            return false;
+        }
+        chunks.add(Objects.requireNonNull(chunk, "chunk"));
+        Partial partial = new Partial(chunks, progress);
+        long now = System.nanoTime();
+        boolean broadcast = !chunkBroadcast || now - chunkBroadcastAt >= CHUNK_BROADCAST_INTERVAL_NANOS;
+        if (broadcast) {
+            chunkBroadcast = true;
+            chunkBroadcastAt = now;
+        }
+        for (String key : keys) {
+            writer.write(key, partial, broadcast);
+        }
+        return true;
+    }
+
+    // Writes at most every PROGRESS_INTERVAL_NANOS unless the stage changes or the job reports completion.
+    synchronized boolean report(Progress update, Consumer<String> writer) {
+        if (closed || update.equals(progress)) {
+            return false;
+        }
+        long now = System.nanoTime();
+        boolean due = progress == null
+                || !Objects.equals(progress.stage(), update.stage())
+                || update.percent() == 100
+                || now - progressWrittenAt >= PROGRESS_INTERVAL_NANOS;
+        if (!due) {
+            return false;
+        }
+        progress = update;
+        progressWrittenAt = now;
+        for (String key : keys) {
+            writer.accept(key);
+        }
+        return true;
+    }
+
+    // Returns true when the last job left and the computation was cancelled.
+    synchronized boolean detach(String key) {
+        if (closed || !keys.remove(key) || !keys.isEmpty()) {
+            return false;
+        }
+        closed = true;
+        cancelled = true;
+        if (runner != null) {
+            runner.interrupt();
+        }
+        if (stage != null) {
+            stage.cancel(true);
+        }
+        cancellation.complete(null);
+        return true;
+    }
+
+    <T> Supplier<T> guard(Supplier<T> compute) {
+        return () -> {
+            enter();
+            try {
+                return compute.get();
+            } finally {
+                exit();
+            }
+        };
+    }
+
+    // Only the call that starts the stage runs under the guard; after that no thread is held, so cancelling the
+    // flight cancels the stage instead of interrupting anything.
+    <T> CompletableFuture<T> guardAsync(Supplier<? extends CompletionStage<T>> start) {
+        CompletableFuture<T> started = guard(start).get().toCompletableFuture();
+        follow(started);
+        return started.whenComplete((payload, error) -> settled());
+    }
+
+    private synchronized void follow(CompletableFuture<?> started) {
+        if (cancelled) {
+            started.cancel(true);
+            return;
+        }
+        stage = started;
+        // exit() stamped the end of the synchronous start; the stage's completion is the real one
+        finishedAtNanos = 0L;
+    }
+
+    private synchronized void settled() {
+        stage = null;
+        finishedAtNanos = System.nanoTime();
+    }
+
+    private synchronized void enter() {
+        if (cancelled) {
+            throw new CancellationException("Job cancelled before it started");
+        }
+        runner = Thread.currentThread();
+        runningSinceNanos = System.nanoTime();
+    }
+
+    private synchronized void exit() {
+        runner = null;
+        finishedAtNanos = System.nanoTime();
+        if (cancelled) {
+            // do not leak our interrupt into whatever the runner thread does next
+            Thread.interrupted();
+        }
+    }
+
+    interface PartialWriter {
+        void write(String key, Partial partial, boolean broadcast);
+    }
+}
@@ -0,0 +1,45 @@
+package ch.sse2poll.core.engine;
+
+import ch.sse2poll.core.engine.port.incoming.ChunkEmitter;
+import ch.sse2poll.core.engine.port.incoming.ProgressReporter;
+
+import java.util.function.Supplier;
+
+// Gives code running inside a polled computation access to its job's chunk emitter and progress reporter.
+public final class JobContext {
+
+    private static final ThreadLocal<Job> CURRENT = new ThreadLocal<>();
+
+    private JobContext() {
+    }
+
+    public static ChunkEmitter emitter() {
+        Job job = CURRENT.get();
+        return job != null ? job.emitter() : ChunkEmitter.NONE;
+    }
+
+    public static ProgressReporter progress() {
+        Job job = CURRENT.get();
+        return job != null ? job.progress() : ProgressReporter.NONE;
+    }
+
+    static <T> Supplier<T> bind(ChunkEmitter emitter, ProgressReporter progress, Supplier<T> compute) {
+        Job job = new Job(emitter, progress);
+        return () -> {
+            Job previous = CURRENT.get();
+            CURRENT.set(job);
+            try {
+                return compute.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    private record Job(ChunkEmitter emitter, ProgressReporter progress) {
+    }
+}
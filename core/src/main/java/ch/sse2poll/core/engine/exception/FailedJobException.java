@@ -0,0 +1,27 @@
+package ch.sse2poll.core.engine.exception;
+
+public final class FailedJobException extends RuntimeException {
+
+    private final String jobId;
+    private final int status;
+    private final String detail;
+
+    public FailedJobException(String jobId, int status, String detail) {
+        super("Job " + jobId + " failed: " + detail);
+        this.jobId = jobId;
+        this.status = status;
+        this.detail = detail;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
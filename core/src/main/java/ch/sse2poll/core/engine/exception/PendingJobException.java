@@ -1,15 +1,55 @@
 package ch.sse2poll.core.engine.exception;
 
+import ch.sse2poll.core.entities.model.Progress;
+
+import java.time.Duration;
+
 public final class PendingJobException extends RuntimeException {
 
+    private final String namespace;
     private final String jobId;
+    private final Progress progress;
+    private final Duration retryAfter;
+    private final Duration suggestedWait;
 
-    public PendingJobException(String jobId) {
-        super("Job " + jobId + " is still running");
+    public PendingJobException(String namespace, String jobId, Progress progress, Duration retryAfter,
+                               Duration suggestedWait) {
+        // thrown for every 202, so it skips the stack trace and builds its message only when asked
+        super(null, null, false, false);
+        this.namespace = namespace;
         this.jobId = jobId;
+        this.progress = progress;
+        this.retryAfter = retryAfter;
+        this.suggestedWait = suggestedWait;
+    }
+
+    // a pending job known by id only: no progress and no timing hint
+    public static PendingJobException of(String namespace, String jobId) {
+        return new PendingJobException(namespace, jobId, null, null, null);
+    }
+
+    @Override
+    public String getMessage() {
+        return "Job " + jobId + " is still running";
+    }
+
+    public String getNamespace() {
+        return namespace;
     }
 
     public String getJobId() {
         return jobId;
     }
+
+    public Progress getProgress() {
+        return progress;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public Duration getSuggestedWait() {
+        return suggestedWait;
+    }
 }
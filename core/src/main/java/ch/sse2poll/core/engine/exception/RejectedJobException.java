@@ -0,0 +1,23 @@
+package ch.sse2poll.core.engine.exception;
+
+import java.time.Duration;
+
+public final class RejectedJobException extends RuntimeException {
+
+    private final String namespace;
+    private final Duration retryAfter;
+
+    public RejectedJobException(String namespace, Duration retryAfter) {
+        super("Too many jobs in flight for " + namespace);
+        this.namespace = namespace;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
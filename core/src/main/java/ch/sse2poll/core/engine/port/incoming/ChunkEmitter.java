@@ -0,0 +1,10 @@
+package ch.sse2poll.core.engine.port.incoming;
+
+@FunctionalInterface
+public interface ChunkEmitter {
+
+    ChunkEmitter NONE = chunk -> {
+    };
+
+    void emit(Object chunk);
+}
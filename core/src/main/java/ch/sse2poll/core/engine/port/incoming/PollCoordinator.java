@@ -1,17 +1,93 @@
 package ch.sse2poll.core.engine.port.incoming;
 
+import ch.sse2poll.core.entities.model.EncodedBody;
+import ch.sse2poll.core.entities.model.JobRef;
+import ch.sse2poll.core.entities.model.JobStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 
 public interface PollCoordinator {
 
-    Object handle(String namespace,
+    Object handle(Endpoint endpoint,
                   Supplier<?> compute,
-                  Class<?> responseType,
+                  Object[] arguments,
                   RequestContextView requestContext);
 
+    CompletableFuture<Object> handleAsync(Endpoint endpoint,
+                                          Supplier<?> compute,
+                                          Object[] arguments,
+                                          RequestContextView requestContext);
+
+    boolean cancel(String namespace, String jobId);
+
+    // Announces an endpoint before any request reaches it, so polls, cancels and batch polls of jobs another node
+    // started (or this node started before a restart) find the endpoint's stored type and cache partition.
+    default void register(Endpoint endpoint) {
+    }
+
+    // Completes with every job's status once at least one of them has settled, or when waitMs elapses.
+    CompletableFuture<List<JobStatus>> pollAny(List<JobRef> jobs, long waitMs);
+
     interface RequestContextView {
         String clientJobId();
         long waitMs();
+
+        default String cursor() {
+            return null;
+        }
+    }
+
+    // async: compute returns a CompletionStage of the result, which the job follows instead of occupying a worker
+    record Endpoint(String namespace, Class<?> responseType, boolean coalesce, Duration cacheFor, boolean preEncode,
+                    boolean async, Lifecycle lifecycle) {
+        public Endpoint {
+            lifecycle = lifecycle == null ? Lifecycle.DEFAULT : lifecycle;
+        }
+
+        public static Endpoint of(String namespace, Class<?> responseType) {
+            return new Endpoint(namespace, responseType, false, null, false, false, Lifecycle.DEFAULT);
+        }
+
+        public Endpoint withCoalesce(boolean coalesce) {
+            return new Endpoint(namespace, responseType, coalesce, cacheFor, preEncode, async, lifecycle);
+        }
+
+        public Endpoint withCacheFor(Duration cacheFor) {
+            return new Endpoint(namespace, responseType, coalesce, cacheFor, preEncode, async, lifecycle);
+        }
+
+        public Endpoint withPreEncode(boolean preEncode) {
+            return new Endpoint(namespace, responseType, coalesce, cacheFor, preEncode, async, lifecycle);
+        }
+
+        public Endpoint withAsync(boolean async) {
+            return new Endpoint(namespace, responseType, coalesce, cacheFor, preEncode, async, lifecycle);
+        }
+
+        public Endpoint withLifecycle(Lifecycle lifecycle) {
+            return new Endpoint(namespace, responseType, coalesce, cacheFor, preEncode, async, lifecycle);
+        }
+
+        public boolean memoizes() {
+            return cacheFor != null && cacheFor.isPositive();
+        }
+
+        public Class<?> storedType() {
+            return preEncode ? EncodedBody.class : responseType;
+        }
+    }
+
+    // How long an endpoint's entries live while running and once finished, the longest waitMs it honours, and the
+    // cache partition holding them. Null fields and a blank partition leave the coordinator's defaults in place.
+    record Lifecycle(Duration pendingTtl, Duration readyTtl, Duration maxWait, String partition) {
+        public static final Lifecycle DEFAULT = new Lifecycle(null, null, null, null);
+
+        public long clampWait(long waitMs) {
+            return maxWait == null ? waitMs : Math.min(waitMs, maxWait.toMillis());
+        }
     }
 }
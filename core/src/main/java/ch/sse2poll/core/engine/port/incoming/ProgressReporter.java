@@ -0,0 +1,22 @@
+package ch.sse2poll.core.engine.port.incoming;
+
+import ch.sse2poll.core.entities.model.Progress;
+
+import java.time.Duration;
+
+@FunctionalInterface
+public interface ProgressReporter {
+
+    ProgressReporter NONE = progress -> {
+    };
+
+    void report(Progress progress);
+
+    default void report(int percent, String stage) {
+        report(new Progress(percent, stage, null));
+    }
+
+    default void report(int percent, String stage, Duration eta) {
+        report(new Progress(percent, stage, eta == null ? null : eta.toMillis()));
+    }
+}
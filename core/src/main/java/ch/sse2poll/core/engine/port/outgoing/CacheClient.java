@@ -1,6 +1,9 @@
 package ch.sse2poll.core.engine.port.outgoing;
 
 import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Partial;
+import ch.sse2poll.core.entities.model.Progress;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -11,8 +14,31 @@ public interface CacheClient {
 
     void writePending(String key, String jobId, Duration ttl);
 
+    void writePartial(String key, Partial partial, Duration ttl);
+
+    // Attaches progress to a Pending or Partial entry and leaves finished or missing entries alone.
+    void updateProgress(String key, Progress progress, Duration ttl);
+
     <T> void writeReady(String key, T payload, Duration ttl);
 
+    void writeFailed(String key, Failed failure, Duration ttl);
+
     void delete(String key);
 
+    // Whether an entry is stored, without decoding its payload; the stores here answer from their index alone.
+    default boolean exists(String key) {
+        return read(key, Object.class).isPresent();
+    }
+
+    default Optional<Envelope> consume(String key, Class<?> bodyType) {
+        Optional<Envelope> envelope = read(key, bodyType);
+        envelope.ifPresent(ignored -> delete(key));
+        return envelope;
+    }
+
+    // A store that can give a group of endpoints its own bounded space returns a separate client for the name; the
+    // others keep everything in one space and return themselves.
+    default CacheClient partition(String name) {
+        return this;
+    }
 }
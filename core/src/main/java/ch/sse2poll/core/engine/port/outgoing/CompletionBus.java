@@ -0,0 +1,10 @@
+package ch.sse2poll.core.engine.port.outgoing;
+
+import java.util.function.Consumer;
+
+public interface CompletionBus {
+
+    void publish(String key);
+
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,27 @@
+package ch.sse2poll.core.engine.port.outgoing;
+
+public interface PollMetrics {
+
+    PollMetrics NONE = new PollMetrics() {
+    };
+
+    default void kickoff(String namespace) {
+    }
+
+    default void poll(String namespace, String jobId, PollOutcome outcome) {
+    }
+
+    default void awaited(String namespace, long nanos) {
+    }
+
+    default void jobQueued(String namespace) {
+    }
+
+    // computeNanos is negative when the job never ran (rejected or cancelled while queued)
+    default void jobFinished(String namespace, long queueNanos, long computeNanos) {
+    }
+
+    enum PollOutcome {
+        READY, PARTIAL, PENDING, UNKNOWN, FAILED
+    }
+}
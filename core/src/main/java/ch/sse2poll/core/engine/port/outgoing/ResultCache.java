@@ -0,0 +1,25 @@
+package ch.sse2poll.core.engine.port.outgoing;
+
+import ch.sse2poll.core.entities.model.Fingerprint;
+import ch.sse2poll.core.entities.model.Ready;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface ResultCache {
+
+    ResultCache NONE = new ResultCache() {
+        @Override
+        public Optional<Ready<?>> read(Fingerprint fingerprint) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void write(Fingerprint fingerprint, Object payload, Duration ttl) {
+        }
+    };
+
+    Optional<Ready<?>> read(Fingerprint fingerprint);
+
+    void write(Fingerprint fingerprint, Object payload, Duration ttl);
+}
@@ -0,0 +1,211 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.exception.RejectedJobException;
+import ch.sse2poll.core.engine.support.interfaces.AsyncRunner;
+import ch.sse2poll.core.engine.support.interfaces.ConcurrencyLimit;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class BoundedAsyncRunner implements AsyncRunner {
+
+    private static final String DEFAULT_NAMESPACE = "default";
+    private static final Duration MIN_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final AsyncRunner delegate;
+    private final Function<String, ConcurrencyLimit> limitFactory;
+    private final int maxQueued;
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BoundedAsyncRunner(AsyncRunner delegate, Function<String, ConcurrencyLimit> limitFactory, int maxQueued) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.limitFactory = Objects.requireNonNull(limitFactory, "limitFactory");
+        this.maxQueued = Math.max(0, maxQueued);
+    }
+
+    @Override
+    public <T> void run(Supplier<T> compute, Consumer<T> onSuccess) {
+        run(DEFAULT_NAMESPACE, compute, onSuccess);
+    }
+
+    @Override
+    public <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess) {
+        run(namespace, compute, onSuccess, error -> {
+        });
+    }
+
+    @Override
+    public <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        run(namespace, compute, onSuccess, onFailure, new CompletableFuture<>());
+    }
+
+    @Override
+    public <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess, Consumer<Throwable> onFailure,
+                        CompletionStage<?> cancelled) {
+        Bulkhead bulkhead = bulkhead(namespace);
+        if (!bulkhead.tryAdmit()) {
+            throw new RejectedJobException(namespace, bulkhead.retryAfter());
+        }
+        try {
+            CompletableFuture<?> cancellation = cancelled.toCompletableFuture();
+            cancellation.thenRun(bulkhead::wakeWaiters);
+            delegate.run(namespace, () -> bulkhead.execute(compute, cancellation), onSuccess, onFailure);
+        } catch (RuntimeException | Error ex) {
+            bulkhead.abandon();
+            throw ex;
+        }
+    }
+
+    // The caller's thread may be an event loop, so a stage never waits for a slot: it takes a free one or is rejected.
+    // The slot is held until the stage settles, cancellation included.
+    @Override
+    public <T> CompletableFuture<T> follow(String namespace, Supplier<? extends CompletionStage<T>> start) {
+        Bulkhead bulkhead = bulkhead(namespace);
+        if (!bulkhead.tryAcquire()) {
+            throw new RejectedJobException(namespace, bulkhead.retryAfter());
+        }
+        long begin = System.nanoTime();
+        CompletableFuture<T> stage;
+        try {
+            stage = start.get().toCompletableFuture();
+        } catch (RuntimeException | Error ex) {
+            bulkhead.release(System.nanoTime() - begin);
+            throw ex;
+        }
+        stage.whenComplete((payload, error) -> bulkhead.release(System.nanoTime() - begin));
+        return stage;
+    }
+
+    private Bulkhead bulkhead(String namespace) {
+        return bulkheads.computeIfAbsent(namespace, ns -> new Bulkhead(limitFactory.apply(ns), maxQueued));
+    }
+
+    private static final class Bulkhead {
+        private final ConcurrencyLimit limit;
+        private final int maxQueued;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition slotFreed = lock.newCondition();
+        private int admitted;
+        private int running;
+        private long averageLatencyNanos;
+
+        Bulkhead(ConcurrencyLimit limit, int maxQueued) {
+            this.limit = limit;
+            this.maxQueued = maxQueued;
+        }
+
+        boolean tryAdmit() {
+            lock.lock();
+            try {
+                if (admitted >= limit.limit() + maxQueued) {
+                    return false;
+                }
+                admitted++;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean tryAcquire() {
+            lock.lock();
+            try {
+                if (running >= limit.limit() || admitted >= limit.limit() + maxQueued) {
+                    return false;
+                }
+                admitted++;
+                running++;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void abandon() {
+            lock.lock();
+            try {
+                admitted--;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        <T> T execute(Supplier<T> compute, CompletableFuture<?> cancelled) {
+            acquire(cancelled);
+            long start = System.nanoTime();
+            try {
+                return compute.get();
+            } finally {
+                release(System.nanoTime() - start);
+            }
+        }
+
+        // A job cancelled while queued gives its admission back without ever taking a running slot.
+        private void acquire(CompletableFuture<?> cancelled) {
+            lock.lock();
+            try {
+                while (running >= limit.limit() && !cancelled.isDone()) {
+                    slotFreed.await();
+                }
+                if (cancelled.isDone()) {
+                    admitted--;
+                    slotFreed.signalAll();
+                    throw new CancellationException("Job cancelled while queued for a concurrency slot");
+                }
+                running++;
+            } catch (InterruptedException ie) {
+                admitted--;
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queued for a concurrency slot", ie);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long latencyNanos) {
+            lock.lock();
+            try {
+                limit.onSample(latencyNanos, running);
+                averageLatencyNanos = averageLatencyNanos == 0
+                        ? latencyNanos
+                        : averageLatencyNanos + (latencyNanos - averageLatencyNanos) / 8;
+                running--;
+                admitted--;
+                slotFreed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void wakeWaiters() {
+            lock.lock();
+            try {
+                slotFreed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Duration retryAfter() {
+            lock.lock();
+            try {
+                int queued = Math.max(0, admitted - running);
+                long estimate = averageLatencyNanos * (1 + queued / Math.max(1, limit.limit()));
+                Duration retryAfter = Duration.ofNanos(estimate);
+                return retryAfter.compareTo(MIN_RETRY_AFTER) < 0 ? MIN_RETRY_AFTER : retryAfter;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
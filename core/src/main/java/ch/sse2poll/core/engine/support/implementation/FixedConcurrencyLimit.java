@@ -0,0 +1,21 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.support.interfaces.ConcurrencyLimit;
+
+public final class FixedConcurrencyLimit implements ConcurrencyLimit {
+
+    private final int limit;
+
+    public FixedConcurrencyLimit(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(long latencyNanos, int inFlight) {
+    }
+}
@@ -0,0 +1,11 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.support.interfaces.FailureTranslator;
+import ch.sse2poll.core.entities.model.Failed;
+
+public final class GenericFailureTranslator implements FailureTranslator {
+    @Override
+    public Failed translate(Throwable error) {
+        return new Failed(500, "Polled computation failed");
+    }
+}
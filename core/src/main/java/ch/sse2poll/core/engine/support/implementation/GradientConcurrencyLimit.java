@@ -0,0 +1,55 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.support.interfaces.ConcurrencyLimit;
+
+// Gradient-style limiter: compares each latency sample against a slow moving baseline and
+// shrinks the limit when latency rises (queueing downstream), grows it while latency holds.
+public final class GradientConcurrencyLimit implements ConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int BASELINE_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private double estimatedLimit;
+    private double baselineNanos;
+    private volatile int limit;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.estimatedLimit = clamp(initialLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long latencyNanos, int inFlight) {
+        if (latencyNanos <= 0) {
+            return;
+        }
+        baselineNanos = baselineNanos == 0
+                ? latencyNanos
+                : baselineNanos + (latencyNanos - baselineNanos) / BASELINE_WINDOW;
+
+        // do not grow while the caller is not using the current limit
+        if (inFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / latencyNanos));
+        double queueAllowance = Math.sqrt(estimatedLimit);
+        double target = estimatedLimit * gradient + queueAllowance;
+        estimatedLimit = clamp(estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING);
+        limit = (int) estimatedLimit;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,133 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.support.interfaces.CompletionTimeModel;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Per-namespace log-linear histogram of completion times (16 sub-buckets per power of two, ~6% error).
+// Hints come from the distribution of jobs that already ran as long as the one being polled.
+public final class HistogramCompletionTimeModel implements CompletionTimeModel {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final double RETRY_AFTER_QUANTILE = 0.5;
+    private static final double WAIT_QUANTILE = 0.9;
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final int minSamples;
+    private final long maxSamples;
+    private final long maxWaitMillis;
+
+    public HistogramCompletionTimeModel(Duration maxSuggestedWait) {
+        this(20, 10_000, maxSuggestedWait);
+    }
+
+    public HistogramCompletionTimeModel(int minSamples, long maxSamples, Duration maxSuggestedWait) {
+        this.minSamples = Math.max(1, minSamples);
+        this.maxSamples = Math.max(this.minSamples * 2L, maxSamples);
+        this.maxWaitMillis = Math.max(0, maxSuggestedWait.toMillis());
+    }
+
+    @Override
+    public void record(String namespace, long durationNanos) {
+        if (durationNanos < 0) {
+            return;
+        }
+        histograms.computeIfAbsent(namespace, ignored -> new Histogram()).record(toMillis(durationNanos), maxSamples);
+    }
+
+    @Override
+    public Optional<PollHint> hint(String namespace, long elapsedNanos) {
+        Histogram histogram = histograms.get(namespace);
+        if (histogram == null) {
+            return Optional.empty();
+        }
+        long elapsedMillis = toMillis(Math.max(0, elapsedNanos));
+        // counts are read in place on every pending poll; concurrent records may skew one hint by a sample or two
+        AtomicLongArray counts = histogram.counts;
+        int first = bucket(elapsedMillis);
+        long remaining = 0;
+        for (int i = first; i < BUCKETS; i++) {
+            remaining += counts.get(i);
+        }
+        // a job outliving every sample we have gives us nothing to extrapolate from
+        if (remaining < minSamples) {
+            return Optional.empty();
+        }
+        long retryAfter = quantile(counts, first, remaining, RETRY_AFTER_QUANTILE) - elapsedMillis;
+        long wait = quantile(counts, first, remaining, WAIT_QUANTILE) - elapsedMillis;
+        return Optional.of(new PollHint(
+                Duration.ofMillis(Math.max(1, retryAfter)),
+                Duration.ofMillis(Math.min(maxWaitMillis, Math.max(0, wait)))));
+    }
+
+    private static long quantile(AtomicLongArray counts, int first, long total, double quantile) {
+        long target = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        int last = first;
+        for (int i = first; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count == 0) {
+                continue;
+            }
+            seen += count;
+            last = i;
+            if (seen >= target) {
+                return upperBound(i);
+            }
+        }
+        // a concurrent halving shrank the counts under us; the highest sample still seen is the best bound
+        return upperBound(last);
+    }
+
+    static int bucket(long millis) {
+        long value = Math.min(millis, (1L << (MAX_EXPONENT + 1)) - 1);
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) ((value - (1L << exponent)) >> shift);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (1L << (shift + SUB_BUCKET_BITS)) + ((long) sub << shift);
+        return lower + (1L << shift) - 1;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static final class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private long total;
+
+        void record(long millis, long maxSamples) {
+            counts.incrementAndGet(bucket(millis));
+            synchronized (this) {
+                if (++total < maxSamples) {
+                    return;
+                }
+                // halve everything so the model follows a namespace whose latency drifts
+                total = 0;
+                for (int i = 0; i < BUCKETS; i++) {
+                    total += counts.updateAndGet(i, count -> count >> 1);
+                }
+            }
+        }
+    }
+}
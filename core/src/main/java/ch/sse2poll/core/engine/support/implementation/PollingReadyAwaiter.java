@@ -4,12 +4,18 @@ import ch.sse2poll.core.engine.support.interfaces.ReadyAwaiter;
 import ch.sse2poll.core.entities.model.Ready;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 public final class PollingReadyAwaiter implements ReadyAwaiter {
+
+    private static final long INTERVAL_MS = 50;
+    private static final Executor NEXT_PROBE = CompletableFuture.delayedExecutor(INTERVAL_MS, TimeUnit.MILLISECONDS);
+
     @Override
-    public <T> Optional<Ready<T>> waitReady(long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady) {
+    public <T> Optional<Ready<T>> waitReady(String key, long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady) {
         long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
         while (System.nanoTime() < end) {
             Optional<Ready<T>> res = tryConsumeReady.get();
@@ -17,7 +23,7 @@ public final class PollingReadyAwaiter implements ReadyAwaiter {
                 return res;
             }
             try {
-                Thread.sleep(50);
+                Thread.sleep(INTERVAL_MS);
             } catch (InterruptedException ie) {
                 Thread.currentThread().interrupt();
                 break;
@@ -25,4 +31,32 @@ public final class PollingReadyAwaiter implements ReadyAwaiter {
         }
         return Optional.empty();
     }
+
+    // Same cadence as waitReady, but each probe is scheduled rather than slept for, so no thread waits in between.
+    @Override
+    public <T> CompletableFuture<Optional<Ready<T>>> waitReadyAsync(String key,
+                                                                   long waitMs,
+                                                                   Supplier<Optional<Ready<T>>> tryConsumeReady) {
+        CompletableFuture<Optional<Ready<T>>> outcome = new CompletableFuture<>();
+        probe(outcome, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs), tryConsumeReady);
+        return outcome;
+    }
+
+    private static <T> void probe(CompletableFuture<Optional<Ready<T>>> outcome, long end,
+                                  Supplier<Optional<Ready<T>>> tryConsumeReady) {
+        if (outcome.isDone()) {
+            return;
+        }
+        try {
+            Optional<Ready<T>> res = tryConsumeReady.get();
+            if (res.isPresent() || System.nanoTime() >= end) {
+                outcome.complete(res);
+                return;
+            }
+        } catch (RuntimeException ex) {
+            outcome.completeExceptionally(ex);
+            return;
+        }
+        NEXT_PROBE.execute(() -> probe(outcome, end, tryConsumeReady));
+    }
 }
@@ -0,0 +1,174 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.port.outgoing.CompletionBus;
+import ch.sse2poll.core.engine.support.interfaces.ReadyAwaiter;
+import ch.sse2poll.core.entities.model.Ready;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public final class SignalingReadyAwaiter implements ReadyAwaiter {
+
+    private final ConcurrentMap<String, Signal> signals = new ConcurrentHashMap<>();
+    private final ReadyAwaiter fallback;
+    private final CompletionBus bus;
+
+    public SignalingReadyAwaiter() {
+        this(new PollingReadyAwaiter());
+    }
+
+    public SignalingReadyAwaiter(ReadyAwaiter fallback) {
+        this.fallback = Objects.requireNonNull(fallback, "fallback");
+        this.bus = null;
+    }
+
+    public SignalingReadyAwaiter(CompletionBus bus) {
+        this(bus, new PollingReadyAwaiter());
+    }
+
+    public SignalingReadyAwaiter(CompletionBus bus, ReadyAwaiter fallback) {
+        this.fallback = Objects.requireNonNull(fallback, "fallback");
+        this.bus = Objects.requireNonNull(bus, "bus");
+        bus.subscribe(this::wake);
+    }
+
+    @Override
+    public void register(String key) {
+        signals.computeIfAbsent(key, k -> new Signal());
+    }
+
+    @Override
+    public void signal(String key) {
+        wake(key);
+        if (bus != null) {
+            bus.publish(key);
+        }
+    }
+
+    @Override
+    public void signalLocally(String key) {
+        wake(key);
+    }
+
+    @Override
+    public <T> Optional<Ready<T>> waitReady(String key, long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady) {
+        Optional<Ready<T>> res = tryConsumeReady.get();
+        if (res.isPresent() || waitMs <= 0) {
+            return res;
+        }
+
+        Signal signal = attach(key);
+        if (signal == null) {
+            // either signalled between the read above and now, or started on another node
+            res = tryConsumeReady.get();
+            return res.isPresent() ? res : fallback.waitReady(key, waitMs, tryConsumeReady);
+        }
+
+        try {
+            if (bus != null) {
+                // a publication may have arrived before this waiter attached
+                res = tryConsumeReady.get();
+                if (res.isPresent()) {
+                    return res;
+                }
+            }
+            signal.fired.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            return Optional.empty();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            detach(key, signal);
+        }
+        return tryConsumeReady.get();
+    }
+
+    @Override
+    public <T> CompletableFuture<Optional<Ready<T>>> waitReadyAsync(String key,
+                                                                   long waitMs,
+                                                                   Supplier<Optional<Ready<T>>> tryConsumeReady) {
+        Optional<Ready<T>> res = tryConsumeReady.get();
+        if (res.isPresent() || waitMs <= 0) {
+            return CompletableFuture.completedFuture(res);
+        }
+
+        Signal signal = attach(key);
+        if (signal == null) {
+            res = tryConsumeReady.get();
+            return res.isPresent()
+                    ? CompletableFuture.completedFuture(res)
+                    : fallback.waitReadyAsync(key, waitMs, tryConsumeReady);
+        }
+        if (bus != null) {
+            try {
+                res = tryConsumeReady.get();
+            } catch (RuntimeException ex) {
+                detach(key, signal);
+                throw ex;
+            }
+            if (res.isPresent()) {
+                detach(key, signal);
+                return CompletableFuture.completedFuture(res);
+            }
+        }
+
+        // time out a copy so the shared signal stays pending for other waiters
+        return signal.fired.copy()
+                .orTimeout(waitMs, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, ex) -> detach(key, signal))
+                .handle((ignored, ex) -> ex == null ? tryConsumeReady.get() : Optional.empty());
+    }
+
+    private void wake(String key) {
+        Signal signal = signals.remove(key);
+        if (signal != null) {
+            signal.fired.complete(null);
+        }
+    }
+
+    // With a bus every node can be told about completion, so waiters create the signal on demand; without one only
+    // a job registered on this node can wake them.
+    private Signal attach(String key) {
+        if (bus == null) {
+            return signals.computeIfPresent(key, (k, signal) -> {
+                signal.waiters++;
+                return signal;
+            });
+        }
+        return signals.compute(key, (k, signal) -> {
+            Signal attached = signal == null ? new Signal() : signal;
+            attached.waiters++;
+            return attached;
+        });
+    }
+
+    // The last waiter to leave drops the signal, so a job that never completes keeps none. Without a bus, later waits
+    // on it poll like waits on a job running elsewhere.
+    private void detach(String key, Signal signal) {
+        signals.computeIfPresent(key, (k, current) -> {
+            if (current != signal) {
+                return current;
+            }
+            current.waiters--;
+            return current.waiters == 0 ? null : current;
+        });
+    }
+
+    int registeredSignals() {
+        return signals.size();
+    }
+
+    private static final class Signal {
+        private final CompletableFuture<Void> fired = new CompletableFuture<>();
+        // only touched inside map compute calls
+        private int waiters;
+    }
+}
@@ -9,12 +9,35 @@ import ch.sse2poll.core.engine.support.interfaces.AsyncRunner;
 public final class VirtualThreadAsyncRunner implements AsyncRunner {
     @Override
     public <T> void run(Supplier<T> compute, Consumer<T> onSuccess) {
+        run(null, compute, onSuccess, error -> {
+        });
+    }
+
+    @Override
+    public <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess) {
+        run(namespace, compute, onSuccess, error -> {
+        });
+    }
+
+    @Override
+    public <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
         Thread.ofVirtual().start(() -> {
+            T payload;
+            try {
+                payload = compute.get();
+            } catch (Throwable t) {
+                onFailure.accept(t);
+                return;
+            }
             try {
-                T payload = compute.get();
                 onSuccess.accept(payload);
             } catch (Throwable t) {
-                // swallow errors; callers handle via cache TTL
+                // e.g. a result the cache cannot store: the job fails instead of staying pending until its TTL
+                try {
+                    onFailure.accept(t);
+                } catch (Throwable ignored) {
+                    // nothing left to report to; the pending entry expires with its TTL
+                }
             }
         });
     }
@@ -1,8 +1,43 @@
 package ch.sse2poll.core.engine.support.interfaces;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public interface AsyncRunner {
     <T> void run(Supplier<T> compute, Consumer<T> onSuccess);
+
+    default <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess) {
+        run(compute, onSuccess);
+    }
+
+    default <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        run(namespace, () -> {
+            try {
+                return compute.get();
+            } catch (RuntimeException | Error ex) {
+                onFailure.accept(ex);
+                throw ex;
+            }
+        }, payload -> {
+            try {
+                onSuccess.accept(payload);
+            } catch (RuntimeException | Error ex) {
+                onFailure.accept(ex);
+                throw ex;
+            }
+        });
+    }
+
+    // cancelled completes when nobody waits for the job any more; a runner that queues jobs drops it from the queue
+    default <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess, Consumer<Throwable> onFailure,
+                         CompletionStage<?> cancelled) {
+        run(namespace, compute, onSuccess, onFailure);
+    }
+
+    // starts a stage-returning computation on the calling thread; a runner that bounds work counts it until it settles
+    default <T> CompletableFuture<T> follow(String namespace, Supplier<? extends CompletionStage<T>> start) {
+        return start.get().toCompletableFuture();
+    }
 }
@@ -0,0 +1,25 @@
+package ch.sse2poll.core.engine.support.interfaces;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface CompletionTimeModel {
+
+    CompletionTimeModel NONE = new CompletionTimeModel() {
+        @Override
+        public void record(String namespace, long durationNanos) {
+        }
+
+        @Override
+        public Optional<PollHint> hint(String namespace, long elapsedNanos) {
+            return Optional.empty();
+        }
+    };
+
+    void record(String namespace, long durationNanos);
+
+    Optional<PollHint> hint(String namespace, long elapsedNanos);
+
+    record PollHint(Duration retryAfter, Duration suggestedWait) {
+    }
+}
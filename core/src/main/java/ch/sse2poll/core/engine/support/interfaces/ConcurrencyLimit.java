@@ -0,0 +1,7 @@
+package ch.sse2poll.core.engine.support.interfaces;
+
+public interface ConcurrencyLimit {
+    int limit();
+
+    void onSample(long latencyNanos, int inFlight);
+}
@@ -0,0 +1,7 @@
+package ch.sse2poll.core.engine.support.interfaces;
+
+import ch.sse2poll.core.entities.model.Failed;
+
+public interface FailureTranslator {
+    Failed translate(Throwable error);
+}
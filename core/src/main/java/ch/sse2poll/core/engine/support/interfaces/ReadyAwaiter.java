@@ -3,8 +3,27 @@ package ch.sse2poll.core.engine.support.interfaces;
 import ch.sse2poll.core.entities.model.Ready;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 public interface ReadyAwaiter {
-    <T> Optional<Ready<T>> waitReady(long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady);
+    <T> Optional<Ready<T>> waitReady(String key, long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady);
+
+    default <T> CompletableFuture<Optional<Ready<T>>> waitReadyAsync(String key,
+                                                                    long waitMs,
+                                                                    Supplier<Optional<Ready<T>>> tryConsumeReady) {
+        return CompletableFuture.supplyAsync(() -> waitReady(key, waitMs, tryConsumeReady),
+                task -> Thread.ofVirtual().start(task));
+    }
+
+    default void register(String key) {
+    }
+
+    default void signal(String key) {
+    }
+
+    // wakes waiters on this node only; other nodes learn of the change with the next signal
+    default void signalLocally(String key) {
+        signal(key);
+    }
 }
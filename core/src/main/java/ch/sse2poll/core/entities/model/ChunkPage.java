@@ -0,0 +1,6 @@
+package ch.sse2poll.core.entities.model;
+
+import java.util.List;
+
+public record ChunkPage(String jobId, List<?> chunks, String cursor) {
+}
@@ -0,0 +1,8 @@
+package ch.sse2poll.core.entities.model;
+
+public record EncodedBody(byte[] bytes, String contentType) {
+
+    public int length() {
+        return bytes.length;
+    }
+}
@@ -1,5 +1,5 @@
 package ch.sse2poll.core.entities.model;
 
-public sealed interface Envelope permits Ready, Pending {
+public sealed interface Envelope permits Ready, Pending, Partial, Failed {
 }
 
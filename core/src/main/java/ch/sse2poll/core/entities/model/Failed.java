@@ -0,0 +1,4 @@
+package ch.sse2poll.core.entities.model;
+
+public record Failed(int status, String detail) implements Envelope {
+}
@@ -0,0 +1,27 @@
+package ch.sse2poll.core.entities.model;
+
+import java.util.Arrays;
+
+public record Fingerprint(String namespace, Object[] arguments) {
+
+    public Fingerprint {
+        arguments = arguments == null ? new Object[0] : arguments.clone();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Fingerprint that
+                && namespace.equals(that.namespace)
+                && Arrays.deepEquals(arguments, that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * namespace.hashCode() + Arrays.deepHashCode(arguments);
+    }
+
+    @Override
+    public String toString() {
+        return namespace + Arrays.deepToString(arguments);
+    }
+}
@@ -0,0 +1,28 @@
+package ch.sse2poll.core.entities.model;
+
+// One job's answer in a batch poll; only the fields of its state are set.
+public record JobStatus(String namespace, String jobId, State state, Object payload, Progress progress, Integer status,
+                        String detail) {
+
+    public enum State { READY, PENDING, UNKNOWN, FAILED }
+
+    public static JobStatus ready(JobRef job, Object payload) {
+        return new JobStatus(job.namespace(), job.jobId(), State.READY, payload, null, null, null);
+    }
+
+    public static JobStatus pending(JobRef job, Progress progress) {
+        return new JobStatus(job.namespace(), job.jobId(), State.PENDING, null, progress, null, null);
+    }
+
+    public static JobStatus unknown(JobRef job) {
+        return new JobStatus(job.namespace(), job.jobId(), State.UNKNOWN, null, null, null, null);
+    }
+
+    public static JobStatus failed(JobRef job, Failed failure) {
+        return new JobStatus(job.namespace(), job.jobId(), State.FAILED, null, null, failure.status(), failure.detail());
+    }
+
+    public JobStatus withPayload(Object replacement) {
+        return new JobStatus(namespace, jobId, state, replacement, progress, status, detail);
+    }
+}
@@ -0,0 +1,18 @@
+package ch.sse2poll.core.entities.model;
+
+import java.util.List;
+
+public record Partial(List<?> chunks, Progress progress) implements Envelope {
+
+    public Partial {
+        chunks = List.copyOf(chunks);
+    }
+
+    public Partial(List<?> chunks) {
+        this(chunks, null);
+    }
+
+    public Partial withProgress(Progress progress) {
+        return new Partial(chunks, progress);
+    }
+}
@@ -1,4 +1,12 @@
 package ch.sse2poll.core.entities.model;
 
-public record Pending(String jobId) implements Envelope {
+public record Pending(String jobId, Progress progress) implements Envelope {
+
+    public Pending(String jobId) {
+        this(jobId, null);
+    }
+
+    public Pending withProgress(Progress progress) {
+        return new Pending(jobId, progress);
+    }
 }
@@ -0,0 +1,8 @@
+package ch.sse2poll.core.entities.model;
+
+public record Progress(int percent, String stage, Long etaMs) {
+
+    public Progress {
+        percent = Math.max(0, Math.min(100, percent));
+    }
+}
@@ -0,0 +1,18 @@
+package ch.sse2poll.core.entities.model;
+
+import java.time.Duration;
+
+// How long a consumed result stays readable under its job id, and how many more polls may read it (0 = any number).
+public record Retention(Duration window, int maxReads) {
+
+    public static final Retention NONE = new Retention(Duration.ZERO, 0);
+
+    public Retention {
+        window = window == null || window.isNegative() ? Duration.ZERO : window;
+        maxReads = Math.max(0, maxReads);
+    }
+
+    public boolean enabled() {
+        return window.isPositive();
+    }
+}
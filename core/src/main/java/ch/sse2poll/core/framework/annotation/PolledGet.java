@@ -10,4 +10,61 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface PolledGet {
+
+    /**
+     * Release the servlet container thread while a {@code waitMs} poll is parked and complete the
+     * response asynchronously through a {@code DeferredResult}. Requires async support on the
+     * dispatcher servlet and every filter in front of it. WebFlux endpoints never hold a thread
+     * while waiting and ignore this flag.
+     */
+    boolean deferred() default false;
+
+    /**
+     * Attach concurrent kickoffs with equal arguments to the computation already in flight. Each
+     * caller still receives its own job id; all of them are completed from the single result.
+     * Arguments are compared with {@code equals}, so they need value semantics.
+     */
+    boolean coalesce() default false;
+
+    /**
+     * Keep completed results for this long under a key built from the namespace and the arguments;
+     * a kickoff with equal arguments inside the window is answered immediately with {@code 200}.
+     * Accepts {@code 500ms}, {@code 30s}, {@code 5m}, {@code 1h}, {@code 1d} or ISO-8601. Empty
+     * disables memoization.
+     */
+    String cacheFor() default "";
+
+    /**
+     * Encode the result to JSON bytes on the worker thread when the job completes and store those
+     * bytes instead of the object. Polls write them out as-is, so no message converter runs on the
+     * request thread, and weight-bounded caches can account for the exact size.
+     */
+    boolean preEncode() default false;
+
+    /**
+     * How long a running job's entry lives in the cache; a job outliving it becomes unknown to
+     * pollers. Same duration syntax as {@link #cacheFor()}, and {@code ${...}} placeholders are
+     * resolved. Empty falls back to {@code sse2poll.poll.pending-ttl}, then to five minutes.
+     */
+    String pendingTtl() default "";
+
+    /**
+     * How long a finished result or failure waits in the cache for its poll. Empty falls back to
+     * {@code sse2poll.poll.ready-ttl}, then to five minutes.
+     */
+    String readyTtl() default "";
+
+    /**
+     * Upper bound on the {@code waitMs} a poll may park for; longer requests are cut down to it.
+     * Empty falls back to {@code sse2poll.poll.max-wait}, then to no bound.
+     */
+    String maxWait() default "";
+
+    /**
+     * Name of a cache partition holding this endpoint's entries, so its bursts evict only its own
+     * results. Endpoints naming the same partition share it; it is sized through
+     * {@code sse2poll.cache.partitions.<name>.*}. Empty keeps them in the shared cache. Only the Caffeine
+     * store has partitions; with the others a named partition fails the startup.
+     */
+    String partition() default "";
 }
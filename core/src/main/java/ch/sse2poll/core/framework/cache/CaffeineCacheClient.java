@@ -1,7 +1,11 @@
 package ch.sse2poll.core.framework.cache;
 
+import ch.sse2poll.core.entities.model.EncodedBody;
 import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Partial;
 import ch.sse2poll.core.entities.model.Pending;
+import ch.sse2poll.core.entities.model.Progress;
 import ch.sse2poll.core.entities.model.Ready;
 import ch.sse2poll.core.engine.port.outgoing.CacheClient;
 import com.github.benmanes.caffeine.cache.Cache;
@@ -29,37 +33,84 @@ public final class CaffeineCacheClient implements CacheClient {
         this.ticker = Objects.requireNonNull(ticker, "ticker");
     }
 
+    // bounds the cache by bytes; pre-encoded results weigh exactly their encoded length
+    public static CaffeineCacheClient weighted(long maximumBytes) {
+        Ticker ticker = Ticker.systemTicker();
+        Cache<String, StoredEnvelope> cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1L, maximumBytes))
+                .weigher((String key, StoredEnvelope stored) -> stored.weight())
+                .ticker(ticker)
+                .expireAfter(new StoredEnvelopeExpiry())
+                .recordStats()
+                .build();
+        return new CaffeineCacheClient(cache, ticker);
+    }
+
     private static Cache<String, StoredEnvelope> buildCache(long maximumSize, Ticker ticker) {
         long safeSize = Math.max(1L, maximumSize);
         return Caffeine.newBuilder()
                 .maximumSize(safeSize)
                 .ticker(ticker)
                 .expireAfter(new StoredEnvelopeExpiry())
+                .recordStats()
                 .build();
     }
 
+    public Cache<String, StoredEnvelope> nativeCache() {
+        return cache;
+    }
+
     @Override
     public Optional<Envelope> read(String key, Class<?> bodyType) {
         StoredEnvelope stored = cache.getIfPresent(key);
         return stored == null ? Optional.empty() : Optional.of(stored.envelope());
     }
 
+    @Override
+    public boolean exists(String key) {
+        return cache.getIfPresent(key) != null;
+    }
+
     @Override
     public void writePending(String key, String jobId, Duration ttl) {
         cache.put(key, StoredEnvelope.pending(jobId, ticker.read(), ttl));
     }
 
+    @Override
+    public void writePartial(String key, Partial partial, Duration ttl) {
+        cache.put(key, StoredEnvelope.partial(partial, ticker.read(), ttl));
+    }
+
+    @Override
+    public void updateProgress(String key, Progress progress, Duration ttl) {
+        cache.asMap().computeIfPresent(key, (k, stored) -> stored.withProgress(progress));
+    }
+
     @Override
     public <T> void writeReady(String key, T payload, Duration ttl) {
         cache.put(key, StoredEnvelope.ready(payload, ticker.read(), ttl));
     }
 
+    @Override
+    public void writeFailed(String key, Failed failure, Duration ttl) {
+        cache.put(key, StoredEnvelope.failed(failure, ticker.read(), ttl));
+    }
+
     @Override
     public void delete(String key) {
         cache.invalidate(key);
     }
 
+    @Override
+    public Optional<Envelope> consume(String key, Class<?> bodyType) {
+        StoredEnvelope stored = cache.asMap().remove(key);
+        return stored == null ? Optional.empty() : Optional.of(stored.envelope());
+    }
+
     public static final class StoredEnvelope {
+        private static final int ENTRY_OVERHEAD_BYTES = 128;
+        private static final int OBJECT_ESTIMATE_BYTES = 1024;
+
         private final Envelope envelope;
         private final long expiresAtNanos;
 
@@ -72,6 +123,28 @@ public final class CaffeineCacheClient implements CacheClient {
             return envelope;
         }
 
+        StoredEnvelope withProgress(Progress progress) {
+            return switch (envelope) {
+                case Pending pending -> new StoredEnvelope(pending.withProgress(progress), expiresAtNanos);
+                case Partial partial -> new StoredEnvelope(partial.withProgress(progress), expiresAtNanos);
+                default -> this;
+            };
+        }
+
+        int weight() {
+            if (envelope instanceof Ready<?> ready) {
+                if (ready.payload() instanceof EncodedBody body) {
+                    return (int) Math.min(Integer.MAX_VALUE, (long) body.length() + ENTRY_OVERHEAD_BYTES);
+                }
+                return OBJECT_ESTIMATE_BYTES;
+            }
+            if (envelope instanceof Partial partial) {
+                long estimate = ENTRY_OVERHEAD_BYTES + (long) partial.chunks().size() * OBJECT_ESTIMATE_BYTES;
+                return (int) Math.min(Integer.MAX_VALUE, estimate);
+            }
+            return ENTRY_OVERHEAD_BYTES;
+        }
+
         long expiresInNanos(long nowNanos) {
             long remaining = expiresAtNanos - nowNanos;
             return remaining <= 0 ? 0 : remaining;
@@ -81,11 +154,19 @@ public final class CaffeineCacheClient implements CacheClient {
             return new StoredEnvelope(new Pending(jobId), expiresAt(nowNanos, ttl));
         }
 
+        static StoredEnvelope partial(Partial partial, long nowNanos, Duration ttl) {
+            return new StoredEnvelope(partial, expiresAt(nowNanos, ttl));
+        }
+
         static StoredEnvelope ready(Object payload, long nowNanos, Duration ttl) {
             return new StoredEnvelope(new Ready<>(payload), expiresAt(nowNanos, ttl));
         }
 
-        private static long expiresAt(long nowNanos, Duration ttl) {
+        static StoredEnvelope failed(Failed failure, long nowNanos, Duration ttl) {
+            return new StoredEnvelope(failure, expiresAt(nowNanos, ttl));
+        }
+
+        static long expiresAt(long nowNanos, Duration ttl) {
             long ttlNanos = normalize(ttl);
             if (ttlNanos == Long.MAX_VALUE) {
                 return Long.MAX_VALUE;
@@ -0,0 +1,63 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.engine.port.outgoing.ResultCache;
+import ch.sse2poll.core.entities.model.Fingerprint;
+import ch.sse2poll.core.entities.model.Ready;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public final class CaffeineResultCache implements ResultCache {
+
+    private final Cache<Fingerprint, Entry> cache;
+
+    public CaffeineResultCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1L, maximumSize))
+                .expireAfter(new EntryExpiry())
+                .build();
+    }
+
+    @Override
+    public Optional<Ready<?>> read(Fingerprint fingerprint) {
+        Entry entry = cache.getIfPresent(fingerprint);
+        return entry == null ? Optional.empty() : Optional.of(entry.ready());
+    }
+
+    @Override
+    public void write(Fingerprint fingerprint, Object payload, Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        long ttlNanos;
+        try {
+            ttlNanos = ttl.toNanos();
+        } catch (ArithmeticException ex) {
+            ttlNanos = Long.MAX_VALUE;
+        }
+        cache.put(fingerprint, new Entry(new Ready<>(payload), ttlNanos));
+    }
+
+    private record Entry(Ready<?> ready, long ttlNanos) {
+    }
+
+    private static final class EntryExpiry implements Expiry<Fingerprint, Entry> {
+        @Override
+        public long expireAfterCreate(Fingerprint key, Entry value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Fingerprint key, Entry value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Fingerprint key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.engine.port.outgoing.CompletionBus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public final class InJvmCompletionBus implements CompletionBus {
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String key) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(key);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,183 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.engine.port.outgoing.CacheClient;
+import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Partial;
+import ch.sse2poll.core.entities.model.Pending;
+import ch.sse2poll.core.entities.model.Progress;
+import ch.sse2poll.core.entities.model.Ready;
+import ch.sse2poll.core.framework.cache.codec.PayloadCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+public final class OffHeapCacheClient implements CacheClient {
+
+    private final Cache<String, Entry> index;
+    private final OffHeapSlabAllocator allocator;
+    private final PayloadCodec codec;
+    private final Ticker ticker;
+
+    public OffHeapCacheClient(long maximumEntries, long capacityBytes, PayloadCodec codec) {
+        this(maximumEntries, new OffHeapSlabAllocator(capacityBytes), codec, Ticker.systemTicker());
+    }
+
+    public OffHeapCacheClient(long maximumEntries, OffHeapSlabAllocator allocator, PayloadCodec codec, Ticker ticker) {
+        this.allocator = Objects.requireNonNull(allocator, "allocator");
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.ticker = Objects.requireNonNull(ticker, "ticker");
+        this.index = Caffeine.newBuilder()
+                .maximumSize(Math.max(1L, maximumEntries))
+                .ticker(ticker)
+                .expireAfter(new EntryExpiry())
+                // expired blocks go back to the allocator even when nobody touches the key again
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (entry != null && entry.block != null) {
+                        entry.block.release();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Optional<Envelope> read(String key, Class<?> bodyType) {
+        Entry entry = index.getIfPresent(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.envelope != null) {
+            return Optional.of(entry.envelope);
+        }
+        byte[] bytes = entry.block != null ? entry.block.copy() : entry.spilled;
+        return bytes == null ? Optional.empty() : Optional.of(new Ready<>(codec.decode(bytes, bodyType)));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        Entry entry = index.getIfPresent(key);
+        return entry != null && (entry.envelope != null || entry.block != null || entry.spilled != null);
+    }
+
+    @Override
+    public void writePending(String key, String jobId, Duration ttl) {
+        index.put(key, new Entry(new Pending(jobId), null, null, expiresAt(ttl)));
+    }
+
+    @Override
+    public void writePartial(String key, Partial partial, Duration ttl) {
+        index.put(key, new Entry(partial, null, null, expiresAt(ttl)));
+    }
+
+    @Override
+    public void updateProgress(String key, Progress progress, Duration ttl) {
+        index.asMap().computeIfPresent(key, (k, entry) -> switch (entry.envelope) {
+            case Pending pending -> new Entry(pending.withProgress(progress), null, null, entry.expiresAtNanos);
+            case Partial partial -> new Entry(partial.withProgress(progress), null, null, entry.expiresAtNanos);
+            case null, default -> entry;
+        });
+    }
+
+    @Override
+    public <T> void writeReady(String key, T payload, Duration ttl) {
+        byte[] bytes = codec.encode(payload);
+        OffHeapSlabAllocator.Block block = allocator.store(bytes);
+        // oversized payloads or a full tier keep their encoded bytes on heap
+        index.put(key, new Entry(null, block, block == null ? bytes : null, expiresAt(ttl)));
+    }
+
+    @Override
+    public void writeFailed(String key, Failed failure, Duration ttl) {
+        index.put(key, new Entry(failure, null, null, expiresAt(ttl)));
+    }
+
+    @Override
+    public void delete(String key) {
+        index.invalidate(key);
+    }
+
+    @Override
+    public Optional<Envelope> consume(String key, Class<?> bodyType) {
+        Entry[] taken = new Entry[1];
+        index.asMap().computeIfPresent(key, (k, entry) -> {
+            // pin the block so the removal below cannot reclaim it before we copied it out
+            if (entry.block != null) {
+                entry.block.retain();
+            }
+            taken[0] = entry;
+            return null;
+        });
+        Entry entry = taken[0];
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.envelope != null) {
+            return Optional.of(entry.envelope);
+        }
+        if (entry.block == null) {
+            return Optional.of(new Ready<>(codec.decode(entry.spilled, bodyType)));
+        }
+        try {
+            return Optional.of(new Ready<>(codec.decode(entry.block.copy(), bodyType)));
+        } finally {
+            entry.block.release();
+        }
+    }
+
+    public long offHeapBytes() {
+        return allocator.usedBytes();
+    }
+
+    void cleanUp() {
+        index.cleanUp();
+    }
+
+    private long expiresAt(Duration ttl) {
+        return CaffeineCacheClient.StoredEnvelope.expiresAt(ticker.read(), ttl);
+    }
+
+    private static final class Entry {
+        private final Envelope envelope;
+        private final OffHeapSlabAllocator.Block block;
+        private final byte[] spilled;
+        private final long expiresAtNanos;
+
+        private Entry(Envelope envelope, OffHeapSlabAllocator.Block block, byte[] spilled, long expiresAtNanos) {
+            this.envelope = envelope;
+            this.block = block;
+            this.spilled = spilled;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private long expiresInNanos(long nowNanos) {
+            long remaining = expiresAtNanos - nowNanos;
+            return remaining <= 0 ? 0 : remaining;
+        }
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            return value.expiresInNanos(currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return value.expiresInNanos(currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
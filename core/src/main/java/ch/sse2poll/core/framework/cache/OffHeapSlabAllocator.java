@@ -0,0 +1,194 @@
+package ch.sse2poll.core.framework.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Carves direct-memory slabs into power-of-two blocks (a buddy allocator): a block is split off a larger free one, and
+// a freed block merges with its free buddy so a fragmented slab becomes whole again.
+public final class OffHeapSlabAllocator {
+
+    static final int SLAB_BYTES = 4 * 1024 * 1024;
+    private static final int MIN_SHIFT = 8;
+    private static final int MAX_SHIFT = Integer.numberOfTrailingZeros(SLAB_BYTES);
+    private static final int MAX_CLASS = MAX_SHIFT - MIN_SHIFT;
+
+    private final long capacityBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    // per size class; a set so a freed block can find and take its buddy
+    private final List<Set<Region>> free = new ArrayList<>(MAX_CLASS + 1);
+    private long reservedBytes;
+    private long usedBytes;
+
+    public OffHeapSlabAllocator(long capacityBytes) {
+        this.capacityBytes = Math.max(SLAB_BYTES, capacityBytes);
+        for (int i = 0; i <= MAX_CLASS; i++) {
+            free.add(new LinkedHashSet<>());
+        }
+    }
+
+    // null when the payload is larger than a slab or the capacity is exhausted
+    public Block store(byte[] bytes) {
+        if (bytes.length > SLAB_BYTES) {
+            return null;
+        }
+        int sizeClass = sizeClass(bytes.length);
+        Region region;
+        lock.lock();
+        try {
+            region = take(sizeClass);
+            if (region == null) {
+                return null;
+            }
+            usedBytes += region.size();
+        } finally {
+            lock.unlock();
+        }
+        region.slab().put(region.offset(), bytes);
+        return new Block(region, bytes.length);
+    }
+
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long reservedBytes() {
+        lock.lock();
+        try {
+            return reservedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Region take(int sizeClass) {
+        Region region = split(sizeClass);
+        if (region != null || reservedBytes + SLAB_BYTES > capacityBytes) {
+            return region;
+        }
+        free.get(MAX_CLASS).add(new Region(ByteBuffer.allocateDirect(SLAB_BYTES), 0, MAX_CLASS));
+        reservedBytes += SLAB_BYTES;
+        return split(sizeClass);
+    }
+
+    // takes the smallest free block that fits and hands the upper halves it sheds to the smaller classes
+    private Region split(int sizeClass) {
+        for (int larger = sizeClass; larger <= MAX_CLASS; larger++) {
+            Region region = poll(larger);
+            if (region == null) {
+                continue;
+            }
+            while (larger > sizeClass) {
+                larger--;
+                free.get(larger).add(new Region(region.slab(), region.offset() + (1 << (larger + MIN_SHIFT)), larger));
+            }
+            return new Region(region.slab(), region.offset(), sizeClass);
+        }
+        return null;
+    }
+
+    private Region poll(int sizeClass) {
+        Iterator<Region> regions = free.get(sizeClass).iterator();
+        if (!regions.hasNext()) {
+            return null;
+        }
+        Region region = regions.next();
+        regions.remove();
+        return region;
+    }
+
+    private void release(Region region) {
+        lock.lock();
+        try {
+            usedBytes -= region.size();
+            Region merged = region;
+            // blocks are aligned to their size, so the buddy sits at the offset with the size bit flipped
+            while (merged.sizeClass() < MAX_CLASS && free.get(merged.sizeClass()).remove(merged.buddy())) {
+                merged = new Region(merged.slab(), merged.offset() & ~merged.size(), merged.sizeClass() + 1);
+            }
+            free.get(merged.sizeClass()).add(merged);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int sizeClass(int length) {
+        int shift = Math.max(MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(1, length) - 1));
+        return shift - MIN_SHIFT;
+    }
+
+    // slabs compare by identity: ByteBuffer equality would compare their contents
+    private record Region(ByteBuffer slab, int offset, int sizeClass) {
+        int size() {
+            return 1 << (sizeClass + MIN_SHIFT);
+        }
+
+        Region buddy() {
+            return new Region(slab, offset ^ size(), sizeClass);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Region region && slab == region.slab && offset == region.offset
+                    && sizeClass == region.sizeClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(slab) + offset) + sizeClass;
+        }
+    }
+
+    public final class Block {
+        private final Region region;
+        private final int length;
+        // one reference held by the cache index, one per reader still copying
+        private final AtomicInteger refs = new AtomicInteger(1);
+
+        private Block(Region region, int length) {
+            this.region = region;
+            this.length = length;
+        }
+
+        public boolean retain() {
+            int current;
+            do {
+                current = refs.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!refs.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        // null when the block was reclaimed before the copy could start
+        public byte[] copy() {
+            if (!retain()) {
+                return null;
+            }
+            try {
+                byte[] bytes = new byte[length];
+                region.slab().get(region.offset(), bytes);
+                return bytes;
+            } finally {
+                release();
+            }
+        }
+
+        public void release() {
+            if (refs.decrementAndGet() == 0) {
+                OffHeapSlabAllocator.this.release(region);
+            }
+        }
+    }
+}
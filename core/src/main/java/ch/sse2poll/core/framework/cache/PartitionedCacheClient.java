@@ -0,0 +1,99 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.engine.port.outgoing.CacheClient;
+import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Partial;
+import ch.sse2poll.core.entities.model.Progress;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// Serves unpartitioned endpoints from the shared client and hands each named partition a client of its own, built
+// once on first use, so one endpoint's burst only evicts entries of its partition.
+public final class PartitionedCacheClient implements CacheClient {
+
+    private final CacheClient shared;
+    private final Function<String, ? extends CacheClient> factory;
+    private final ConcurrentMap<String, CacheClient> partitions = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, CacheClient>> listeners = new CopyOnWriteArrayList<>();
+
+    public PartitionedCacheClient(CacheClient shared, Function<String, ? extends CacheClient> factory) {
+        this.shared = Objects.requireNonNull(shared, "shared");
+        this.factory = Objects.requireNonNull(factory, "factory");
+    }
+
+    public CacheClient shared() {
+        return shared;
+    }
+
+    // Calls the listener for every partition built so far and for each one built later, e.g. to meter them all.
+    public void onPartition(BiConsumer<String, CacheClient> listener) {
+        listeners.add(listener);
+        partitions.forEach(listener);
+    }
+
+    @Override
+    public CacheClient partition(String name) {
+        CacheClient partition = partitions.get(name);
+        return partition != null ? partition : partitions.computeIfAbsent(name, this::build);
+    }
+
+    private CacheClient build(String name) {
+        CacheClient partition = factory.apply(name);
+        listeners.forEach(listener -> listener.accept(name, partition));
+        return partition;
+    }
+
+    @Override
+    public Optional<Envelope> read(String key, Class<?> bodyType) {
+        return shared.read(key, bodyType);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return shared.exists(key);
+    }
+
+    @Override
+    public void writePending(String key, String jobId, Duration ttl) {
+        shared.writePending(key, jobId, ttl);
+    }
+
+    @Override
+    public void writePartial(String key, Partial partial, Duration ttl) {
+        shared.writePartial(key, partial, ttl);
+    }
+
+    @Override
+    public void updateProgress(String key, Progress progress, Duration ttl) {
+        shared.updateProgress(key, progress, ttl);
+    }
+
+    @Override
+    public <T> void writeReady(String key, T payload, Duration ttl) {
+        shared.writeReady(key, payload, ttl);
+    }
+
+    @Override
+    public void writeFailed(String key, Failed failure, Duration ttl) {
+        shared.writeFailed(key, failure, ttl);
+    }
+
+    @Override
+    public void delete(String key) {
+        shared.delete(key);
+    }
+
+    @Override
+    public Optional<Envelope> consume(String key, Class<?> bodyType) {
+        return shared.consume(key, bodyType);
+    }
+}
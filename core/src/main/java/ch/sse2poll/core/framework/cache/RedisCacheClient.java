@@ -0,0 +1,241 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.engine.port.outgoing.CacheClient;
+import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Partial;
+import ch.sse2poll.core.entities.model.Pending;
+import ch.sse2poll.core.entities.model.Progress;
+import ch.sse2poll.core.entities.model.Ready;
+import ch.sse2poll.core.framework.cache.codec.JacksonPayloadCodec;
+import ch.sse2poll.core.framework.cache.codec.PayloadCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public final class RedisCacheClient implements CacheClient, AutoCloseable {
+
+    private static final byte PENDING = 'P';
+    private static final byte READY = 'R';
+    private static final byte FAILED = 'F';
+    private static final byte PARTIAL = 'C';
+    private static final byte PROGRESS = '%';
+    // chunks carry no static type, so they always travel in a self-describing format
+    private static final PayloadCodec CHUNK_CODEC = JacksonPayloadCodec.json();
+    // progress lives beside the entry so a tick never rewrites chunks and can never clobber a finished result
+    private static final String PROGRESS_SUFFIX = ":progress";
+
+    private final RespConnection connection;
+    private final Duration timeout;
+    private final PayloadCodec codec;
+
+    public RedisCacheClient(String host, int port, String password, Duration timeout) {
+        this(host, port, password, timeout, JacksonPayloadCodec.json());
+    }
+
+    public RedisCacheClient(String host, int port, String password, Duration timeout, PayloadCodec codec) {
+        this(new RespConnection(host, port, password, timeout), timeout, codec);
+    }
+
+    public RedisCacheClient(RespConnection connection, Duration timeout, PayloadCodec codec) {
+        this.connection = Objects.requireNonNull(connection, "connection");
+        this.timeout = Objects.requireNonNull(timeout, "timeout");
+        this.codec = Objects.requireNonNull(codec, "codec");
+    }
+
+    @Override
+    public Optional<Envelope> read(String key, Class<?> bodyType) {
+        List<?> replies = (List<?>) await(connection.send("MGET", entryKey(key), progressKey(key)));
+        Optional<Envelope> envelope = decode(replies.get(0), bodyType);
+        if (replies.get(1) instanceof byte[] progress) {
+            return envelope.map(found -> withProgress(found, decodeProgress(progress)));
+        }
+        return envelope;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return (Long) await(connection.send("EXISTS", entryKey(key))) > 0;
+    }
+
+    @Override
+    public void writePending(String key, String jobId, Duration ttl) {
+        set(entryKey(key), encode(PENDING, out -> out.writeUTF(jobId)), ttl);
+    }
+
+    @Override
+    public void writePartial(String key, Partial partial, Duration ttl) {
+        byte[] body = CHUNK_CODEC.encode(partial.chunks());
+        set(entryKey(key), encode(PARTIAL, out -> out.write(body)), ttl);
+    }
+
+    @Override
+    public void updateProgress(String key, Progress progress, Duration ttl) {
+        set(progressKey(key), encode(PROGRESS, out -> {
+            out.writeInt(progress.percent());
+            out.writeBoolean(progress.stage() != null);
+            if (progress.stage() != null) {
+                out.writeUTF(progress.stage());
+            }
+            out.writeBoolean(progress.etaMs() != null);
+            if (progress.etaMs() != null) {
+                out.writeLong(progress.etaMs());
+            }
+        }), ttl);
+    }
+
+    @Override
+    public <T> void writeReady(String key, T payload, Duration ttl) {
+        byte[] body = codec.encode(payload);
+        set(entryKey(key), encode(READY, out -> out.write(body)), ttl);
+    }
+
+    @Override
+    public void writeFailed(String key, Failed failure, Duration ttl) {
+        set(entryKey(key), encode(FAILED, out -> {
+            out.writeInt(failure.status());
+            out.writeBoolean(failure.detail() != null);
+            if (failure.detail() != null) {
+                out.writeUTF(failure.detail());
+            }
+        }), ttl);
+    }
+
+    @Override
+    public void delete(String key) {
+        await(connection.send("DEL", entryKey(key), progressKey(key)));
+    }
+
+    // takes the entry and drops its progress in one step, so no poll sees a result gone but its progress left behind;
+    // GET and DEL inside MULTI instead of GETDEL, which servers before Redis 6.2 do not know
+    @Override
+    public Optional<Envelope> consume(String key, Class<?> bodyType) {
+        List<?> replies = (List<?>) await(connection.transaction(
+                new Object[]{"GET", entryKey(key)}, new Object[]{"DEL", entryKey(key), progressKey(key)}));
+        if (replies == null) {
+            throw new IllegalStateException("Redis discarded the consume transaction");
+        }
+        if (replies.get(0) instanceof RespConnection.ErrorReply error) {
+            throw new IllegalStateException("Redis error: " + error.message());
+        }
+        return decode(replies.get(0), bodyType);
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+    }
+
+    // Cluster routes a key by its {hash tag}, so an entry and its progress key share a slot and may be read, deleted
+    // and taken by one command or transaction
+    private static String entryKey(String key) {
+        return "{" + key + "}";
+    }
+
+    private static String progressKey(String key) {
+        return entryKey(key) + PROGRESS_SUFFIX;
+    }
+
+    private void set(String key, byte[] value, Duration ttl) {
+        await(connection.send("SET", key, value, "PX", ttlMillis(ttl)));
+    }
+
+    private static long ttlMillis(Duration ttl) {
+        if (ttl == null) {
+            return TimeUnit.SECONDS.toMillis(1);
+        }
+        try {
+            return Math.max(1L, ttl.toMillis());
+        } catch (ArithmeticException ex) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> reply) {
+        connection.flush();
+        try {
+            return reply.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Redis", ex);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Redis did not answer within " + timeout.toMillis() + "ms", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Redis command failed", ex.getCause());
+        }
+    }
+
+    private static byte[] encode(byte tag, BodyWriter body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(tag);
+            body.write(out);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot encode cache entry", ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Optional<Envelope> decode(Object reply, Class<?> bodyType) {
+        if (reply == null) {
+            return Optional.empty();
+        }
+        if (!(reply instanceof byte[] bytes) || bytes.length == 0) {
+            throw new IllegalStateException("Unexpected Redis reply: " + reply);
+        }
+        Class<?> payloadType = bodyType == null ? Object.class : bodyType;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte tag = in.readByte();
+            return Optional.of(switch (tag) {
+                case PENDING -> new Pending(in.readUTF());
+                case READY -> new Ready<>(codec.decode(in.readAllBytes(), payloadType));
+                case PARTIAL -> new Partial(CHUNK_CODEC.decode(in.readAllBytes(), List.class));
+                case FAILED -> new Failed(in.readInt(), in.readBoolean() ? in.readUTF() : null);
+                default -> throw new IllegalStateException("Unknown cache entry tag: " + tag);
+            });
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot decode cache entry", ex);
+        }
+    }
+
+    private static Envelope withProgress(Envelope envelope, Progress progress) {
+        return switch (envelope) {
+            case Pending pending -> pending.withProgress(progress);
+            case Partial partial -> partial.withProgress(progress);
+            default -> envelope;
+        };
+    }
+
+    private static Progress decodeProgress(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != PROGRESS) {
+                throw new IllegalStateException("Unexpected progress entry");
+            }
+            int percent = in.readInt();
+            String stage = in.readBoolean() ? in.readUTF() : null;
+            Long etaMs = in.readBoolean() ? in.readLong() : null;
+            return new Progress(percent, stage, etaMs);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot decode progress entry", ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
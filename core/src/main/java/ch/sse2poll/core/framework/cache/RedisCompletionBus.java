@@ -0,0 +1,115 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.engine.port.outgoing.CompletionBus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public final class RedisCompletionBus implements CompletionBus, AutoCloseable {
+
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+
+    private final String host;
+    private final int port;
+    private final String password;
+    private final Duration timeout;
+    private final String channel;
+    private final RespConnection publisher;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Socket socket;
+    private volatile boolean closed;
+
+    public RedisCompletionBus(String host, int port, String password, Duration timeout, String channel) {
+        this.host = Objects.requireNonNull(host, "host");
+        this.port = port;
+        this.password = password == null || password.isEmpty() ? null : password;
+        this.timeout = Objects.requireNonNull(timeout, "timeout");
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.publisher = new RespConnection(host, port, password, timeout);
+        Thread.ofVirtual().name("sse2poll-completion-bus").start(this::listen);
+    }
+
+    @Override
+    public void publish(String key) {
+        // fire and forget: a lost message only means remote waiters sit out their waitMs
+        publisher.send("PUBLISH", channel, key);
+        publisher.flush();
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // shutting down
+            }
+        }
+        publisher.close();
+    }
+
+    private void listen() {
+        while (!closed) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                if (closed) {
+                    return;
+                }
+                connection.connect(new InetSocketAddress(host, port), (int) Math.min(Integer.MAX_VALUE, timeout.toMillis()));
+                OutputStream out = new BufferedOutputStream(connection.getOutputStream());
+                InputStream in = new BufferedInputStream(connection.getInputStream());
+                if (password != null) {
+                    RespConnection.writeCommand(out, "AUTH", password);
+                }
+                RespConnection.writeCommand(out, "SUBSCRIBE", channel);
+                out.flush();
+                while (!closed) {
+                    Object reply = RespConnection.readReply(in);
+                    if (reply instanceof RespConnection.ErrorReply error) {
+                        throw new IOException("Redis error: " + error.message());
+                    }
+                    if (reply instanceof List<?> push && push.size() == 3 && "message".equals(text(push.get(0)))) {
+                        dispatch(text(push.get(2)));
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                if (closed) {
+                    return;
+                }
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String key) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(key);
+        }
+    }
+
+    private static String text(Object bulk) {
+        return bulk instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(bulk);
+    }
+}
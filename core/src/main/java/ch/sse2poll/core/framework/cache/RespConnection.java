@@ -0,0 +1,276 @@
+package ch.sse2poll.core.framework.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One shared RESP2 connection: concurrent commands are written back to back and replies are matched in send order.
+// Commands are only buffered when sent; a caller flushes before it waits for its reply, and that flush carries every
+// command buffered before it, so a burst still goes out in one write.
+public final class RespConnection implements AutoCloseable {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final String host;
+    private final int port;
+    private final String password;
+    private final Duration connectTimeout;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Link link;
+    private boolean closed;
+
+    public RespConnection(String host, int port, String password, Duration connectTimeout) {
+        this.host = Objects.requireNonNull(host, "host");
+        this.port = port;
+        this.password = password == null || password.isEmpty() ? null : password;
+        this.connectTimeout = Objects.requireNonNull(connectTimeout, "connectTimeout");
+    }
+
+    public CompletableFuture<Object> send(Object... args) {
+        return write(new Object[][]{args});
+    }
+
+    // MULTI, the commands and EXEC are written under one lock hold, so no other caller's command lands inside the
+    // transaction; the reply is EXEC's list of results
+    public CompletableFuture<Object> transaction(Object[]... commands) {
+        Object[][] framed = new Object[commands.length + 2][];
+        framed[0] = new Object[]{"MULTI"};
+        System.arraycopy(commands, 0, framed, 1, commands.length);
+        framed[framed.length - 1] = new Object[]{"EXEC"};
+        return write(framed);
+    }
+
+    public void flush() {
+        Link current = link;
+        if (current == null || !current.dirty) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (current.dirty && !current.broken) {
+                current.dirty = false;
+                current.out.flush();
+            }
+        } catch (IOException ex) {
+            current.fail(ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // the reply of the last command; earlier ones (MULTI, QUEUED) are matched and dropped
+    private CompletableFuture<Object> write(Object[][] commands) {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        writeLock.lock();
+        try {
+            Link current = open();
+            for (int i = 0; i < commands.length; i++) {
+                current.awaiting.add(i == commands.length - 1 ? reply : new CompletableFuture<>());
+            }
+            try {
+                for (Object[] command : commands) {
+                    writeCommand(current.out, command);
+                }
+                current.dirty = true;
+            } catch (IOException ex) {
+                current.fail(ex);
+            }
+        } catch (IOException ex) {
+            reply.completeExceptionally(new UncheckedIOException("Cannot connect to " + host + ":" + port, ex));
+        } finally {
+            writeLock.unlock();
+        }
+        return reply;
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            closed = true;
+            if (link != null) {
+                link.fail(new IOException("Connection closed"));
+                link = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Link open() throws IOException {
+        if (closed) {
+            throw new IOException("Connection closed");
+        }
+        if (link != null && !link.broken) {
+            return link;
+        }
+        Socket socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port), (int) Math.min(Integer.MAX_VALUE, connectTimeout.toMillis()));
+        Link fresh = new Link(socket);
+        if (password != null) {
+            authenticate(fresh);
+        }
+        Thread.ofVirtual().name("sse2poll-resp-" + host + ":" + port).start(fresh::readLoop);
+        link = fresh;
+        return fresh;
+    }
+
+    // Read on the connecting thread before the reply loop starts, so a rejected password fails the connect instead of
+    // surfacing as the error of whichever command happens to be first.
+    private void authenticate(Link fresh) throws IOException {
+        try {
+            fresh.socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, Math.max(1, connectTimeout.toMillis())));
+            writeCommand(fresh.out, "AUTH", password);
+            fresh.out.flush();
+            Object reply = readReply(fresh.in);
+            if (reply instanceof ErrorReply error) {
+                throw new IOException("Redis rejected AUTH: " + error.message());
+            }
+            fresh.socket.setSoTimeout(0);
+        } catch (IOException ex) {
+            fresh.socket.close();
+            throw ex;
+        }
+    }
+
+    static void writeCommand(OutputStream out, Object... args) throws IOException {
+        out.write('*');
+        out.write(ascii(args.length));
+        out.write(CRLF);
+        for (Object arg : args) {
+            byte[] bytes = arg instanceof byte[] raw ? raw : String.valueOf(arg).getBytes(StandardCharsets.UTF_8);
+            out.write('$');
+            out.write(ascii(bytes.length));
+            out.write(CRLF);
+            out.write(bytes);
+            out.write(CRLF);
+        }
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static Object readReply(InputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            throw new EOFException("Connection closed by server");
+        }
+        String line = readLine(in);
+        return switch (type) {
+            case '+' -> line;
+            case '-' -> new ErrorReply(line);
+            case ':' -> Long.parseLong(line);
+            case '$' -> {
+                int length = Integer.parseInt(line);
+                if (length < 0) {
+                    yield null;
+                }
+                byte[] bytes = in.readNBytes(length);
+                if (bytes.length < length || in.read() != '\r' || in.read() != '\n') {
+                    throw new EOFException("Truncated bulk reply");
+                }
+                yield bytes;
+            }
+            case '*' -> {
+                int count = Integer.parseInt(line);
+                if (count < 0) {
+                    yield null;
+                }
+                List<Object> items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    items.add(readReply(in));
+                }
+                yield items;
+            }
+            default -> throw new IOException("Unexpected RESP type '" + (char) type + "'");
+        };
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b < 0) {
+                throw new EOFException("Connection closed by server");
+            }
+            line.write(b);
+        }
+        if (in.read() != '\n') {
+            throw new IOException("Malformed RESP line");
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    record ErrorReply(String message) {
+    }
+
+    private final class Link {
+        private final Socket socket;
+        private final OutputStream out;
+        private final InputStream in;
+        private final Queue<CompletableFuture<Object>> awaiting = new ConcurrentLinkedQueue<>();
+        private volatile boolean broken;
+        private volatile boolean dirty;
+
+        private Link(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new BufferedOutputStream(socket.getOutputStream(), 16 * 1024);
+            this.in = new BufferedInputStream(socket.getInputStream(), 16 * 1024);
+        }
+
+        private void readLoop() {
+            try {
+                while (!broken) {
+                    Object reply = readReply(in);
+                    CompletableFuture<Object> caller = awaiting.poll();
+                    if (caller == null) {
+                        throw new IOException("Reply without a pending command");
+                    }
+                    if (reply instanceof ErrorReply error) {
+                        caller.completeExceptionally(new IllegalStateException("Redis error: " + error.message()));
+                    } else {
+                        caller.complete(reply);
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                fail(ex);
+            }
+        }
+
+        private void fail(Exception cause) {
+            broken = true;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already failing
+            }
+            writeLock.lock();
+            try {
+                CompletableFuture<Object> caller;
+                while ((caller = awaiting.poll()) != null) {
+                    caller.completeExceptionally(new IllegalStateException("Redis connection lost", cause));
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package ch.sse2poll.core.framework.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Append-only segment files with an in-memory key index; a sealed segment is deleted once none of its records is live.
+// Every store writes to its own subdirectory of the given one and holds a file lock on it while open, so instances
+// sharing a base directory never see each other's segments.
+public final class SegmentFileStore implements AutoCloseable {
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+    private static final String INSTANCE_PREFIX = "store-";
+    private static final String OWNER_LOCK = "owner.lock";
+    private static final String BASE_LOCK = ".lock";
+    // file locks are held per JVM, so stores of the same JVM also take turns on this monitor
+    private static final Object BASE_MONITOR = new Object();
+
+    private final Path directory;
+    private final FileChannel ownerChannel;
+    private final long segmentBytes;
+    private final Ticker ticker;
+    private final ConcurrentMap<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Segment> segments = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private Segment active;
+    private long nextSegmentId;
+
+    public SegmentFileStore(Path baseDirectory, long segmentBytes, Ticker ticker) {
+        Objects.requireNonNull(baseDirectory, "baseDirectory");
+        this.segmentBytes = Math.max(1024, segmentBytes);
+        this.ticker = Objects.requireNonNull(ticker, "ticker");
+        synchronized (BASE_MONITOR) {
+            try {
+                Files.createDirectories(baseDirectory);
+                try (FileChannel base = FileChannel.open(baseDirectory.resolve(BASE_LOCK), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE);
+                     FileLock ignored = base.lock()) {
+                    sweepAbandoned(baseDirectory);
+                    this.directory = Files.createTempDirectory(baseDirectory, INSTANCE_PREFIX);
+                    this.ownerChannel = FileChannel.open(directory.resolve(OWNER_LOCK), StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.WRITE);
+                    ownerChannel.lock();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot prepare spill directory under " + baseDirectory, ex);
+            }
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public void append(String key, byte[] payload, long ttlNanos) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long now = ticker.read();
+        long expiresAtNanos = now + Math.max(1L, ttlNanos);
+        if (expiresAtNanos < now) {
+            expiresAtNanos = Long.MAX_VALUE;
+        }
+        ByteBuffer record = ByteBuffer.allocate(4 + keyBytes.length + 8 + 4 + payload.length)
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .putLong(expiresAtNanos)
+                .putInt(payload.length)
+                .put(payload)
+                .flip();
+        Location location;
+        appendLock.lock();
+        try {
+            Segment segment = activeFor(record.remaining());
+            long position = segment.size;
+            while (record.hasRemaining()) {
+                position += segment.channel.write(record, position);
+            }
+            location = new Location(segment, segment.size + 4 + keyBytes.length + 8 + 4, payload.length, expiresAtNanos);
+            segment.size = position;
+            segment.live.incrementAndGet();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot append to spill segment", ex);
+        } finally {
+            appendLock.unlock();
+        }
+        Location previous = index.put(key, location);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    public Optional<byte[]> read(String key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+        if (expired(location)) {
+            if (index.remove(key, location)) {
+                release(location);
+            }
+            return Optional.empty();
+        }
+        return load(location);
+    }
+
+    public boolean contains(String key) {
+        Location location = index.get(key);
+        return location != null && !expired(location);
+    }
+
+    public Optional<byte[]> take(String key) {
+        Location location = index.remove(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+        try {
+            return expired(location) ? Optional.empty() : load(location);
+        } finally {
+            release(location);
+        }
+    }
+
+    public void remove(String key) {
+        Location location = index.remove(key);
+        if (location != null) {
+            release(location);
+        }
+    }
+
+    public int entries() {
+        return index.size();
+    }
+
+    public int segments() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.delete();
+            }
+            segments.clear();
+            index.clear();
+            active = null;
+            ownerChannel.close();
+            deleteTree(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete spill directory " + directory, ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // the index lives in memory, so a directory whose owner lock is free belongs to a store that is gone
+    private static void sweepAbandoned(Path baseDirectory) throws IOException {
+        try (DirectoryStream<Path> instances = Files.newDirectoryStream(baseDirectory, INSTANCE_PREFIX + "*")) {
+            for (Path instance : instances) {
+                if (Files.isDirectory(instance) && abandoned(instance.resolve(OWNER_LOCK))) {
+                    deleteTree(instance);
+                }
+            }
+        }
+    }
+
+    private static boolean abandoned(Path ownerLock) throws IOException {
+        if (!Files.exists(ownerLock)) {
+            // directory and lock are created under the base lock, so this owner died in between
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(ownerLock, StandardOpenOption.WRITE);
+             FileLock lock = channel.tryLock()) {
+            return lock != null;
+        } catch (OverlappingFileLockException ex) {
+            return false;
+        }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Segment activeFor(int recordBytes) throws IOException {
+        if (active != null && (active.size == 0 || active.size + recordBytes <= segmentBytes)) {
+            return active;
+        }
+        if (active != null) {
+            active.sealed = true;
+            if (active.live.get() == 0) {
+                retire(active);
+            }
+            dropExpired();
+        }
+        long id = nextSegmentId++;
+        Path path = directory.resolve(PREFIX + id + SUFFIX);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        active = new Segment(id, path, channel);
+        segments.put(id, active);
+        return active;
+    }
+
+    private void dropExpired() {
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (expired(entry.getValue()) && index.remove(entry.getKey(), entry.getValue())) {
+                release(entry.getValue());
+            }
+        }
+    }
+
+    private Optional<byte[]> load(Location location) {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        long position = location.offset();
+        try {
+            while (buffer.hasRemaining()) {
+                int read = location.segment().channel.read(buffer, position);
+                if (read < 0) {
+                    return Optional.empty();
+                }
+                position += read;
+            }
+        } catch (ClosedChannelException ex) {
+            // segment reclaimed by a concurrent take
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read spill segment", ex);
+        }
+        return Optional.of(buffer.array());
+    }
+
+    private boolean expired(Location location) {
+        return ticker.read() - location.expiresAtNanos() >= 0;
+    }
+
+    private void release(Location location) {
+        Segment segment = location.segment();
+        if (segment.live.decrementAndGet() == 0 && segment.sealed) {
+            retire(segment);
+        }
+    }
+
+    private void retire(Segment segment) {
+        if (segments.remove(segment.id, segment)) {
+            segment.delete();
+        }
+    }
+
+    private record Location(Segment segment, long offset, int length, long expiresAtNanos) {
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicInteger live = new AtomicInteger();
+        private volatile boolean sealed;
+        private long size;
+
+        private Segment(long id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot delete spill segment " + path, ex);
+            }
+        }
+    }
+}
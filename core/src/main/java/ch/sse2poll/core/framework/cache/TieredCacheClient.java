@@ -0,0 +1,176 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.engine.port.outgoing.CacheClient;
+import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Partial;
+import ch.sse2poll.core.entities.model.Progress;
+import ch.sse2poll.core.entities.model.Ready;
+import ch.sse2poll.core.framework.cache.CaffeineCacheClient.StoredEnvelope;
+import ch.sse2poll.core.framework.cache.codec.PayloadCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class TieredCacheClient implements CacheClient, AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 5L;
+
+    private final Cache<String, StoredEnvelope> hot;
+    // evicted results on their way to disk; reads keep finding them here until the write lands
+    private final ConcurrentMap<String, StoredEnvelope> spilling = new ConcurrentHashMap<>();
+    private final Executor spillExecutor;
+    private final SegmentFileStore disk;
+    private final PayloadCodec codec;
+    private final Ticker ticker;
+    private final int spillAboveBytes;
+
+    public TieredCacheClient(long maximumHotEntries, SegmentFileStore disk, PayloadCodec codec, int spillAboveBytes,
+                             Ticker ticker) {
+        this(maximumHotEntries, disk, codec, spillAboveBytes, ticker,
+                Executors.newSingleThreadExecutor(Thread.ofVirtual().name("sse2poll-spill").factory()));
+    }
+
+    // eviction runs on the writing thread, so spills are handed to the executor instead of blocking that write
+    TieredCacheClient(long maximumHotEntries, SegmentFileStore disk, PayloadCodec codec, int spillAboveBytes,
+                      Ticker ticker, Executor spillExecutor) {
+        this.disk = Objects.requireNonNull(disk, "disk");
+        this.spillExecutor = Objects.requireNonNull(spillExecutor, "spillExecutor");
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.ticker = Objects.requireNonNull(ticker, "ticker");
+        this.spillAboveBytes = spillAboveBytes;
+        this.hot = Caffeine.newBuilder()
+                .maximumSize(Math.max(1L, maximumHotEntries))
+                .ticker(ticker)
+                .expireAfter(new CaffeineCacheClient.StoredEnvelopeExpiry())
+                .evictionListener((String key, StoredEnvelope stored, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && stored != null && stored.envelope() instanceof Ready<?>) {
+                        spilling.put(key, stored);
+                        spillExecutor.execute(() -> spill(key, stored));
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Optional<Envelope> read(String key, Class<?> bodyType) {
+        StoredEnvelope stored = hot.getIfPresent(key);
+        if (stored == null) {
+            stored = spilling.get(key);
+        }
+        if (stored != null) {
+            return Optional.of(stored.envelope());
+        }
+        return disk.read(key).map(bytes -> new Ready<>(codec.decode(bytes, bodyType)));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return hot.getIfPresent(key) != null || spilling.containsKey(key) || disk.contains(key);
+    }
+
+    @Override
+    public void writePending(String key, String jobId, Duration ttl) {
+        dropCold(key);
+        hot.put(key, StoredEnvelope.pending(jobId, ticker.read(), ttl));
+    }
+
+    @Override
+    public void writePartial(String key, Partial partial, Duration ttl) {
+        dropCold(key);
+        hot.put(key, StoredEnvelope.partial(partial, ticker.read(), ttl));
+    }
+
+    @Override
+    public void updateProgress(String key, Progress progress, Duration ttl) {
+        hot.asMap().computeIfPresent(key, (k, stored) -> stored.withProgress(progress));
+    }
+
+    @Override
+    public <T> void writeReady(String key, T payload, Duration ttl) {
+        if (spillAboveBytes > 0) {
+            byte[] bytes = codec.encode(payload);
+            if (bytes.length >= spillAboveBytes) {
+                hot.invalidate(key);
+                spilling.remove(key);
+                disk.append(key, bytes, ttlNanos(ttl));
+                return;
+            }
+        }
+        dropCold(key);
+        hot.put(key, StoredEnvelope.ready(payload, ticker.read(), ttl));
+    }
+
+    @Override
+    public void writeFailed(String key, Failed failure, Duration ttl) {
+        dropCold(key);
+        hot.put(key, StoredEnvelope.failed(failure, ticker.read(), ttl));
+    }
+
+    @Override
+    public void delete(String key) {
+        hot.invalidate(key);
+        dropCold(key);
+    }
+
+    @Override
+    public Optional<Envelope> consume(String key, Class<?> bodyType) {
+        StoredEnvelope stored = hot.asMap().remove(key);
+        if (stored == null) {
+            stored = spilling.remove(key);
+        }
+        if (stored != null) {
+            return Optional.of(stored.envelope());
+        }
+        return disk.take(key).map(bytes -> new Ready<>(codec.decode(bytes, bodyType)));
+    }
+
+    @Override
+    public void close() {
+        if (spillExecutor instanceof ExecutorService service) {
+            service.shutdown();
+            try {
+                service.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        disk.close();
+    }
+
+    void cleanUp() {
+        hot.cleanUp();
+    }
+
+    // appends under the key's map entry, so a write or consume that got there first cancels it and one that comes
+    // later waits for the record to land
+    private void spill(String key, StoredEnvelope stored) {
+        spilling.computeIfPresent(key, (k, current) -> {
+            long remainingNanos = stored.expiresInNanos(ticker.read());
+            if (current == stored && remainingNanos > 0) {
+                disk.append(key, codec.encode(((Ready<?>) stored.envelope()).payload()), remainingNanos);
+            }
+            return current == stored ? null : current;
+        });
+    }
+
+    private void dropCold(String key) {
+        spilling.remove(key);
+        disk.remove(key);
+    }
+
+    private long ttlNanos(Duration ttl) {
+        return StoredEnvelope.expiresAt(0, ttl);
+    }
+}
@@ -0,0 +1,404 @@
+package ch.sse2poll.core.framework.cache.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Tagged binary layout without field names; records are written positionally and rebuilt from the requested type.
+// A record whose declared type does not pin its class (the payload itself, Object or raw collection elements, an
+// interface) is preceded by its class name, written once per payload and referenced by position after that.
+public final class CompactBinaryCodec implements PayloadCodec {
+
+    private static final int NULL = 0;
+    private static final int FALSE = 1;
+    private static final int TRUE = 2;
+    private static final int INT = 3;
+    private static final int LONG = 4;
+    private static final int DOUBLE = 5;
+    private static final int FLOAT = 6;
+    private static final int SHORT = 7;
+    private static final int BYTE = 8;
+    private static final int CHAR = 9;
+    private static final int STRING = 10;
+    private static final int BYTES = 11;
+    private static final int BIG_INTEGER = 12;
+    private static final int BIG_DECIMAL = 13;
+    private static final int UUID_TAG = 14;
+    private static final int INSTANT = 15;
+    private static final int ENUM = 16;
+    private static final int LIST = 17;
+    private static final int SET = 18;
+    private static final int MAP = 19;
+    private static final int RECORD = 20;
+
+    private final ConcurrentMap<Class<?>, RecordShape> shapes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Class<?>> named = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] encode(Object payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, payload, Object.class, true, new ArrayList<>());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot encode payload", ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) wrap(type).cast(read(in, type, true, new ArrayList<>()));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot decode payload as " + type.getName(), ex);
+        }
+    }
+
+    private void write(DataOutputStream out, Object value, Type declared, List<Class<?>> written) throws IOException {
+        write(out, value, declared, !raw(declared).isRecord(), written);
+    }
+
+    private void write(DataOutputStream out, Object value, Type declared, boolean named, List<Class<?>> written)
+            throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case Boolean b -> out.writeByte(b ? TRUE : FALSE);
+            case Integer i -> {
+                out.writeByte(INT);
+                writeVarLong(out, i);
+            }
+            case Long l -> {
+                out.writeByte(LONG);
+                writeVarLong(out, l);
+            }
+            case Double d -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(d);
+            }
+            case Float f -> {
+                out.writeByte(FLOAT);
+                out.writeFloat(f);
+            }
+            case Short s -> {
+                out.writeByte(SHORT);
+                out.writeShort(s);
+            }
+            case Byte b -> {
+                out.writeByte(BYTE);
+                out.writeByte(b);
+            }
+            case Character c -> {
+                out.writeByte(CHAR);
+                out.writeChar(c);
+            }
+            case String s -> {
+                out.writeByte(STRING);
+                writeString(out, s);
+            }
+            case byte[] raw -> {
+                out.writeByte(BYTES);
+                writeVarLong(out, raw.length);
+                out.write(raw);
+            }
+            case BigInteger big -> {
+                out.writeByte(BIG_INTEGER);
+                byte[] raw = big.toByteArray();
+                writeVarLong(out, raw.length);
+                out.write(raw);
+            }
+            case BigDecimal big -> {
+                out.writeByte(BIG_DECIMAL);
+                writeString(out, big.toString());
+            }
+            case UUID uuid -> {
+                out.writeByte(UUID_TAG);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            }
+            case Instant instant -> {
+                out.writeByte(INSTANT);
+                writeVarLong(out, instant.getEpochSecond());
+                writeVarLong(out, instant.getNano());
+            }
+            case Enum<?> constant -> {
+                out.writeByte(ENUM);
+                writeString(out, constant.name());
+            }
+            case Collection<?> items -> {
+                out.writeByte(items instanceof Set<?> ? SET : LIST);
+                writeVarLong(out, items.size());
+                Type element = typeArgument(declared, 0);
+                for (Object item : items) {
+                    write(out, item, element, written);
+                }
+            }
+            case Map<?, ?> entries -> {
+                out.writeByte(MAP);
+                writeVarLong(out, entries.size());
+                Type keyType = typeArgument(declared, 0);
+                Type valueType = typeArgument(declared, 1);
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    write(out, entry.getKey(), keyType, written);
+                    write(out, entry.getValue(), valueType, written);
+                }
+            }
+            case Record record -> {
+                RecordShape shape = shape(record.getClass());
+                out.writeByte(RECORD);
+                if (named) {
+                    int seen = written.indexOf(record.getClass());
+                    if (seen < 0) {
+                        writeVarLong(out, 0);
+                        writeString(out, record.getClass().getName());
+                        written.add(record.getClass());
+                    } else {
+                        writeVarLong(out, seen + 1);
+                    }
+                }
+                writeVarLong(out, shape.components().length);
+                for (RecordComponent component : shape.components()) {
+                    write(out, invoke(component, record), component.getGenericType(), written);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unsupported payload type for compact codec: "
+                    + value.getClass().getName());
+        }
+    }
+
+    private Object read(DataInputStream in, Type target, List<String> names) throws IOException {
+        return read(in, target, !raw(target).isRecord(), names);
+    }
+
+    private Object read(DataInputStream in, Type target, boolean named, List<String> names) throws IOException {
+        int tag = in.readUnsignedByte();
+        return switch (tag) {
+            case NULL -> null;
+            case FALSE -> false;
+            case TRUE -> true;
+            case INT -> (int) readVarLong(in);
+            case LONG -> readVarLong(in);
+            case DOUBLE -> in.readDouble();
+            case FLOAT -> in.readFloat();
+            case SHORT -> in.readShort();
+            case BYTE -> in.readByte();
+            case CHAR -> in.readChar();
+            case STRING -> readString(in);
+            case BYTES -> in.readNBytes((int) readVarLong(in));
+            case BIG_INTEGER -> new BigInteger(in.readNBytes((int) readVarLong(in)));
+            case BIG_DECIMAL -> new BigDecimal(readString(in));
+            case UUID_TAG -> new UUID(in.readLong(), in.readLong());
+            case INSTANT -> Instant.ofEpochSecond(readVarLong(in), readVarLong(in));
+            case ENUM -> readEnum(readString(in), target);
+            case LIST, SET -> {
+                int size = (int) readVarLong(in);
+                Type element = typeArgument(target, 0);
+                Collection<Object> items = tag == SET || Set.class.isAssignableFrom(raw(target))
+                        ? new LinkedHashSet<>(size * 2)
+                        : new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    items.add(read(in, element, names));
+                }
+                yield items;
+            }
+            case MAP -> {
+                int size = (int) readVarLong(in);
+                Type keyType = typeArgument(target, 0);
+                Type valueType = typeArgument(target, 1);
+                Map<Object, Object> entries = new LinkedHashMap<>(size * 2);
+                for (int i = 0; i < size; i++) {
+                    entries.put(read(in, keyType, names), read(in, valueType, names));
+                }
+                yield entries;
+            }
+            case RECORD -> readRecord(in, raw(target), named, names);
+            default -> throw new IOException("Unknown compact codec tag " + tag);
+        };
+    }
+
+    private Object readRecord(DataInputStream in, Class<?> target, boolean named, List<String> names)
+            throws IOException {
+        String name = named ? readName(in, names) : null;
+        // a record target keeps deciding the shape, so payloads survive a record being moved or renamed
+        Class<?> type = target.isRecord() ? target : named(name);
+        RecordShape shape = shape(type);
+        int count = (int) readVarLong(in);
+        if (count != shape.components().length) {
+            throw new IOException("Stored " + type.getName() + " has " + count + " components, expected "
+                    + shape.components().length);
+        }
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = read(in, shape.components()[i].getGenericType(), names);
+        }
+        try {
+            return shape.constructor().newInstance(values);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Cannot rebuild " + type.getName(), ex);
+        }
+    }
+
+    private static String readName(DataInputStream in, List<String> names) throws IOException {
+        int ref = (int) readVarLong(in);
+        if (ref == 0) {
+            String name = readString(in);
+            names.add(name);
+            return name;
+        }
+        if (ref > names.size()) {
+            throw new IOException("Unknown record reference " + ref);
+        }
+        return names.get(ref - 1);
+    }
+
+    private Class<?> named(String name) throws IOException {
+        Class<?> type = named.get(name);
+        if (type != null) {
+            return type;
+        }
+        type = load(name, Thread.currentThread().getContextClassLoader());
+        if (type == null) {
+            type = load(name, CompactBinaryCodec.class.getClassLoader());
+        }
+        if (type == null || !type.isRecord()) {
+            throw new IOException("Stored record type " + name + " is not a record on this classpath");
+        }
+        named.putIfAbsent(name, type);
+        return type;
+    }
+
+    private static Class<?> load(String name, ClassLoader loader) {
+        if (loader == null) {
+            return null;
+        }
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readEnum(String name, Type target) {
+        Class<?> type = raw(target);
+        if (!type.isEnum()) {
+            return name;
+        }
+        return Enum.valueOf((Class<? extends Enum>) type, name);
+    }
+
+    private RecordShape shape(Class<?> type) {
+        return shapes.computeIfAbsent(type, recordType -> {
+            RecordComponent[] components = recordType.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                parameterTypes[i] = components[i].getType();
+                components[i].getAccessor().setAccessible(true);
+            }
+            try {
+                Constructor<?> constructor = recordType.getDeclaredConstructor(parameterTypes);
+                constructor.setAccessible(true);
+                return new RecordShape(components, constructor);
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalStateException("No canonical constructor on " + recordType.getName(), ex);
+            }
+        });
+    }
+
+    private static Object invoke(RecordComponent component, Record record) {
+        try {
+            return component.getAccessor().invoke(record);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Cannot read " + component.getName() + " of " + record.getClass().getName(), ex);
+        }
+    }
+
+    private static Class<?> raw(Type type) {
+        if (type instanceof Class<?> c) {
+            return c;
+        }
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> c) {
+            return c;
+        }
+        return Object.class;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getActualTypeArguments().length > index) {
+            return parameterized.getActualTypeArguments()[index];
+        }
+        return Object.class;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return switch (type.getName()) {
+            case "boolean" -> Boolean.class;
+            case "int" -> Integer.class;
+            case "long" -> Long.class;
+            case "double" -> Double.class;
+            case "float" -> Float.class;
+            case "short" -> Short.class;
+            case "byte" -> Byte.class;
+            case "char" -> Character.class;
+            default -> Void.class;
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes((int) readVarLong(in)), StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private record RecordShape(RecordComponent[] components, Constructor<?> constructor) {
+    }
+}
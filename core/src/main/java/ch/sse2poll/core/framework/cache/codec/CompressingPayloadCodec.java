@@ -0,0 +1,101 @@
+package ch.sse2poll.core.framework.cache.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public final class CompressingPayloadCodec implements PayloadCodec {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private final PayloadCodec delegate;
+    private final int thresholdBytes;
+
+    public CompressingPayloadCodec(PayloadCodec delegate, int thresholdBytes) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.thresholdBytes = Math.max(0, thresholdBytes);
+    }
+
+    @Override
+    public byte[] encode(Object payload) {
+        byte[] plain = delegate.encode(payload);
+        if (plain.length >= thresholdBytes) {
+            byte[] deflated = deflate(plain);
+            // small or already dense bodies can grow; keep whichever is smaller
+            if (deflated.length < plain.length) {
+                return deflated;
+            }
+        }
+        byte[] framed = new byte[plain.length + 1];
+        framed[0] = RAW;
+        System.arraycopy(plain, 0, framed, 1, plain.length);
+        return framed;
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes.length == 0) {
+            throw new IllegalStateException("Empty compressed payload");
+        }
+        byte[] plain = switch (bytes[0]) {
+            case RAW -> Arrays.copyOfRange(bytes, 1, bytes.length);
+            case DEFLATED -> inflate(bytes);
+            default -> throw new IllegalStateException("Unknown compression marker " + bytes[0]);
+        };
+        return delegate.decode(plain, type);
+    }
+
+    private static byte[] deflate(byte[] plain) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 2 + 16);
+            out.write(DEFLATED);
+            writeInt(out, plain.length);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] framed) {
+        int length = ((framed[1] & 0xFF) << 24) | ((framed[2] & 0xFF) << 16) | ((framed[3] & 0xFF) << 8) | (framed[4] & 0xFF);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(framed, 5, framed.length - 5);
+            byte[] plain = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(plain, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("Truncated compressed payload");
+            }
+            return plain;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt compressed payload", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
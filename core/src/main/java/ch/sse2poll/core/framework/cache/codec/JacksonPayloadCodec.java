@@ -0,0 +1,70 @@
+package ch.sse2poll.core.framework.cache.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+
+public final class JacksonPayloadCodec implements PayloadCodec {
+
+    private final ObjectMapper mapper;
+
+    public JacksonPayloadCodec(ObjectMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+    }
+
+    public static JacksonPayloadCodec json() {
+        return new JacksonPayloadCodec(configure(new ObjectMapper()));
+    }
+
+    // needs jackson-dataformat-cbor on the classpath
+    public static JacksonPayloadCodec cbor() {
+        return new JacksonPayloadCodec(configure(CborFormat.mapper()));
+    }
+
+    // needs jackson-dataformat-smile on the classpath
+    public static JacksonPayloadCodec smile() {
+        return new JacksonPayloadCodec(configure(SmileFormat.mapper()));
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.findAndRegisterModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public byte[] encode(Object payload) {
+        try {
+            return mapper.writeValueAsBytes(payload);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Cannot encode payload of type "
+                    + (payload == null ? "null" : payload.getClass().getName()), ex);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        try {
+            return mapper.readValue(bytes, type);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot decode payload as " + type.getName(), ex);
+        }
+    }
+
+    // the optional factories live in their own classes: verifying a method that hands one to ObjectMapper loads it,
+    // so referencing them here would break json-only applications
+    private static final class CborFormat {
+        static ObjectMapper mapper() {
+            return new ObjectMapper(new CBORFactory());
+        }
+    }
+
+    private static final class SmileFormat {
+        static ObjectMapper mapper() {
+            return new ObjectMapper(new SmileFactory());
+        }
+    }
+}
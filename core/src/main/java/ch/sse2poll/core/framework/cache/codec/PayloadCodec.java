@@ -0,0 +1,8 @@
+package ch.sse2poll.core.framework.cache.codec;
+
+public interface PayloadCodec {
+
+    byte[] encode(Object payload);
+
+    <T> T decode(byte[] bytes, Class<T> type);
+}
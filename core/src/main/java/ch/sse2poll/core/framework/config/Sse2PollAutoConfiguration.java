@@ -3,24 +3,88 @@ package ch.sse2poll.core.framework.config;
 import ch.sse2poll.core.engine.CacheBackedPollCoordinator;
 import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
 import ch.sse2poll.core.engine.port.outgoing.CacheClient;
+import ch.sse2poll.core.engine.port.outgoing.CompletionBus;
+import ch.sse2poll.core.engine.port.outgoing.PollMetrics;
+import ch.sse2poll.core.engine.port.outgoing.ResultCache;
+import ch.sse2poll.core.engine.support.implementation.BoundedAsyncRunner;
 import ch.sse2poll.core.engine.support.implementation.DefaultKeyFactory;
-import ch.sse2poll.core.engine.support.implementation.PollingReadyAwaiter;
+import ch.sse2poll.core.engine.support.implementation.FixedConcurrencyLimit;
+import ch.sse2poll.core.engine.support.implementation.GenericFailureTranslator;
+import ch.sse2poll.core.engine.support.implementation.GradientConcurrencyLimit;
+import ch.sse2poll.core.engine.support.implementation.HistogramCompletionTimeModel;
+import ch.sse2poll.core.engine.support.implementation.SignalingReadyAwaiter;
 import ch.sse2poll.core.engine.support.implementation.UuidIdGenerator;
 import ch.sse2poll.core.engine.support.implementation.VirtualThreadAsyncRunner;
 import ch.sse2poll.core.engine.support.interfaces.AsyncRunner;
+import ch.sse2poll.core.engine.support.interfaces.BodyEncoder;
+import ch.sse2poll.core.engine.support.interfaces.CompletionTimeModel;
+import ch.sse2poll.core.engine.support.interfaces.ConcurrencyLimit;
+import ch.sse2poll.core.engine.support.interfaces.FailureTranslator;
 import ch.sse2poll.core.engine.support.interfaces.IdGenerator;
 import ch.sse2poll.core.engine.support.interfaces.KeyFactory;
 import ch.sse2poll.core.engine.support.interfaces.ReadyAwaiter;
+import ch.sse2poll.core.entities.model.Retention;
 import ch.sse2poll.core.framework.cache.CaffeineCacheClient;
+import ch.sse2poll.core.framework.cache.CaffeineResultCache;
+import ch.sse2poll.core.framework.cache.InJvmCompletionBus;
+import ch.sse2poll.core.framework.cache.OffHeapCacheClient;
+import ch.sse2poll.core.framework.cache.PartitionedCacheClient;
+import ch.sse2poll.core.framework.cache.RedisCacheClient;
+import ch.sse2poll.core.framework.cache.RedisCompletionBus;
+import ch.sse2poll.core.framework.cache.SegmentFileStore;
+import ch.sse2poll.core.framework.cache.TieredCacheClient;
+import ch.sse2poll.core.framework.cache.codec.CompactBinaryCodec;
+import ch.sse2poll.core.framework.cache.codec.CompressingPayloadCodec;
+import ch.sse2poll.core.framework.cache.codec.JacksonPayloadCodec;
+import ch.sse2poll.core.framework.cache.codec.PayloadCodec;
+import ch.sse2poll.core.framework.metrics.MicrometerPollMetrics;
+import ch.sse2poll.core.framework.web.JacksonBodyEncoder;
+import ch.sse2poll.core.framework.web.JobContextArgumentResolver;
+import ch.sse2poll.core.framework.web.PollBatchController;
 import ch.sse2poll.core.framework.web.PolledExceptionHandler;
+import ch.sse2poll.core.framework.web.PolledResultHandler;
+import ch.sse2poll.core.framework.web.PolledReturnValueHandler;
+import ch.sse2poll.core.framework.web.ReactiveJobContextArgumentResolver;
+import ch.sse2poll.core.framework.web.ResponseStatusFailureTranslator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 
 @Configuration
 @Import(PolledExceptionHandler.class)
 public class Sse2PollAutoConfiguration {
 
+    private static final String SERVLET_DISPATCHER = "org.springframework.web.servlet.DispatcherServlet";
+    private static final String REACTIVE_DISPATCHER = "org.springframework.web.reactive.DispatcherHandler";
+
     @Bean
     public IdGenerator pollCoordinatorIdGenerator() {
         return new UuidIdGenerator();
@@ -32,18 +96,113 @@ public class Sse2PollAutoConfiguration {
     }
 
     @Bean
-    public ReadyAwaiter pollCoordinatorReadyAwaiter() {
-        return new PollingReadyAwaiter();
+    public CompletionBus pollCoordinatorCompletionBus(
+            @Value("${sse2poll.cache.type:caffeine}") String type,
+            @Value("${sse2poll.cache.redis.host:localhost}") String redisHost,
+            @Value("${sse2poll.cache.redis.port:6379}") int redisPort,
+            @Value("${sse2poll.cache.redis.password:}") String redisPassword,
+            @Value("${sse2poll.cache.redis.timeout-ms:2000}") long redisTimeoutMs,
+            @Value("${sse2poll.cache.redis.channel:sse2poll:ready}") String redisChannel) {
+        return switch (type.trim().toLowerCase(Locale.ROOT)) {
+            case "caffeine", "offheap", "tiered" -> new InJvmCompletionBus();
+            case "redis" -> new RedisCompletionBus(redisHost, redisPort, redisPassword,
+                    Duration.ofMillis(redisTimeoutMs), redisChannel);
+            default -> throw new IllegalArgumentException("Unsupported sse2poll.cache.type: " + type);
+        };
+    }
+
+    @Bean
+    public ReadyAwaiter pollCoordinatorReadyAwaiter(CompletionBus completionBus) {
+        return new SignalingReadyAwaiter(completionBus);
+    }
+
+    // unbounded unless max-in-flight is set, so kickoffs accepted before the bulkhead existed are not turned into 503s
+    @Bean
+    public AsyncRunner pollCoordinatorAsyncRunner(
+            @Value("${sse2poll.async.max-in-flight:0}") int maxInFlight,
+            @Value("${sse2poll.async.max-queued:1024}") int maxQueued,
+            @Value("${sse2poll.async.adaptive:false}") boolean adaptive) {
+        if (maxInFlight <= 0) {
+            if (adaptive) {
+                throw new IllegalStateException("sse2poll.async.adaptive needs sse2poll.async.max-in-flight as its cap");
+            }
+            return new VirtualThreadAsyncRunner();
+        }
+        Function<String, ConcurrencyLimit> limits = adaptive
+                ? namespace -> new GradientConcurrencyLimit(Math.min(20, maxInFlight), 1, maxInFlight)
+                : namespace -> new FixedConcurrencyLimit(maxInFlight);
+        return new BoundedAsyncRunner(new VirtualThreadAsyncRunner(), limits, maxQueued);
+    }
+
+    @Bean
+    public PayloadCodec pollCoordinatorPayloadCodec(
+            @Value("${sse2poll.cache.codec:json}") String codec,
+            @Value("${sse2poll.cache.compress-above-bytes:1024}") int compressAboveBytes) {
+        PayloadCodec base = switch (codec.trim().toLowerCase(Locale.ROOT)) {
+            case "json" -> JacksonPayloadCodec.json();
+            case "cbor" -> JacksonPayloadCodec.cbor();
+            case "smile" -> JacksonPayloadCodec.smile();
+            case "compact" -> new CompactBinaryCodec();
+            default -> throw new IllegalArgumentException("Unsupported sse2poll.cache.codec: " + codec);
+        };
+        return compressAboveBytes > 0 ? new CompressingPayloadCodec(base, compressAboveBytes) : base;
+    }
+
+    @Bean
+    public CacheClient pollCoordinatorCacheClient(
+            PayloadCodec payloadCodec,
+            Environment environment,
+            @Value("${sse2poll.cache.type:caffeine}") String type,
+            @Value("${sse2poll.cache.max-bytes:0}") long maxBytes,
+            @Value("${sse2poll.cache.redis.host:localhost}") String redisHost,
+            @Value("${sse2poll.cache.redis.port:6379}") int redisPort,
+            @Value("${sse2poll.cache.redis.password:}") String redisPassword,
+            @Value("${sse2poll.cache.redis.timeout-ms:2000}") long redisTimeoutMs,
+            @Value("${sse2poll.cache.offheap.max-bytes:268435456}") long offHeapMaxBytes,
+            @Value("${sse2poll.cache.tiered.directory:${java.io.tmpdir}/sse2poll-spill}") String spillDirectory,
+            @Value("${sse2poll.cache.tiered.segment-bytes:67108864}") long spillSegmentBytes,
+            @Value("${sse2poll.cache.tiered.spill-above-bytes:1048576}") int spillAboveBytes) {
+        // only Caffeine is partitioned; the coordinator refuses endpoints naming a partition on the other stores
+        return switch (type.trim().toLowerCase(Locale.ROOT)) {
+            case "caffeine" -> new PartitionedCacheClient(caffeine(maxBytes, 10_000),
+                    name -> caffeine(
+                            environment.getProperty("sse2poll.cache.partitions." + name + ".max-bytes", Long.class, 0L),
+                            environment.getProperty("sse2poll.cache.partitions." + name + ".max-entries", Long.class,
+                                    10_000L)));
+            case "tiered" -> new TieredCacheClient(10_000,
+                    new SegmentFileStore(Path.of(spillDirectory), spillSegmentBytes, Ticker.systemTicker()),
+                    payloadCodec, spillAboveBytes, Ticker.systemTicker());
+            case "offheap" -> new OffHeapCacheClient(10_000, offHeapMaxBytes, payloadCodec);
+            case "redis" -> new RedisCacheClient(redisHost, redisPort, redisPassword, Duration.ofMillis(redisTimeoutMs),
+                    payloadCodec);
+            default -> throw new IllegalArgumentException("Unsupported sse2poll.cache.type: " + type);
+        };
+    }
+
+    private static CaffeineCacheClient caffeine(long maxBytes, long maxEntries) {
+        return maxBytes > 0 ? CaffeineCacheClient.weighted(maxBytes) : new CaffeineCacheClient(maxEntries);
+    }
+
+    @Bean
+    public ResultCache caffeineResultCache() {
+        return new CaffeineResultCache(10_000);
+    }
+
+    @Bean
+    public FailureTranslator pollCoordinatorFailureTranslator() {
+        return new ResponseStatusFailureTranslator(new GenericFailureTranslator());
     }
 
     @Bean
-    public AsyncRunner pollCoordinatorAsyncRunner() {
-        return new VirtualThreadAsyncRunner();
+    public BodyEncoder pollCoordinatorBodyEncoder(ObjectProvider<ObjectMapper> objectMapper) {
+        // reuse the application's mapper so pre-encoded bodies match what the converters would write
+        return new JacksonBodyEncoder(objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build()));
     }
 
     @Bean
-    public CacheClient caffeineCacheClient() {
-        return new CaffeineCacheClient(10_000);
+    public CompletionTimeModel pollCoordinatorCompletionTimes(
+            @Value("${sse2poll.poll.max-suggested-wait-ms:30000}") long maxSuggestedWaitMs) {
+        return new HistogramCompletionTimeModel(Duration.ofMillis(maxSuggestedWaitMs));
     }
 
     @Bean
@@ -51,7 +210,143 @@ public class Sse2PollAutoConfiguration {
                                                       IdGenerator idGenerator,
                                                       KeyFactory keyFactory,
                                                       ReadyAwaiter readyAwaiter,
-                                                      AsyncRunner asyncRunner) {
-        return new CacheBackedPollCoordinator(cacheClient, idGenerator, keyFactory, readyAwaiter, asyncRunner);
+                                                      AsyncRunner asyncRunner,
+                                                      ResultCache resultCache,
+                                                      FailureTranslator failureTranslator,
+                                                      BodyEncoder bodyEncoder,
+                                                      CompletionTimeModel completionTimes,
+                                                      ObjectProvider<PollMetrics> metrics,
+                                                      @Value("${sse2poll.poll.retain-consumed-ms:0}") long retainConsumedMs,
+                                                      @Value("${sse2poll.poll.retain-consumed-reads:0}") int retainConsumedReads) {
+        return new CacheBackedPollCoordinator(cacheClient, idGenerator, keyFactory, readyAwaiter, asyncRunner,
+                CacheBackedPollCoordinator.Options.defaults()
+                        .withResultCache(resultCache)
+                        .withFailureTranslator(failureTranslator)
+                        .withBodyEncoder(bodyEncoder)
+                        .withCompletionTimes(completionTimes)
+                        .withMetrics(metrics.getIfAvailable(() -> PollMetrics.NONE))
+                        .withRetention(new Retention(Duration.ofMillis(retainConsumedMs), retainConsumedReads)));
+    }
+
+    // servlet and reactive stacks each get their own web glue; neither configuration is parsed without its stack
+    @Configuration
+    @Conditional(ServletWebPresent.class)
+    static class ServletWebConfiguration {
+
+        @Bean
+        public WebMvcConfigurer pollCoordinatorWebMvcConfigurer() {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+                    resolvers.add(new JobContextArgumentResolver());
+                }
+            };
+        }
+
+        // lets polled methods answer with a DeferredResult or a ResponseEntity whatever they declare
+        @Bean
+        public static BeanPostProcessor pollCoordinatorReturnValueHandler() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof RequestMappingHandlerAdapter adapter) {
+                        PolledReturnValueHandler.install(adapter);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @Bean
+        @Conditional(BatchEnabled.class)
+        public PollBatchController pollCoordinatorBatchController(PollCoordinator pollCoordinator,
+                                                                  @Value("${sse2poll.batch.max-jobs:100}") int maxJobs) {
+            return new PollBatchController(pollCoordinator, maxJobs);
+        }
+    }
+
+    @Configuration
+    @Conditional(ReactiveWebPresent.class)
+    static class ReactiveWebConfiguration {
+
+        @Bean
+        public WebFluxConfigurer pollCoordinatorWebFluxConfigurer() {
+            return new WebFluxConfigurer() {
+                @Override
+                public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+                    configurer.addCustomResolver(new ReactiveJobContextArgumentResolver());
+                }
+            };
+        }
+
+        // puts the exchange into the Reactor context, where ReactivePolledGetAspect reads job and waitMs from
+        @Bean
+        public ServerWebExchangeContextFilter pollCoordinatorExchangeContextFilter() {
+            return new ServerWebExchangeContextFilter();
+        }
+
+        @Bean
+        public PolledResultHandler pollCoordinatorResultHandler(ServerCodecConfigurer serverCodecConfigurer,
+                                                                RequestedContentTypeResolver contentTypeResolver) {
+            return new PolledResultHandler(serverCodecConfigurer.getWriters(), contentTypeResolver);
+        }
+    }
+
+    // only parsed when Micrometer is on the classpath; without a registry bean the coordinator stays unmetered
+    @Configuration
+    @Conditional(MicrometerPresent.class)
+    static class MicrometerMetricsConfiguration {
+
+        @Bean
+        public PollMetrics pollCoordinatorMetrics(ObjectProvider<MeterRegistry> registry, CacheClient cacheClient) {
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+            if (meterRegistry == null) {
+                return PollMetrics.NONE;
+            }
+            if (cacheClient instanceof PartitionedCacheClient partitioned) {
+                monitor(meterRegistry, partitioned.shared(), "sse2poll");
+                // partitions are built as endpoints register, after this bean
+                partitioned.onPartition((name, partition) -> monitor(meterRegistry, partition, "sse2poll:" + name));
+            } else {
+                monitor(meterRegistry, cacheClient, "sse2poll");
+            }
+            return new MicrometerPollMetrics(meterRegistry);
+        }
+
+        private static void monitor(MeterRegistry registry, CacheClient cacheClient, String cacheName) {
+            if (cacheClient instanceof CaffeineCacheClient caffeine) {
+                CaffeineCacheMetrics.monitor(registry, caffeine.nativeCache(), cacheName);
+            }
+        }
+    }
+
+    static class ServletWebPresent implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ClassUtils.isPresent(SERVLET_DISPATCHER, context.getClassLoader());
+        }
+    }
+
+    static class ReactiveWebPresent implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ClassUtils.isPresent(REACTIVE_DISPATCHER, context.getClassLoader())
+                    && !ClassUtils.isPresent(SERVLET_DISPATCHER, context.getClassLoader());
+        }
+    }
+
+    // opt-in: the endpoint reads any job of any @PolledGet namespace, past the security rules of the polled URLs
+    static class BatchEnabled implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return context.getEnvironment().getProperty("sse2poll.batch.enabled", Boolean.class, false);
+        }
+    }
+
+    static class MicrometerPresent implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ClassUtils.isPresent("io.micrometer.core.instrument.MeterRegistry", context.getClassLoader());
+        }
     }
 }
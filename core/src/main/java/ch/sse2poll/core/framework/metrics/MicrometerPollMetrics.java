@@ -0,0 +1,124 @@
+package ch.sse2poll.core.framework.metrics;
+
+import ch.sse2poll.core.engine.port.outgoing.PollMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Meters are resolved once per namespace so the request path only touches pre-built counters and timers.
+public final class MicrometerPollMetrics implements PollMetrics {
+
+    private static final PollOutcome[] OUTCOMES = PollOutcome.values();
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Meters> meters = new ConcurrentHashMap<>();
+    // jobs nobody polls to completion fall out after the result TTL would have expired anyway
+    private final Cache<String, AtomicInteger> pollsByJob;
+
+    public MicrometerPollMetrics(MeterRegistry registry) {
+        this(registry, Duration.ofMinutes(10), 100_000);
+    }
+
+    public MicrometerPollMetrics(MeterRegistry registry, Duration trackJobsFor, long maximumTrackedJobs) {
+        this.registry = Objects.requireNonNull(registry, "registry");
+        this.pollsByJob = Caffeine.newBuilder()
+                .expireAfterAccess(trackJobsFor)
+                .maximumSize(Math.max(1L, maximumTrackedJobs))
+                .build();
+    }
+
+    @Override
+    public void kickoff(String namespace) {
+        meters(namespace).kickoffs.increment();
+    }
+
+    @Override
+    public void poll(String namespace, String jobId, PollOutcome outcome) {
+        Meters ns = meters(namespace);
+        ns.polls[outcome.ordinal()].increment();
+        if (outcome == PollOutcome.UNKNOWN) {
+            return;
+        }
+        if (outcome == PollOutcome.READY || outcome == PollOutcome.FAILED) {
+            AtomicInteger earlier = pollsByJob.asMap().remove(jobId);
+            ns.pollsPerJob.record(earlier == null ? 1 : earlier.get() + 1);
+            return;
+        }
+        pollsByJob.get(jobId, id -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @Override
+    public void awaited(String namespace, long nanos) {
+        meters(namespace).awaited.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void jobQueued(String namespace) {
+        meters(namespace).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void jobFinished(String namespace, long queueNanos, long computeNanos) {
+        Meters ns = meters(namespace);
+        ns.inFlight.decrementAndGet();
+        ns.queueDelay.record(queueNanos, TimeUnit.NANOSECONDS);
+        if (computeNanos >= 0) {
+            ns.compute.record(computeNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Meters meters(String namespace) {
+        Meters existing = meters.get(namespace);
+        return existing != null ? existing : meters.computeIfAbsent(namespace, ns -> new Meters(registry, ns));
+    }
+
+    private static final class Meters {
+        private final Counter kickoffs;
+        private final Counter[] polls;
+        private final DistributionSummary pollsPerJob;
+        private final Timer awaited;
+        private final Timer queueDelay;
+        private final Timer compute;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Meters(MeterRegistry registry, String namespace) {
+            this.kickoffs = Counter.builder("sse2poll.kickoffs")
+                    .tag("namespace", namespace)
+                    .register(registry);
+            this.polls = new Counter[OUTCOMES.length];
+            for (PollOutcome outcome : OUTCOMES) {
+                polls[outcome.ordinal()] = Counter.builder("sse2poll.polls")
+                        .tag("namespace", namespace)
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            this.pollsPerJob = DistributionSummary.builder("sse2poll.polls.per.job")
+                    .tag("namespace", namespace)
+                    .register(registry);
+            this.awaited = Timer.builder("sse2poll.await")
+                    .tag("namespace", namespace)
+                    .register(registry);
+            this.queueDelay = Timer.builder("sse2poll.job.queue")
+                    .tag("namespace", namespace)
+                    .register(registry);
+            this.compute = Timer.builder("sse2poll.job.compute")
+                    .tag("namespace", namespace)
+                    .register(registry);
+            Gauge.builder("sse2poll.jobs.in.flight", inFlight, AtomicInteger::get)
+                    .tag("namespace", namespace)
+                    .register(registry);
+        }
+    }
+}
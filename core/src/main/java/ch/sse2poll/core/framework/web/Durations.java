@@ -0,0 +1,41 @@
+package ch.sse2poll.core.framework.web;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+final class Durations {
+
+    private Durations() {
+    }
+
+    static Duration parse(String attribute, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (text.startsWith("p")) {
+                return Duration.parse(text.toUpperCase(Locale.ROOT));
+            }
+            if (text.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2).trim()));
+            }
+            char unit = text.charAt(text.length() - 1);
+            // a bare number is milliseconds; only a unit letter is split off
+            if (Character.isDigit(unit)) {
+                return Duration.ofMillis(Long.parseLong(text));
+            }
+            long amount = Long.parseLong(text.substring(0, text.length() - 1).trim());
+            return switch (unit) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                case 'd' -> Duration.ofDays(amount);
+                default -> throw new NumberFormatException("Unknown unit '" + unit + "'");
+            };
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid duration for @PolledGet." + attribute + ": '" + value + "'", ex);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.support.interfaces.BodyEncoder;
+import ch.sse2poll.core.entities.model.EncodedBody;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.util.Objects;
+
+public final class JacksonBodyEncoder implements BodyEncoder {
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonBodyEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+    }
+
+    @Override
+    public EncodedBody encode(Object payload) {
+        try {
+            return new EncodedBody(objectMapper.writeValueAsBytes(payload), MediaType.APPLICATION_JSON_VALUE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot encode polled result", ex);
+        }
+    }
+}
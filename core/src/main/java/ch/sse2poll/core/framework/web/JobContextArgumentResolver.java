@@ -0,0 +1,27 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.port.incoming.ChunkEmitter;
+import ch.sse2poll.core.engine.port.incoming.ProgressReporter;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+// Lets @PolledGet methods declare ChunkEmitter/ProgressReporter parameters; PolledGetAspect binds the job's own.
+public class JobContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return ChunkEmitter.class.equals(type) || ProgressReporter.class.equals(type);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        return ChunkEmitter.class.equals(parameter.getParameterType()) ? ChunkEmitter.NONE : ProgressReporter.NONE;
+    }
+}
@@ -0,0 +1,29 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import org.springframework.util.StringValueResolver;
+
+// Builds an endpoint's lifecycle from its annotation. Attributes may hold placeholders, and an empty attribute takes
+// the application-wide property; without a resolver (plain proxies in tests) attributes are used as written.
+final class Lifecycles {
+
+    private Lifecycles() {
+    }
+
+    static PollCoordinator.Lifecycle resolve(PolledGet polledGet, StringValueResolver resolver) {
+        return new PollCoordinator.Lifecycle(
+                Durations.parse("pendingTtl", value(polledGet.pendingTtl(), "sse2poll.poll.pending-ttl", resolver)),
+                Durations.parse("readyTtl", value(polledGet.readyTtl(), "sse2poll.poll.ready-ttl", resolver)),
+                Durations.parse("maxWait", value(polledGet.maxWait(), "sse2poll.poll.max-wait", resolver)),
+                value(polledGet.partition(), "sse2poll.cache.partition", resolver));
+    }
+
+    private static String value(String attribute, String property, StringValueResolver resolver) {
+        if (resolver == null) {
+            return attribute;
+        }
+        String resolved = resolver.resolveStringValue(attribute.isBlank() ? "${" + property + ":}" : attribute);
+        return resolved == null || resolved.isBlank() ? null : resolved.trim();
+    }
+}
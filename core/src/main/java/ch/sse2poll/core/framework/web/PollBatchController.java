@@ -0,0 +1,120 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
+import ch.sse2poll.core.entities.model.EncodedBody;
+import ch.sse2poll.core.entities.model.JobRef;
+import ch.sse2poll.core.entities.model.JobStatus;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// One request for many jobs: answers as soon as any of them settles, so a page tracking N jobs runs one poll loop.
+// Job ids pair with the namespace a 202 announces in X-Poll-Namespace; only namespaces of @PolledGet methods in this
+// application are accepted.
+@RestController
+public class PollBatchController implements BeanFactoryAware, SmartInitializingSingleton {
+
+    private static final long DEFERRED_TIMEOUT_GRACE_MS = 1_000L;
+
+    private final PollCoordinator pollCoordinator;
+    private final int maxJobs;
+    private ListableBeanFactory beanFactory;
+    private volatile Set<String> namespaces = Set.of();
+
+    public PollBatchController(PollCoordinator pollCoordinator, int maxJobs) {
+        this.pollCoordinator = pollCoordinator;
+        this.maxJobs = maxJobs;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory instanceof ListableBeanFactory listable ? listable : null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (beanFactory != null) {
+            namespaces = PolledMethods.namespaces(beanFactory);
+        }
+    }
+
+    @PostMapping("${sse2poll.batch.path:/sse2poll/batch}")
+    public Object poll(@RequestBody BatchPollRequest request) {
+        List<JobRef> jobs = request.jobs() == null ? List.of() : request.jobs();
+        if (jobs.isEmpty() || jobs.size() > maxJobs) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch poll needs between 1 and " + maxJobs + " jobs");
+        }
+        for (JobRef job : jobs) {
+            if (job == null || isBlank(job.namespace()) || isBlank(job.jobId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every job needs a namespace and a jobId");
+            }
+            if (!namespaces.contains(job.namespace())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown namespace " + job.namespace());
+            }
+        }
+        long waitMs = Math.max(0L, request.waitMs());
+
+        CompletableFuture<List<JobStatus>> outcome = pollCoordinator.pollAny(jobs, waitMs);
+        if (outcome.isDone()) {
+            try {
+                return toResponse(outcome.join());
+            } catch (CompletionException ex) {
+                throw unwrap(ex);
+            }
+        }
+        DeferredResult<BatchPollResponse> result = new DeferredResult<>(waitMs + DEFERRED_TIMEOUT_GRACE_MS);
+        outcome.whenComplete((statuses, error) -> {
+            if (error == null) {
+                result.setResult(toResponse(statuses));
+            } else {
+                result.setErrorResult(unwrap(error));
+            }
+        });
+        return result;
+    }
+
+    private static BatchPollResponse toResponse(List<JobStatus> statuses) {
+        return new BatchPollResponse(statuses.stream().map(PollBatchController::embed).toList());
+    }
+
+    // pre-encoded JSON results are spliced in as they are instead of being written out as base64 bytes
+    private static JobStatus embed(JobStatus status) {
+        if (status.payload() instanceof EncodedBody body && body.contentType().contains("json")) {
+            return status.withPayload(new RawValue(new String(body.bytes(), StandardCharsets.UTF_8)));
+        }
+        return status;
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException("Failed to complete batch poll", cause);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    public record BatchPollRequest(long waitMs, List<JobRef> jobs) {
+    }
+
+    public record BatchPollResponse(List<JobStatus> jobs) {
+    }
+}
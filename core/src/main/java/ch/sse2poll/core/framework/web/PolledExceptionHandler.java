@@ -1,21 +1,40 @@
 package ch.sse2poll.core.framework.web;
 
+import ch.sse2poll.core.engine.exception.FailedJobException;
 import ch.sse2poll.core.engine.exception.PendingJobException;
+import ch.sse2poll.core.engine.exception.RejectedJobException;
 import ch.sse2poll.core.engine.exception.UnknownJobException;
 import ch.sse2poll.core.entities.model.Pending;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
+
 @RestControllerAdvice
 public class PolledExceptionHandler {
 
+    public static final String SUGGESTED_WAIT_HEADER = "X-Poll-Wait-Ms";
+    public static final String NAMESPACE_HEADER = "X-Poll-Namespace";
+
     @ExceptionHandler(PendingJobException.class)
-    @ResponseStatus(HttpStatus.ACCEPTED)
-    public Pending handlePending(PendingJobException ex) {
-        return new Pending(ex.getJobId());
+    public ResponseEntity<Pending> handlePending(PendingJobException ex) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.ACCEPTED);
+        if (ex.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(ex.getRetryAfter())));
+        }
+        if (ex.getSuggestedWait() != null) {
+            response.header(SUGGESTED_WAIT_HEADER, Long.toString(ex.getSuggestedWait().toMillis()));
+        }
+        if (ex.getNamespace() != null) {
+            response.header(NAMESPACE_HEADER, ex.getNamespace());
+        }
+        return response.body(new Pending(ex.getJobId(), ex.getProgress()));
     }
 
     @ExceptionHandler(UnknownJobException.class)
@@ -23,4 +42,27 @@ public class PolledExceptionHandler {
     public ProblemDetail handleUnknown(UnknownJobException ex) {
         return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
     }
+
+    @ExceptionHandler(FailedJobException.class)
+    public ResponseEntity<ProblemDetail> handleFailed(FailedJobException ex) {
+        HttpStatusCode status = HttpStatusCode.valueOf(ex.getStatus());
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, ex.getDetail());
+        problem.setProperty("jobId", ex.getJobId());
+        return ResponseEntity.status(status).body(problem);
+    }
+
+    @ExceptionHandler(RejectedJobException.class)
+    public ResponseEntity<ProblemDetail> handleRejected(RejectedJobException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(ex.getRetryAfter())))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    private static long retryAfterSeconds(Duration retryAfter) {
+        if (retryAfter == null) {
+            return 1;
+        }
+        long millis = retryAfter.toMillis();
+        return Math.max(1, (millis + 999) / 1000);
+    }
 }
@@ -1,47 +1,195 @@
 package ch.sse2poll.core.framework.web;
 
+import ch.sse2poll.core.engine.JobContext;
+import ch.sse2poll.core.engine.exception.UnknownJobException;
+import ch.sse2poll.core.engine.port.incoming.ChunkEmitter;
 import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
+import ch.sse2poll.core.engine.port.incoming.ProgressReporter;
+import ch.sse2poll.core.entities.model.ChunkPage;
+import ch.sse2poll.core.entities.model.EncodedBody;
 import ch.sse2poll.core.framework.annotation.PolledGet;
 import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Aspect
 @Component
-public class PolledGetAspect {
+public class PolledGetAspect implements EmbeddedValueResolverAware, BeanFactoryAware, SmartInitializingSingleton {
 
     private static final long DEFAULT_WAIT_MS = 0L;
+    private static final long DEFERRED_TIMEOUT_GRACE_MS = 1_000L;
 
     private final PollCoordinator pollCoordinator;
+    private final ConcurrentMap<Method, PollCoordinator.Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile StringValueResolver valueResolver;
+    private ListableBeanFactory beanFactory;
 
     public PolledGetAspect(PollCoordinator pollCoordinator) {
         this.pollCoordinator = pollCoordinator;
     }
 
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory instanceof ListableBeanFactory listable ? listable : null;
+    }
+
+    // every endpoint is known to the coordinator before the first request, including polls for jobs other nodes run
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (beanFactory == null) {
+            return;
+        }
+        PolledMethods.forEach(beanFactory,
+                method -> pollCoordinator.register(endpoint(method, method.getAnnotation(PolledGet.class))));
+    }
+
     @Around("@annotation(polledGet)")
     public Object orchestrate(ProceedingJoinPoint joinPoint, PolledGet polledGet) {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        var method = methodSignature.getMethod();
-        String namespace = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
-        PollCoordinator.RequestContextView requestContext = resolveRequestContext();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        PollCoordinator.Endpoint endpoint = endpoint(method, polledGet);
+        Answer answer = new Answer(method, endpoint.async() ? endpoint.responseType() : method.getReturnType());
+        ImmutableRequestContext requestContext = resolveRequestContext();
+        if (requestContext.cancel() && requestContext.clientJobId() != null) {
+            return completed(endpoint.async(), cancel(answer, endpoint.namespace(), requestContext.clientJobId()));
+        }
+
+        Object[] arguments = joinPoint.getArgs();
+        Object response;
+        if (polledGet.deferred() && requestContext.waitMs() > 0) {
+            response = deferred(answer, pollCoordinator.handleAsync(endpoint, () -> proceed(joinPoint), arguments,
+                    requestContext), endpoint.lifecycle().clampWait(requestContext.waitMs()));
+        } else {
+            response = toResponse(answer,
+                    pollCoordinator.handle(endpoint, () -> proceed(joinPoint), arguments, requestContext));
+        }
+        return completed(endpoint.async(), response);
+    }
 
-        Class<?> returnType = methodSignature.getReturnType();
-        return pollCoordinator.handle(namespace, () -> proceed(joinPoint), returnType, requestContext);
+    // a stage-returning method gets its ready or memoized payload back as a stage; parked answers stay null
+    private static Object completed(boolean async, Object response) {
+        if (!async || response == null || response instanceof CompletionStage<?>) {
+            return response;
+        }
+        return CompletableFuture.completedFuture(response);
+    }
+
+    // namespace and annotation attributes never change for a method, so they are resolved on its first call only
+    private PollCoordinator.Endpoint endpoint(Method method, PolledGet polledGet) {
+        PollCoordinator.Endpoint endpoint = endpoints.get(method);
+        if (endpoint != null) {
+            return endpoint;
+        }
+        return endpoints.computeIfAbsent(method, m -> new PollCoordinator.Endpoint(
+                PolledMethods.namespace(m), resultType(m),
+                polledGet.coalesce(), Durations.parse("cacheFor", polledGet.cacheFor()), polledGet.preEncode(),
+                CompletionStage.class.isAssignableFrom(m.getReturnType()),
+                Lifecycles.resolve(polledGet, valueResolver)));
+    }
+
+    // a method returning a stage is followed by the coordinator, which stores and type-checks what the stage yields
+    private static Class<?> resultType(Method method) {
+        if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            return ResolvableType.forMethodReturnType(method).as(CompletionStage.class).getGeneric(0).toClass();
+        }
+        return method.getReturnType();
+    }
+
+    private static Object toResponse(Answer answer, Object result) {
+        Object entity = entity(result);
+        return entity == result ? result : answer.respond(entity);
+    }
+
+    private static Object entity(Object result) {
+        if (result instanceof ChunkPage page) {
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).body(page);
+        }
+        if (result instanceof EncodedBody body) {
+            return encoded(body);
+        }
+        return result;
     }
 
-    private PollCoordinator.RequestContextView resolveRequestContext() {
+    // already encoded on the worker; byte[] bypasses the object converters
+    private static ResponseEntity<byte[]> encoded(EncodedBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(body.contentType()))
+                .contentLength(body.length())
+                .body(body.bytes());
+    }
+
+    private Object cancel(Answer answer, String namespace, String jobId) {
+        if (!pollCoordinator.cancel(namespace, jobId)) {
+            throw new UnknownJobException(jobId);
+        }
+        return answer.respond(ResponseEntity.noContent().build());
+    }
+
+    private static Object deferred(Answer answer, CompletableFuture<Object> outcome, long waitMs) {
+        if (outcome.isDone()) {
+            try {
+                return toResponse(answer, outcome.join());
+            } catch (CompletionException ex) {
+                throw unwrap(ex);
+            }
+        }
+
+        DeferredResult<Object> result = new DeferredResult<>(waitMs + DEFERRED_TIMEOUT_GRACE_MS);
+        outcome.whenComplete((value, error) -> {
+            if (error == null) {
+                // concurrent results are dispatched by their own type, so nothing is parked here
+                result.setResult(entity(value));
+            } else {
+                result.setErrorResult(unwrap(error));
+            }
+        });
+        return answer.respond(result);
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException("Failed to complete polled request", cause);
+    }
+
+    private ImmutableRequestContext resolveRequestContext() {
         ServletRequestAttributes attributes = currentRequestAttributes();
         if (attributes == null) {
-            return new ImmutableRequestContext(null, DEFAULT_WAIT_MS);
+            return new ImmutableRequestContext(null, DEFAULT_WAIT_MS, false, null);
         }
         HttpServletRequest request = attributes.getRequest();
-        return new ImmutableRequestContext(extractJob(request), extractWaitMs(request));
+        return new ImmutableRequestContext(extractJob(request), extractWaitMs(request), extractCancel(request),
+                extractCursor(request));
     }
 
     private ServletRequestAttributes currentRequestAttributes() {
@@ -73,15 +221,47 @@ public class PolledGetAspect {
         }
     }
 
+    private static boolean extractCancel(HttpServletRequest request) {
+        return Boolean.parseBoolean(request.getParameter("cancel"));
+    }
+
+    private static String extractCursor(HttpServletRequest request) {
+        String cursorParam = request.getParameter("cursor");
+        if (cursorParam == null || cursorParam.isBlank()) {
+            return null;
+        }
+        return cursorParam;
+    }
+
     private Object proceed(ProceedingJoinPoint joinPoint) {
         try {
-            return joinPoint.proceed();
+            return joinPoint.proceed(bindJobContext(joinPoint.getArgs()));
         } catch (Throwable throwable) {
             throw new IllegalStateException("Failed to execute polled computation", throwable);
         }
     }
 
-    private record ImmutableRequestContext(String clientJobId, long waitMs)
+    // runs on the worker, where the coordinator has bound this job's emitter and reporter
+    private static Object[] bindJobContext(Object[] arguments) {
+        Object[] bound = arguments.clone();
+        for (int i = 0; i < bound.length; i++) {
+            if (bound[i] instanceof ChunkEmitter) {
+                bound[i] = JobContext.emitter();
+            } else if (bound[i] instanceof ProgressReporter) {
+                bound[i] = JobContext.progress();
+            }
+        }
+        return bound;
+    }
+
+    private record ImmutableRequestContext(String clientJobId, long waitMs, boolean cancel, String cursor)
             implements PollCoordinator.RequestContextView {
     }
+
+    // what the invoked method can hand back itself; the stage of an async method is added by completed()
+    private record Answer(Method method, Class<?> declared) {
+        Object respond(Object response) {
+            return PolledReturnValueHandler.respond(method, declared, response);
+        }
+    }
 }
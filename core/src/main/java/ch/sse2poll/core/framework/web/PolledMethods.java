@@ -0,0 +1,38 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+
+// The advice names a job's namespace after the method it intercepts, so scanning bean types at startup finds the same
+// namespaces (and methods) before any request has reached them.
+final class PolledMethods {
+
+    private PolledMethods() {
+    }
+
+    static String namespace(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+    }
+
+    static void forEach(ListableBeanFactory beanFactory, ReflectionUtils.MethodCallback callback) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            Class<?> type = beanFactory.getType(name, false);
+            if (type != null) {
+                ReflectionUtils.doWithMethods(ClassUtils.getUserClass(type), callback,
+                        method -> method.isAnnotationPresent(PolledGet.class));
+            }
+        }
+    }
+
+    static Set<String> namespaces(ListableBeanFactory beanFactory) {
+        Set<String> namespaces = new HashSet<>();
+        forEach(beanFactory, method -> namespaces.add(namespace(method)));
+        return Set.copyOf(namespaces);
+    }
+}
@@ -0,0 +1,60 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import org.reactivestreams.Publisher;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// WebFlux picks result handlers by the declared return type, so a Mono<Report> method would have the aspect's
+// ResponseEntity serialized as its body. This handler claims @PolledGet methods and writes the entity instead.
+public class PolledResultHandler implements HandlerResultHandler, Ordered {
+
+    private static final MethodParameter RESPONSE_TYPE = new MethodParameter(
+            ReflectionUtils.findMethod(PolledResultHandler.class, "response"), -1);
+
+    private final ResponseEntityResultHandler delegate;
+
+    public PolledResultHandler(List<HttpMessageWriter<?>> writers, RequestedContentTypeResolver contentTypeResolver) {
+        this.delegate = new ResponseEntityResultHandler(writers, contentTypeResolver);
+    }
+
+    @Override
+    public boolean supports(HandlerResult result) {
+        return result.getHandler() instanceof HandlerMethod method && method.hasMethodAnnotation(PolledGet.class);
+    }
+
+    @Override
+    public Mono<Void> handleResult(ServerWebExchange exchange, HandlerResult result) {
+        // a Flux-declared method still answers with a single entity
+        Object value = result.getReturnValue();
+        if (value instanceof ReactivePolledGetAspect.ResponseStage stage) {
+            value = stage.response();
+        } else if (value instanceof Publisher<?> publisher) {
+            value = Mono.from(publisher);
+        }
+        return delegate.handleResult(exchange,
+                new HandlerResult(result.getHandler(), value, RESPONSE_TYPE, result.getBindingContext()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    // only its signature is used, as the declared type the delegate resolves bodies against
+    private static Mono<ResponseEntity<Object>> response() {
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,111 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+// A proxied @PolledGet method can only hand back its declared type, so answers of another type (a DeferredResult, a
+// ResponseEntity for 204/206 or pre-encoded bytes) are parked on the request while the advice returns null. This
+// handler runs ahead of MVC's own ones, picks the parked answer up and passes it on typed as what it really is.
+// Only the invocation MVC dispatches parks; other callers of the method in the same request get the answer back.
+public class PolledReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    static final String RESPONSE_ATTRIBUTE = PolledReturnValueHandler.class.getName() + ".response";
+
+    private final HandlerMethodReturnValueHandler delegate;
+
+    public PolledReturnValueHandler(HandlerMethodReturnValueHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    // the adapter only knows its handlers once initialized; custom handlers would be asked after the built-in ones
+    public static void install(RequestMappingHandlerAdapter adapter) {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+        if (handlers.stream().anyMatch(PolledReturnValueHandler.class::isInstance)) {
+            return;
+        }
+        handlers.add(0, new PolledReturnValueHandler(new HandlerMethodReturnValueHandlerComposite().addHandlers(handlers)));
+        adapter.setReturnValueHandlers(handlers);
+    }
+
+    // Returns null for the proxy to pass through when the method is the handler being dispatched. A service, filter or
+    // interceptor calling it gets the answer, or the body of a ResponseEntity, as far as the declared type holds it.
+    static Object respond(Method method, Class<?> declared, Object response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && dispatching(attributes, method)) {
+            attributes.setAttribute(RESPONSE_ATTRIBUTE, response, RequestAttributes.SCOPE_REQUEST);
+            return null;
+        }
+        if (declared.isInstance(response)) {
+            return response;
+        }
+        if (response instanceof HttpEntity<?> entity
+                && (entity.getBody() == null ? !declared.isPrimitive() : declared.isInstance(entity.getBody()))) {
+            return entity.getBody();
+        }
+        throw new IllegalStateException("@PolledGet method " + PolledMethods.namespace(method) + " answered with "
+                + response.getClass().getSimpleName() + ", which its declared " + declared.getSimpleName()
+                + " cannot hold outside the request's own handler invocation");
+    }
+
+    private static boolean dispatching(RequestAttributes attributes, Method method) {
+        return attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof HandlerMethod handler && handler.getMethod().equals(method);
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return returnType.hasMethodAnnotation(PolledGet.class);
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest) throws Exception {
+        Object response = webRequest.getAttribute(RESPONSE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (response == null) {
+            delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+        webRequest.removeAttribute(RESPONSE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        delegate.handleReturnValue(response, new ResponseParameter(returnType, response.getClass()), mavContainer,
+                webRequest);
+    }
+
+    private static final class ResponseParameter extends MethodParameter {
+        private final Class<?> type;
+
+        private ResponseParameter(MethodParameter original, Class<?> type) {
+            super(original);
+            this.type = type;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return type;
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return type;
+        }
+
+        @Override
+        public ResponseParameter clone() {
+            return new ResponseParameter(this, type);
+        }
+    }
+}
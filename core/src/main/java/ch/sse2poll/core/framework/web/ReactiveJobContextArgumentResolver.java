@@ -0,0 +1,24 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.port.incoming.ChunkEmitter;
+import ch.sse2poll.core.engine.port.incoming.ProgressReporter;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+
+// WebFlux twin of JobContextArgumentResolver; ReactivePolledGetAspect swaps in the job's own emitter and reporter.
+public class ReactiveJobContextArgumentResolver implements SyncHandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return ChunkEmitter.class.equals(type) || ProgressReporter.class.equals(type);
+    }
+
+    @Override
+    public Object resolveArgumentValue(MethodParameter parameter, BindingContext bindingContext,
+                                       ServerWebExchange exchange) {
+        return ChunkEmitter.class.equals(parameter.getParameterType()) ? ChunkEmitter.NONE : ProgressReporter.NONE;
+    }
+}
@@ -0,0 +1,239 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.JobContext;
+import ch.sse2poll.core.engine.exception.UnknownJobException;
+import ch.sse2poll.core.engine.port.incoming.ChunkEmitter;
+import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
+import ch.sse2poll.core.engine.port.incoming.ProgressReporter;
+import ch.sse2poll.core.entities.model.ChunkPage;
+import ch.sse2poll.core.entities.model.EncodedBody;
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringValueResolver;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// WebFlux counterpart of PolledGetAspect. The exchange comes from the Reactor context (ServerWebExchangeContextFilter),
+// waits park on the coordinator's async path, and Mono/Flux/CompletionStage computations are followed instead of run
+// on a worker.
+// Every response is a ResponseEntity, which PolledResultHandler writes whatever the method declares. Stage-returning
+// methods get it wrapped in a ResponseStage, since the proxy cannot pass a Mono for them.
+@Aspect
+public class ReactivePolledGetAspect implements EmbeddedValueResolverAware, BeanFactoryAware,
+        SmartInitializingSingleton {
+
+    private static final long DEFAULT_WAIT_MS = 0L;
+
+    private final PollCoordinator pollCoordinator;
+    private final ConcurrentMap<Method, PollCoordinator.Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile StringValueResolver valueResolver;
+    private ListableBeanFactory beanFactory;
+
+    public ReactivePolledGetAspect(PollCoordinator pollCoordinator) {
+        this.pollCoordinator = pollCoordinator;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory instanceof ListableBeanFactory listable ? listable : null;
+    }
+
+    // the advice can only answer with a publisher or a stage, so methods it could not return from fail the startup,
+    // not a request; the others are registered with the coordinator before the first request
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (beanFactory == null) {
+            return;
+        }
+        PolledMethods.forEach(beanFactory,
+                method -> pollCoordinator.register(endpoint(method, method.getAnnotation(PolledGet.class))));
+    }
+
+    private static void checkReturnType(Method method) {
+        Class<?> declared = method.getReturnType();
+        boolean publisher = declared == Flux.class
+                || Publisher.class.isAssignableFrom(declared) && declared.isAssignableFrom(Mono.class);
+        boolean stage = CompletionStage.class.isAssignableFrom(declared) && declared.isAssignableFrom(ResponseStage.class);
+        if (!publisher && !stage) {
+            throw new IllegalStateException("@PolledGet method " + PolledMethods.namespace(method) + " returns " + declared.getSimpleName()
+                    + "; on WebFlux it must return a Mono, a Flux or a CompletableFuture");
+        }
+    }
+
+    @Around("@annotation(polledGet)")
+    public Object orchestrate(ProceedingJoinPoint joinPoint, PolledGet polledGet) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        PollCoordinator.Endpoint endpoint = endpoint(method, polledGet);
+        Object[] arguments = joinPoint.getArgs();
+
+        Mono<ResponseEntity<?>> response = Mono.deferContextual(context -> {
+            ImmutableRequestContext requestContext = resolveRequestContext(
+                    ServerWebExchangeContextFilter.getExchange(context).orElse(null));
+            if (requestContext.cancel() && requestContext.clientJobId() != null) {
+                return cancel(endpoint.namespace(), requestContext.clientJobId());
+            }
+            return Mono.fromFuture(() -> pollCoordinator.handleAsync(endpoint,
+                            () -> endpoint.async() ? toStage(proceed(joinPoint)) : proceed(joinPoint),
+                            arguments, requestContext))
+                    .map(ReactivePolledGetAspect::toResponse);
+        });
+        if (method.getReturnType() == Flux.class) {
+            return response.flux();
+        }
+        return CompletionStage.class.isAssignableFrom(method.getReturnType()) ? new ResponseStage(response) : response;
+    }
+
+    private PollCoordinator.Endpoint endpoint(Method method, PolledGet polledGet) {
+        PollCoordinator.Endpoint endpoint = endpoints.get(method);
+        if (endpoint != null) {
+            return endpoint;
+        }
+        checkReturnType(method);
+        return endpoints.computeIfAbsent(method, m -> new PollCoordinator.Endpoint(
+                PolledMethods.namespace(m), resultType(m),
+                polledGet.coalesce(), Durations.parse("cacheFor", polledGet.cacheFor()), polledGet.preEncode(),
+                Publisher.class.isAssignableFrom(m.getReturnType())
+                        || CompletionStage.class.isAssignableFrom(m.getReturnType()),
+                Lifecycles.resolve(polledGet, valueResolver)));
+    }
+
+    // the job stores what the method yields: the element of a Mono or a stage, all elements of a Flux
+    private static Class<?> resultType(Method method) {
+        Class<?> declared = method.getReturnType();
+        if (Flux.class.isAssignableFrom(declared)) {
+            return List.class;
+        }
+        if (Publisher.class.isAssignableFrom(declared)) {
+            return ResolvableType.forMethodReturnType(method).as(Publisher.class).getGeneric(0).toClass();
+        }
+        if (CompletionStage.class.isAssignableFrom(declared)) {
+            return ResolvableType.forMethodReturnType(method).as(CompletionStage.class).getGeneric(0).toClass();
+        }
+        return declared;
+    }
+
+    private static CompletionStage<?> toStage(Object started) {
+        if (started instanceof CompletionStage<?> stage) {
+            return stage;
+        }
+        if (started instanceof Flux<?> flux) {
+            return flux.collectList().toFuture();
+        }
+        // a job needs a result to hand out, so completing empty fails it like an error would
+        return Mono.from((Publisher<?>) started)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Polled publisher completed empty")))
+                .toFuture();
+    }
+
+    private static ResponseEntity<?> toResponse(Object result) {
+        if (result instanceof ChunkPage page) {
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).body(page);
+        }
+        if (result instanceof EncodedBody body) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(body.contentType()))
+                    .contentLength(body.length())
+                    .body(body.bytes());
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    private Mono<ResponseEntity<?>> cancel(String namespace, String jobId) {
+        if (!pollCoordinator.cancel(namespace, jobId)) {
+            return Mono.error(new UnknownJobException(jobId));
+        }
+        return Mono.just(ResponseEntity.noContent().build());
+    }
+
+    private static ImmutableRequestContext resolveRequestContext(ServerWebExchange exchange) {
+        if (exchange == null) {
+            return new ImmutableRequestContext(null, DEFAULT_WAIT_MS, false, null);
+        }
+        MultiValueMap<String, String> query = exchange.getRequest().getQueryParams();
+        return new ImmutableRequestContext(nonBlank(query.getFirst("job")), extractWaitMs(query.getFirst("waitMs")),
+                Boolean.parseBoolean(query.getFirst("cancel")), nonBlank(query.getFirst("cursor")));
+    }
+
+    private static String nonBlank(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static long extractWaitMs(String waitParam) {
+        if (waitParam == null || waitParam.isBlank()) {
+            return DEFAULT_WAIT_MS;
+        }
+        try {
+            return Math.max(DEFAULT_WAIT_MS, Long.parseLong(waitParam));
+        } catch (NumberFormatException ex) {
+            return DEFAULT_WAIT_MS;
+        }
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed(bindJobContext(joinPoint.getArgs()));
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Failed to execute polled computation", throwable);
+        }
+    }
+
+    // async endpoints are assembled on the caller inside the job's context, so the bound emitter and reporter are
+    // captured before the publisher runs anywhere else
+    private static Object[] bindJobContext(Object[] arguments) {
+        Object[] bound = arguments.clone();
+        for (int i = 0; i < bound.length; i++) {
+            if (bound[i] instanceof ChunkEmitter) {
+                bound[i] = JobContext.emitter();
+            } else if (bound[i] instanceof ProgressReporter) {
+                bound[i] = JobContext.progress();
+            }
+        }
+        return bound;
+    }
+
+    // completes once PolledResultHandler has subscribed the response inside the exchange's context, which is where the
+    // request parameters are read from
+    static final class ResponseStage extends CompletableFuture<ResponseEntity<?>> {
+        private final Mono<ResponseEntity<?>> response;
+
+        ResponseStage(Mono<ResponseEntity<?>> response) {
+            this.response = response;
+        }
+
+        Mono<ResponseEntity<?>> response() {
+            return response.doOnNext(this::complete).doOnError(this::completeExceptionally);
+        }
+    }
+
+    private record ImmutableRequestContext(String clientJobId, long waitMs, boolean cancel, String cursor)
+            implements PollCoordinator.RequestContextView {
+    }
+}
@@ -0,0 +1,29 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.support.interfaces.FailureTranslator;
+import ch.sse2poll.core.entities.model.Failed;
+import org.springframework.web.ErrorResponse;
+
+public final class ResponseStatusFailureTranslator implements FailureTranslator {
+
+    private static final int MAX_CAUSE_DEPTH = 8;
+
+    private final FailureTranslator fallback;
+
+    public ResponseStatusFailureTranslator(FailureTranslator fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Failed translate(Throwable error) {
+        Throwable current = error;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (current instanceof ErrorResponse response) {
+                String detail = response.getBody().getDetail();
+                return new Failed(response.getStatusCode().value(), detail != null ? detail : current.getMessage());
+            }
+            current = current.getCause();
+        }
+        return fallback.translate(error);
+    }
+}
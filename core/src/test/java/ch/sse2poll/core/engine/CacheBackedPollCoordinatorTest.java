@@ -2,22 +2,53 @@ package ch.sse2poll.core.engine;
 
 import org.junit.jupiter.api.Test;
 
+import ch.sse2poll.core.engine.exception.FailedJobException;
 import ch.sse2poll.core.engine.exception.PendingJobException;
+import ch.sse2poll.core.engine.exception.RejectedJobException;
 import ch.sse2poll.core.engine.exception.UnknownJobException;
 import ch.sse2poll.core.entities.model.Pending;
 import ch.sse2poll.core.entities.model.Ready;
 import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
 import ch.sse2poll.core.engine.port.outgoing.CacheClient;
+import ch.sse2poll.core.engine.port.outgoing.CompletionBus;
+import ch.sse2poll.core.engine.port.outgoing.PollMetrics;
+import ch.sse2poll.core.engine.port.outgoing.ResultCache;
 import ch.sse2poll.core.engine.support.interfaces.AsyncRunner;
+import ch.sse2poll.core.engine.support.interfaces.CompletionTimeModel;
 import ch.sse2poll.core.engine.support.interfaces.IdGenerator;
 import ch.sse2poll.core.engine.support.interfaces.KeyFactory;
 import ch.sse2poll.core.engine.support.interfaces.ReadyAwaiter;
+import ch.sse2poll.core.engine.support.implementation.BoundedAsyncRunner;
+import ch.sse2poll.core.engine.support.implementation.FixedConcurrencyLimit;
+import ch.sse2poll.core.engine.support.implementation.SignalingReadyAwaiter;
+import ch.sse2poll.core.engine.support.implementation.VirtualThreadAsyncRunner;
+import ch.sse2poll.core.entities.model.ChunkPage;
+import ch.sse2poll.core.entities.model.EncodedBody;
 import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Fingerprint;
+import ch.sse2poll.core.entities.model.JobRef;
+import ch.sse2poll.core.entities.model.JobStatus;
+import ch.sse2poll.core.entities.model.Partial;
+import ch.sse2poll.core.entities.model.Progress;
+import ch.sse2poll.core.entities.model.Retention;
+import ch.sse2poll.core.framework.cache.OffHeapCacheClient;
+import ch.sse2poll.core.framework.cache.codec.CompactBinaryCodec;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -28,7 +59,7 @@ class CacheBackedPollCoordinatorTest {
     @Test
     void givenNewJobAndAwaitEnabled_WhenComputeCompletesQuickly_ThenReturnsPayloadAndDeletesKey() {
         Context ctx = Context.immediateDefaults("jid-1");
-        Object res = ctx.coordinator().handle("ns", () -> "OK", String.class, Context.rc(null, 200));
+        Object res = ctx.coordinator().handle(Context.ENDPOINT, () -> "OK", Context.NO_ARGS, Context.rc(null, 200));
 
         assertEquals("OK", res);
         assertEquals("ns:jid-1", ctx.cache.lastDeletedKey);
@@ -46,7 +77,7 @@ class CacheBackedPollCoordinatorTest {
                 new Context.DeferringAsyncRunner());
 
         PendingJobException ex = assertThrows(PendingJobException.class,
-                () -> ctx.coordinator().handle("ns", () -> "LATE", String.class, Context.rc(null, 0)));
+                () -> ctx.coordinator().handle(Context.ENDPOINT, () -> "LATE", Context.NO_ARGS, Context.rc(null, 0)));
         assertEquals("jid-2", ex.getJobId());
 
         Optional<Envelope> v = cache.read("ns:jid-2", Object.class);
@@ -59,10 +90,30 @@ class CacheBackedPollCoordinatorTest {
     void givenMissingKey_WhenPoll_ThenThrowsUnknownJobId() {
         Context ctx = Context.immediateDefaults("unused");
         UnknownJobException ex = assertThrows(UnknownJobException.class,
-                () -> ctx.coordinator().handle("ns", () -> "IGNORED", String.class, Context.rc("missing", 0)));
+                () -> ctx.coordinator().handle(Context.ENDPOINT, () -> "IGNORED", Context.NO_ARGS, Context.rc("missing", 0)));
         assertEquals("missing", ex.getJobId());
     }
 
+    @Test
+    void givenPendingJob_WhenPolledWithWait_ThenAwaiterReusesFirstReadAndPendingIsStackless() {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        cache.writePending("ns:jid-p", "jid-p", Duration.ofMinutes(5));
+        Context ctx = new Context(
+                cache,
+                new Context.FixedIdGenerator("unused"),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                new Context.ImmediateAsyncRunner());
+
+        PendingJobException ex = assertThrows(PendingJobException.class,
+                () -> ctx.coordinator().handle(Context.ENDPOINT, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-p", 50)));
+
+        // the initial read plus the re-read for progress after the wait; the awaiter's probe needs no read of its own
+        assertEquals(2, cache.reads.get());
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals("Job jid-p is still running", ex.getMessage());
+    }
+
     @Test
     void givenReadyInCache_WhenPoll_ThenReturnsPayloadAndDeletesKey() {
         Context.InMemoryCache cache = new Context.InMemoryCache();
@@ -77,14 +128,756 @@ class CacheBackedPollCoordinatorTest {
                 new Context.OneShotReadyAwaiter(),
                 new Context.ImmediateAsyncRunner());
 
-        Object res = ctx.coordinator().handle("ns", () -> "IGNORED", String.class, Context.rc("jid-3", 0));
+        Object res = ctx.coordinator().handle(Context.ENDPOINT, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-3", 0));
 
         assertEquals("PAY", res);
         assertEquals(key, cache.lastDeletedKey);
         assertTrue(cache.read(key, Object.class).isEmpty());
     }
 
+    @Test
+    void givenPendingJobWithWait_WhenComputationCompletesLater_ThenAsyncOutcomeCompletesWithPayload() throws Exception {
+        Context.CapturingAsyncRunner async = new Context.CapturingAsyncRunner();
+        Context ctx = new Context(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-4"),
+                new Context.SimpleKeyFactory(),
+                new SignalingReadyAwaiter(),
+                async);
+
+        CompletableFuture<Object> outcome = ctx.coordinator()
+                .handleAsync(Context.ENDPOINT, () -> "LATER", Context.NO_ARGS, Context.rc(null, 5_000));
+        assertFalse(outcome.isDone());
+
+        async.completeNext();
+
+        assertEquals("LATER", outcome.get(1, TimeUnit.SECONDS));
+        assertTrue(ctx.cache.read("ns:jid-4", Object.class).isEmpty());
+    }
+
+    @Test
+    void givenPendingJobWithWait_WhenWaitElapses_ThenAsyncOutcomeFailsWithPending() {
+        Context ctx = new Context(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-5"),
+                new Context.SimpleKeyFactory(),
+                new SignalingReadyAwaiter(),
+                new Context.DeferringAsyncRunner());
+
+        CompletableFuture<Object> outcome = ctx.coordinator()
+                .handleAsync(Context.ENDPOINT, () -> "NEVER", Context.NO_ARGS, Context.rc(null, 50));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> outcome.get(1, TimeUnit.SECONDS));
+        PendingJobException pending = assertInstanceOf(PendingJobException.class, ex.getCause());
+        assertEquals("jid-5", pending.getJobId());
+    }
+
+    @Test
+    void givenBatchOfPendingJobs_WhenOneCompletesDuringWait_ThenBatchAnswersWithItAndOthersStayPending() throws Exception {
+        Context.CapturingAsyncRunner async = new Context.CapturingAsyncRunner();
+        Context ctx = new Context(
+                new Context.InMemoryCache(),
+                new Context.SequentialIdGenerator(),
+                new Context.SimpleKeyFactory(),
+                new SignalingReadyAwaiter(),
+                async);
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, () -> "FIRST", Context.NO_ARGS, Context.rc(null, 0)));
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, () -> "SECOND", Context.NO_ARGS, Context.rc(null, 0)));
+        List<JobRef> jobs = List.of(new JobRef("ns", "jid-1"), new JobRef("ns", "jid-2"));
+
+        CompletableFuture<List<JobStatus>> outcome = coordinator.pollAny(jobs, 5_000);
+        assertFalse(outcome.isDone());
+        async.completeNext();
+
+        List<JobStatus> statuses = outcome.get(1, TimeUnit.SECONDS);
+        assertEquals(JobStatus.State.READY, statuses.get(0).state());
+        assertEquals("FIRST", statuses.get(0).payload());
+        assertEquals(JobStatus.State.PENDING, statuses.get(1).state());
+        assertTrue(ctx.cache.read("ns:jid-1", Object.class).isEmpty());
+
+        // an unknown job settles the batch at once, without waiting on the one still running
+        List<JobStatus> again = coordinator.pollAny(List.of(new JobRef("ns", "jid-2"), new JobRef("ns", "gone")), 5_000)
+                .get(1, TimeUnit.SECONDS);
+        assertEquals(JobStatus.State.PENDING, again.get(0).state());
+        assertEquals(JobStatus.State.UNKNOWN, again.get(1).state());
+    }
+
+    @Test
+    void givenCompactCodecStore_WhenAnotherNodeBatchPollsAndCancels_ThenRecordsDecodeWithoutItsRoutes() throws Exception {
+        OffHeapCacheClient shared = new OffHeapCacheClient(100, 1 << 20, new CompactBinaryCodec());
+        Context.CapturingAsyncRunner async = new Context.CapturingAsyncRunner();
+        CacheBackedPollCoordinator kickoffNode = new CacheBackedPollCoordinator(shared,
+                new Context.SequentialIdGenerator(), new Context.SimpleKeyFactory(), new Context.OneShotReadyAwaiter(),
+                async);
+        // never served the endpoint, so it reads the shared entries without knowing their stored type
+        CacheBackedPollCoordinator otherNode = new CacheBackedPollCoordinator(shared,
+                new Context.SequentialIdGenerator(), new Context.SimpleKeyFactory(), new Context.OneShotReadyAwaiter(),
+                new Context.CapturingAsyncRunner());
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", Context.Quote.class);
+        Context.Quote quote = new Context.Quote("A-1", List.of(new Context.Quote("B-2", List.of())));
+        for (int i = 0; i < 2; i++) {
+            assertThrows(PendingJobException.class,
+                    () -> kickoffNode.handle(endpoint, () -> quote, Context.NO_ARGS, Context.rc(null, 0)));
+            async.completeNext();
+        }
+
+        List<JobStatus> statuses = otherNode.pollAny(List.of(new JobRef("ns", "jid-1")), 0).get(1, TimeUnit.SECONDS);
+
+        assertEquals(JobStatus.State.READY, statuses.get(0).state());
+        assertEquals(quote, statuses.get(0).payload());
+        assertTrue(otherNode.cancel("ns", "jid-2"));
+        assertFalse(shared.exists("ns:jid-2"));
+        assertFalse(otherNode.cancel("ns", "jid-2"));
+    }
+
+    @Test
+    void givenCoalescingEndpoint_WhenIdenticalKickoffsOverlap_ThenSingleComputationFeedsEveryJob() {
+        Context.CapturingAsyncRunner async = new Context.CapturingAsyncRunner();
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context ctx = new Context(
+                cache,
+                new Context.SequentialIdGenerator(),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                async);
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withCoalesce(true);
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> "SHARED", new Object[]{"keyboard"}, Context.rc(null, 0)));
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> "SHARED", new Object[]{"keyboard"}, Context.rc(null, 0)));
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> "OTHER", new Object[]{"mouse"}, Context.rc(null, 0)));
+        assertEquals(2, async.pendingTasks());
+
+        async.completeNext();
+
+        assertEquals("SHARED", coordinator.handle(endpoint, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-1", 0)));
+        assertEquals("SHARED", coordinator.handle(endpoint, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-2", 0)));
+        assertTrue(cache.read("ns:jid-3", Object.class).orElseThrow() instanceof Pending);
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> "FRESH", new Object[]{"keyboard"}, Context.rc(null, 0)));
+        assertEquals(2, async.pendingTasks());
+    }
+
+    @Test
+    void givenMemoizingEndpoint_WhenKickoffRepeatsArguments_ThenServesResultWithoutNewJob() {
+        Context.InMemoryResultCache results = new Context.InMemoryResultCache();
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(
+                cache,
+                new Context.SequentialIdGenerator(),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                new Context.ImmediateAsyncRunner(),
+                CacheBackedPollCoordinator.Options.defaults().withResultCache(results));
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withCacheFor(Duration.ofSeconds(30));
+        AtomicInteger computations = new AtomicInteger();
+        Supplier<String> compute = () -> "RESULT-" + computations.incrementAndGet();
+
+        assertEquals("RESULT-1", coordinator.handle(endpoint, compute, new Object[]{"keyboard"}, Context.rc(null, 100)));
+        assertEquals("RESULT-1", coordinator.handle(endpoint, compute, new Object[]{"keyboard"}, Context.rc(null, 0)));
+        assertEquals("RESULT-2", coordinator.handle(endpoint, compute, new Object[]{"mouse"}, Context.rc(null, 100)));
+
+        assertEquals(2, computations.get());
+        assertTrue(cache.store.isEmpty());
+        assertEquals(Duration.ofSeconds(30), results.lastTtl);
+    }
+
+    @Test
+    void givenPreEncodingEndpoint_WhenComputeCompletes_ThenWorkerStoresEncodedBodyForPoll() {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context.CapturingAsyncRunner runner = new Context.CapturingAsyncRunner();
+        AtomicInteger encodings = new AtomicInteger();
+        CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(
+                cache,
+                new Context.FixedIdGenerator("jid-enc"),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                runner,
+                CacheBackedPollCoordinator.Options.defaults().withBodyEncoder(payload -> {
+                    encodings.incrementAndGet();
+                    return new EncodedBody(payload.toString().getBytes(StandardCharsets.UTF_8), "text/plain");
+                }));
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withPreEncode(true);
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> "REPORT", Context.NO_ARGS, Context.rc(null, 0)));
+        runner.completeNext();
+        assertEquals(1, encodings.get());
+        Object polled = coordinator.handle(endpoint, () -> "UNUSED", Context.NO_ARGS, Context.rc("jid-enc", 0));
+
+        EncodedBody body = assertInstanceOf(EncodedBody.class, polled);
+        assertEquals("REPORT", new String(body.bytes(), StandardCharsets.UTF_8));
+        assertEquals("text/plain", body.contentType());
+    }
+
+    @Test
+    void givenStreamingJob_WhenPolledWithCursor_ThenReturnsNewChunksUntilFinalResult() throws Exception {
+        Context ctx = new Context(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-s"),
+                new Context.SimpleKeyFactory(),
+                new SignalingReadyAwaiter(),
+                new VirtualThreadAsyncRunner());
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        CountDownLatch secondBatch = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Supplier<String> compute = () -> {
+            JobContext.emitter().emit("a");
+            JobContext.emitter().emit("b");
+            firstBatch.countDown();
+            Context.await(resume);
+            JobContext.emitter().emit("c");
+            secondBatch.countDown();
+            Context.await(finish);
+            return "abc";
+        };
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc(null, 0)));
+        assertTrue(firstBatch.await(1, TimeUnit.SECONDS));
+
+        assertEquals(new ChunkPage("jid-s", List.of("a", "b"), "2"),
+                coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc("jid-s", 0, "0")));
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc("jid-s", 0, "2")));
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc("jid-s", 0)));
+
+        resume.countDown();
+        assertTrue(secondBatch.await(1, TimeUnit.SECONDS));
+        assertEquals(new ChunkPage("jid-s", List.of("c"), "3"),
+                coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc("jid-s", 0, "2")));
+
+        finish.countDown();
+        assertEquals("abc", coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc("jid-s", 2_000, "3")));
+        assertTrue(ctx.cache.store.isEmpty());
+    }
+
+    @Test
+    void givenCompletionBus_WhenJobEmitsBurstOfChunks_ThenOtherNodesHearOfTheBurstOnceAndOfTheResult() {
+        List<String> published = new CopyOnWriteArrayList<>();
+        CompletionBus bus = new CompletionBus() {
+            @Override
+            public void publish(String key) {
+                published.add(key);
+            }
+
+            @Override
+            public void subscribe(Consumer<String> listener) {
+            }
+        };
+        Context.CapturingAsyncRunner async = new Context.CapturingAsyncRunner();
+        Context ctx = new Context(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-b"),
+                new Context.SimpleKeyFactory(),
+                new SignalingReadyAwaiter(bus),
+                async);
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+
+        assertThrows(PendingJobException.class, () -> coordinator.handle(Context.ENDPOINT, () -> {
+            for (String chunk : List.of("a", "b", "c")) {
+                JobContext.emitter().emit(chunk);
+            }
+            return "abc";
+        }, Context.NO_ARGS, Context.rc(null, 0)));
+        async.completeNext();
+
+        // the first chunk of the burst and the final result
+        assertEquals(List.of("ns:jid-b", "ns:jid-b"), published);
+    }
+
+    @Test
+    void givenWaitingCursorPoll_WhenJobEmitsChunk_ThenPollReturnsWithoutSleepingOutTheWait() throws Exception {
+        Context ctx = new Context(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-w"),
+                new Context.SimpleKeyFactory(),
+                new SignalingReadyAwaiter(),
+                new VirtualThreadAsyncRunner());
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Supplier<String> compute = () -> {
+            Context.await(first);
+            JobContext.emitter().emit("a");
+            Context.await(second);
+            JobContext.emitter().emit("b");
+            Context.await(finish);
+            return "ab";
+        };
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc(null, 0)));
+
+        CompletableFuture<Object> parked = CompletableFuture.supplyAsync(() ->
+                coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc("jid-w", 10_000, "0")));
+        first.countDown();
+        assertEquals(new ChunkPage("jid-w", List.of("a"), "1"), parked.get(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Object> parkedAsync = coordinator.handleAsync(Context.ENDPOINT, compute, Context.NO_ARGS,
+                Context.rc("jid-w", 10_000, "1"));
+        second.countDown();
+        assertEquals(new ChunkPage("jid-w", List.of("b"), "2"), parkedAsync.get(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Object> last = coordinator.handleAsync(Context.ENDPOINT, compute, Context.NO_ARGS,
+                Context.rc("jid-w", 10_000, "2"));
+        finish.countDown();
+        assertEquals("ab", last.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenJobReportingProgress_WhenPolled_ThenPendingCarriesThrottledProgress() throws Exception {
+        Context ctx = new Context(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-p"),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                new VirtualThreadAsyncRunner());
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        CountDownLatch scanned = new CountDownLatch(1);
+        CountDownLatch merging = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Supplier<String> compute = () -> {
+            JobContext.progress().report(10, "scan");
+            JobContext.progress().report(20, "scan");
+            scanned.countDown();
+            Context.await(resume);
+            JobContext.progress().report(40, "merge", Duration.ofSeconds(3));
+            merging.countDown();
+            Context.await(finish);
+            return "done";
+        };
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc(null, 0)));
+        assertTrue(scanned.await(1, TimeUnit.SECONDS));
+        PendingJobException scanning = assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc("jid-p", 0)));
+        assertEquals(new Progress(10, "scan", null), scanning.getProgress());
+
+        resume.countDown();
+        assertTrue(merging.await(1, TimeUnit.SECONDS));
+        PendingJobException merged = assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, compute, Context.NO_ARGS, Context.rc("jid-p", 0)));
+        assertEquals(new Progress(40, "merge", 3_000L), merged.getProgress());
+
+        finish.countDown();
+    }
+
+    @Test
+    void givenCompletionTimeModel_WhenJobStillPending_ThenPendingCarriesPollHint() {
+        Map<String, Long> recorded = new ConcurrentHashMap<>();
+        CompletionTimeModel model = new CompletionTimeModel() {
+            @Override
+            public void record(String namespace, long durationNanos) {
+                recorded.put(namespace, durationNanos);
+            }
+
+            @Override
+            public Optional<PollHint> hint(String namespace, long elapsedNanos) {
+                return Optional.of(new PollHint(Duration.ofSeconds(4), Duration.ofSeconds(6)));
+            }
+        };
+        Context.CapturingAsyncRunner runner = new Context.CapturingAsyncRunner();
+        CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-h"),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                runner,
+                CacheBackedPollCoordinator.Options.defaults().withCompletionTimes(model));
+
+        PendingJobException ex = assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, () -> "OK", Context.NO_ARGS, Context.rc(null, 0)));
+        runner.completeNext();
+
+        assertEquals(Duration.ofSeconds(4), ex.getRetryAfter());
+        assertEquals(Duration.ofSeconds(6), ex.getSuggestedWait());
+        assertTrue(recorded.containsKey("ns"));
+    }
+
+    @Test
+    void givenCompletionTimeModel_WhenJobsFailOrSucceed_ThenOnlySuccessfulDurationsAreRecorded() {
+        Queue<String> recorded = new ConcurrentLinkedQueue<>();
+        CompletionTimeModel model = new CompletionTimeModel() {
+            @Override
+            public void record(String namespace, long durationNanos) {
+                recorded.add(namespace);
+            }
+
+            @Override
+            public Optional<PollHint> hint(String namespace, long elapsedNanos) {
+                return Optional.empty();
+            }
+        };
+        Context.CapturingAsyncRunner runner = new Context.CapturingAsyncRunner();
+        CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(
+                new Context.InMemoryCache(),
+                new Context.SequentialIdGenerator(),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                runner,
+                CacheBackedPollCoordinator.Options.defaults().withCompletionTimes(model));
+
+        assertThrows(PendingJobException.class, () -> coordinator.handle(Context.ENDPOINT, () -> {
+            throw new IllegalStateException("boom");
+        }, Context.NO_ARGS, Context.rc(null, 0)));
+        runner.completeNext();
+        assertTrue(recorded.isEmpty());
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, () -> "OK", Context.NO_ARGS, Context.rc(null, 0)));
+        runner.completeNext();
+        assertEquals(List.of("ns"), List.copyOf(recorded));
+    }
+
+    @Test
+    void givenMetrics_WhenJobIsKickedOffAndPolledToCompletion_ThenOutcomesAndTimingsAreReported() {
+        Queue<String> recorded = new ConcurrentLinkedQueue<>();
+        PollMetrics metrics = new PollMetrics() {
+            @Override
+            public void kickoff(String namespace) {
+                recorded.add("kickoff:" + namespace);
+            }
+
+            @Override
+            public void poll(String namespace, String jobId, PollOutcome outcome) {
+                recorded.add("poll:" + jobId + ":" + outcome);
+            }
+
+            @Override
+            public void jobQueued(String namespace) {
+                recorded.add("queued");
+            }
+
+            @Override
+            public void jobFinished(String namespace, long queueNanos, long computeNanos) {
+                recorded.add(queueNanos >= 0 && computeNanos >= 0 ? "finished" : "finished-without-timing");
+            }
+        };
+        Context.CapturingAsyncRunner runner = new Context.CapturingAsyncRunner();
+        CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-m"),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                runner,
+                CacheBackedPollCoordinator.Options.defaults().withMetrics(metrics));
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, () -> "OK", Context.NO_ARGS, Context.rc(null, 0)));
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, () -> "OK", Context.NO_ARGS, Context.rc("jid-m", 0)));
+        runner.completeNext();
+        assertEquals("OK", coordinator.handle(Context.ENDPOINT, () -> "OK", Context.NO_ARGS, Context.rc("jid-m", 0)));
+        assertThrows(UnknownJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, () -> "OK", Context.NO_ARGS, Context.rc("jid-m", 0)));
+
+        assertEquals(List.of("kickoff:ns", "queued", "poll:jid-m:PENDING", "finished", "poll:jid-m:READY",
+                "poll:jid-m:UNKNOWN"), List.copyOf(recorded));
+    }
+
+    @Test
+    void givenRetention_WhenReadyResultPolledAgain_ThenRetainedCopyServesRetriesUntilReadBudgetRunsOut() {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        cache.writeReady("ns:jid-r", "PAY", Duration.ofMinutes(5));
+        CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(
+                cache,
+                new Context.FixedIdGenerator("unused"),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                new Context.ImmediateAsyncRunner(),
+                CacheBackedPollCoordinator.Options.defaults().withRetention(new Retention(Duration.ofMinutes(1), 2)));
+
+        assertEquals("PAY", coordinator.handle(Context.ENDPOINT, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-r", 0)));
+        assertEquals("PAY", coordinator.handle(Context.ENDPOINT, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-r", 0)));
+        List<JobStatus> batch = coordinator.pollAny(List.of(new JobRef("ns", "jid-r")), 0).join();
+        assertEquals("PAY", batch.get(0).payload());
+
+        assertThrows(UnknownJobException.class,
+                () -> coordinator.handle(Context.ENDPOINT, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-r", 0)));
+        assertTrue(cache.store.isEmpty());
+    }
+
+    @Test
+    void givenEndpointLifecycle_WhenJobRunsAndIsPolled_ThenPartitionTtlsAndMaxWaitApply() {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context.CapturingAsyncRunner runner = new Context.CapturingAsyncRunner();
+        List<Long> waits = new CopyOnWriteArrayList<>();
+        ReadyAwaiter recordingAwaiter = new ReadyAwaiter() {
+            @Override
+            public <T> Optional<Ready<T>> waitReady(String key, long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady) {
+                waits.add(waitMs);
+                return tryConsumeReady.get();
+            }
+        };
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withLifecycle(
+                new PollCoordinator.Lifecycle(Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofMillis(250),
+                        "reports"));
+        CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(
+                cache, new Context.FixedIdGenerator("jid-l"), new Context.SimpleKeyFactory(), recordingAwaiter, runner);
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> "DONE", Context.NO_ARGS, Context.rc(null, 0)));
+        Context.InMemoryCache partition = cache.partitions.get("reports");
+        assertTrue(cache.store.isEmpty());
+        assertInstanceOf(Pending.class, partition.store.get("ns:jid-l"));
+        assertEquals(Duration.ofSeconds(1), partition.lastTtl);
+
+        runner.completeNext();
+        assertEquals(Duration.ofSeconds(2), partition.lastTtl);
+
+        assertEquals("DONE", coordinator.handle(endpoint, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-l", 60_000)));
+        assertEquals(List.of(250L), waits);
+        assertTrue(partition.store.isEmpty());
+        assertTrue(cache.store.isEmpty());
+    }
+
+    @Test
+    void givenRegisteredPartitionedEndpoint_WhenAnotherNodePollsOrCancelsBeforeAnyRequest_ThenItReadsThePartition()
+            throws Exception {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context.CapturingAsyncRunner runner = new Context.CapturingAsyncRunner();
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withLifecycle(
+                new PollCoordinator.Lifecycle(null, null, null, "reports"));
+        CacheBackedPollCoordinator kickoffNode = new CacheBackedPollCoordinator(cache,
+                new Context.SequentialIdGenerator(), new Context.SimpleKeyFactory(), new Context.OneShotReadyAwaiter(),
+                runner);
+        CacheBackedPollCoordinator otherNode = new CacheBackedPollCoordinator(cache,
+                new Context.SequentialIdGenerator(), new Context.SimpleKeyFactory(), new Context.OneShotReadyAwaiter(),
+                new Context.CapturingAsyncRunner());
+        for (int i = 0; i < 2; i++) {
+            assertThrows(PendingJobException.class,
+                    () -> kickoffNode.handle(endpoint, () -> "DONE", Context.NO_ARGS, Context.rc(null, 0)));
+            runner.completeNext();
+        }
+
+        otherNode.register(endpoint);
+
+        List<JobStatus> statuses = otherNode.pollAny(List.of(new JobRef("ns", "jid-1")), 0).get(1, TimeUnit.SECONDS);
+        assertEquals(JobStatus.State.READY, statuses.get(0).state());
+        assertEquals("DONE", statuses.get(0).payload());
+        assertTrue(otherNode.cancel("ns", "jid-2"));
+        assertTrue(cache.partitions.get("reports").store.isEmpty());
+    }
+
+    @Test
+    void givenStoreWithoutPartitions_WhenPartitionedEndpointRegisters_ThenRegistrationFails() {
+        CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(
+                new OffHeapCacheClient(100, 1 << 20, new CompactBinaryCodec()), new Context.SequentialIdGenerator(),
+                new Context.SimpleKeyFactory(), new Context.OneShotReadyAwaiter(), new Context.CapturingAsyncRunner());
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withLifecycle(
+                new PollCoordinator.Lifecycle(null, null, null, "reports"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> coordinator.register(endpoint));
+
+        assertTrue(ex.getMessage().contains("reports"));
+    }
+
+    @Test
+    void givenRejectingRunner_WhenKickoff_ThenPendingEntryRemovedAndRejectionPropagated() {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context ctx = new Context(
+                cache,
+                new Context.FixedIdGenerator("jid-6"),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                new Context.RejectingAsyncRunner());
+
+        assertThrows(RejectedJobException.class,
+                () -> ctx.coordinator().handle(Context.ENDPOINT, () -> "NOPE", Context.NO_ARGS, Context.rc(null, 0)));
+
+        assertTrue(cache.store.isEmpty());
+        assertEquals("ns:jid-6", cache.lastDeletedKey);
+    }
+
+    @Test
+    void givenWaitingPoll_WhenComputationThrows_ThenWakesWithFailureAndConsumesEntry() throws Exception {
+        Context.CapturingAsyncRunner async = new Context.CapturingAsyncRunner();
+        Context ctx = new Context(
+                new Context.InMemoryCache(),
+                new Context.FixedIdGenerator("jid-7"),
+                new Context.SimpleKeyFactory(),
+                new SignalingReadyAwaiter(),
+                async);
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        assertThrows(PendingJobException.class, () -> coordinator.handle(Context.ENDPOINT,
+                () -> { throw new IllegalStateException("boom"); }, Context.NO_ARGS, Context.rc(null, 0)));
+
+        CompletableFuture<Object> outcome = coordinator
+                .handleAsync(Context.ENDPOINT, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-7", 5_000));
+        assertFalse(outcome.isDone());
+
+        async.completeNext();
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> outcome.get(1, TimeUnit.SECONDS));
+        FailedJobException failed = assertInstanceOf(FailedJobException.class, ex.getCause());
+        assertEquals("jid-7", failed.getJobId());
+        assertEquals(500, failed.getStatus());
+        assertThrows(UnknownJobException.class, () -> coordinator.handle(Context.ENDPOINT,
+                () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-7", 0)));
+    }
+
+    @Test
+    void givenReadyWriteThrows_WhenWorkerCompletes_ThenPollGetsFailureInsteadOfPending() throws Exception {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        cache.writeReadyFailure = new IllegalStateException("payload does not serialize");
+        Context ctx = new Context(
+                cache,
+                new Context.FixedIdGenerator("jid-8"),
+                new Context.SimpleKeyFactory(),
+                new SignalingReadyAwaiter(),
+                new VirtualThreadAsyncRunner());
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        CountDownLatch release = new CountDownLatch(1);
+        assertThrows(PendingJobException.class, () -> coordinator.handle(Context.ENDPOINT, () -> {
+            Context.await(release);
+            return "UNSTORABLE";
+        }, Context.NO_ARGS, Context.rc(null, 0)));
+
+        CompletableFuture<Object> outcome = coordinator
+                .handleAsync(Context.ENDPOINT, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-8", 5_000));
+        release.countDown();
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> outcome.get(2, TimeUnit.SECONDS));
+        FailedJobException failed = assertInstanceOf(FailedJobException.class, ex.getCause());
+        assertEquals("jid-8", failed.getJobId());
+        assertEquals(500, failed.getStatus());
+    }
+
+    @Test
+    void givenRunningJob_WhenCancelled_ThenComputationInterruptedAndEntryRemoved() throws Exception {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context ctx = new Context(
+                cache,
+                new Context.FixedIdGenerator("jid-8"),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                new VirtualThreadAsyncRunner());
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+
+        assertThrows(PendingJobException.class, () -> coordinator.handle(Context.ENDPOINT, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                interrupted.complete(false);
+            } catch (InterruptedException ie) {
+                interrupted.complete(true);
+            }
+            return "TOO LATE";
+        }, Context.NO_ARGS, Context.rc(null, 0)));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        assertTrue(coordinator.cancel("ns", "jid-8"));
+
+        assertTrue(interrupted.get(1, TimeUnit.SECONDS));
+        assertTrue(cache.store.isEmpty());
+        assertFalse(coordinator.cancel("ns", "jid-8"));
+    }
+
+    @Test
+    void givenAsyncEndpoint_WhenStageCompletesLaterOrIsCancelled_ThenResultFollowsStageWithoutRunner() {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context ctx = new Context(
+                cache,
+                new Context.SequentialIdGenerator(),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                new Context.RejectingAsyncRunner());
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withAsync(true);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> first, Context.NO_ARGS, Context.rc(null, 0)));
+        first.complete("LATER");
+        assertEquals("LATER", coordinator.handle(endpoint, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-1", 0)));
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> second, Context.NO_ARGS, Context.rc(null, 0)));
+        assertTrue(coordinator.cancel("ns", "jid-2"));
+        assertTrue(second.isCancelled());
+        assertTrue(cache.store.isEmpty());
+    }
+
+    @Test
+    void givenBoundedRunner_WhenStagesOutnumberSlots_ThenKickoffRejectedUntilAStageSettles() {
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context ctx = new Context(
+                cache,
+                new Context.SequentialIdGenerator(),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                new BoundedAsyncRunner(new VirtualThreadAsyncRunner(), namespace -> new FixedConcurrencyLimit(1), 0));
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withAsync(true);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> first, Context.NO_ARGS, Context.rc(null, 0)));
+        assertThrows(RejectedJobException.class, () -> coordinator.handle(endpoint, () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<String>();
+        }, Context.NO_ARGS, Context.rc(null, 0)));
+        assertEquals(0, started.get());
+        assertFalse(cache.store.containsKey("ns:jid-2"));
+
+        first.complete("DONE");
+        assertThrows(PendingJobException.class,
+                () -> coordinator.handle(endpoint, () -> second, Context.NO_ARGS, Context.rc(null, 0)));
+        // a cancelled stage hands its slot back as well
+        assertTrue(coordinator.cancel("ns", "jid-3"));
+        assertThrows(PendingJobException.class, () -> coordinator.handle(endpoint,
+                () -> new CompletableFuture<String>(), Context.NO_ARGS, Context.rc(null, 0)));
+    }
+
+    @Test
+    void givenCoalescedJobs_WhenOneCancelled_ThenSharedComputationStillFeedsTheOther() {
+        Context.CapturingAsyncRunner async = new Context.CapturingAsyncRunner();
+        Context.InMemoryCache cache = new Context.InMemoryCache();
+        Context ctx = new Context(
+                cache,
+                new Context.SequentialIdGenerator(),
+                new Context.SimpleKeyFactory(),
+                new Context.OneShotReadyAwaiter(),
+                async);
+        CacheBackedPollCoordinator coordinator = ctx.coordinator();
+        PollCoordinator.Endpoint endpoint = PollCoordinator.Endpoint.of("ns", String.class).withCoalesce(true);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(PendingJobException.class,
+                    () -> coordinator.handle(endpoint, () -> "SHARED", new Object[]{"dock"}, Context.rc(null, 0)));
+        }
+
+        assertTrue(coordinator.cancel("ns", "jid-1"));
+        async.completeNext();
+
+        assertFalse(cache.store.containsKey("ns:jid-1"));
+        assertEquals("SHARED", coordinator.handle(endpoint, () -> "IGNORED", Context.NO_ARGS, Context.rc("jid-2", 0)));
+    }
+
     static final class Context {
+        static final PollCoordinator.Endpoint ENDPOINT = PollCoordinator.Endpoint.of("ns", String.class);
+        static final Object[] NO_ARGS = new Object[0];
+
+        record Quote(String sku, List<Quote> parts) {
+        }
+
         final InMemoryCache cache;
         final IdGenerator idGen;
         final KeyFactory keys;
@@ -108,7 +901,22 @@ class CacheBackedPollCoordinatorTest {
             return new CacheBackedPollCoordinator(cache, idGen, keys, awaiter, async);
         }
 
+        static void await(CountDownLatch latch) {
+            try {
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("latch not released");
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ie);
+            }
+        }
+
         static PollCoordinator.RequestContextView rc(String jobId, long waitMs) {
+            return rc(jobId, waitMs, null);
+        }
+
+        static PollCoordinator.RequestContextView rc(String jobId, long waitMs, String cursor) {
             return new PollCoordinator.RequestContextView() {
                 @Override
                 public String clientJobId() {
@@ -119,26 +927,58 @@ class CacheBackedPollCoordinatorTest {
                 public long waitMs() {
                     return waitMs;
                 }
+
+                @Override
+                public String cursor() {
+                    return cursor;
+                }
             };
         }
 
         static final class InMemoryCache implements CacheClient {
             final Map<String, Envelope> store = new ConcurrentHashMap<>();
+            final AtomicInteger reads = new AtomicInteger();
+            final Map<String, InMemoryCache> partitions = new ConcurrentHashMap<>();
             volatile String lastDeletedKey;
+            volatile Duration lastTtl;
+            volatile RuntimeException writeReadyFailure;
 
             @Override
             public Optional<Envelope> read(String key, Class<?> bodyType) {
+                reads.incrementAndGet();
                 return Optional.ofNullable(store.get(key));
             }
 
             @Override
             public void writePending(String key, String jobId, Duration ttl) {
                 store.put(key, new Pending(jobId));
+                lastTtl = ttl;
+            }
+
+            @Override
+            public void writePartial(String key, Partial partial, Duration ttl) {
+                store.put(key, partial);
+            }
+
+            @Override
+            public void updateProgress(String key, Progress progress, Duration ttl) {
+                store.computeIfPresent(key, (k, envelope) -> envelope instanceof Pending pending
+                        ? pending.withProgress(progress)
+                        : envelope);
             }
 
             @Override
             public void writeReady(String key, Object payload, Duration ttl) {
+                if (writeReadyFailure != null) {
+                    throw writeReadyFailure;
+                }
                 store.put(key, new Ready<>(payload));
+                lastTtl = ttl;
+            }
+
+            @Override
+            public void writeFailed(String key, Failed failure, Duration ttl) {
+                store.put(key, failure);
             }
 
             @Override
@@ -146,6 +986,27 @@ class CacheBackedPollCoordinatorTest {
                 store.remove(key);
                 lastDeletedKey = key;
             }
+
+            @Override
+            public CacheClient partition(String name) {
+                return partitions.computeIfAbsent(name, ignored -> new InMemoryCache());
+            }
+        }
+
+        static final class InMemoryResultCache implements ResultCache {
+            final Map<Fingerprint, Ready<?>> store = new ConcurrentHashMap<>();
+            volatile Duration lastTtl;
+
+            @Override
+            public Optional<Ready<?>> read(Fingerprint fingerprint) {
+                return Optional.ofNullable(store.get(fingerprint));
+            }
+
+            @Override
+            public void write(Fingerprint fingerprint, Object payload, Duration ttl) {
+                store.put(fingerprint, new Ready<>(payload));
+                lastTtl = ttl;
+            }
         }
 
         static final class ImmediateAsyncRunner implements AsyncRunner {
@@ -155,6 +1016,44 @@ class CacheBackedPollCoordinatorTest {
             }
         }
 
+        static final class CapturingAsyncRunner implements AsyncRunner {
+            private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+            @Override
+            public <T> void run(Supplier<T> compute, Consumer<T> onSuccess) {
+                tasks.add(() -> onSuccess.accept(compute.get()));
+            }
+
+            @Override
+            public <T> void run(String namespace, Supplier<T> compute, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+                tasks.add(() -> {
+                    T payload;
+                    try {
+                        payload = compute.get();
+                    } catch (RuntimeException ex) {
+                        onFailure.accept(ex);
+                        return;
+                    }
+                    onSuccess.accept(payload);
+                });
+            }
+
+            void completeNext() {
+                tasks.remove().run();
+            }
+
+            int pendingTasks() {
+                return tasks.size();
+            }
+        }
+
+        static final class RejectingAsyncRunner implements AsyncRunner {
+            @Override
+            public <T> void run(Supplier<T> compute, Consumer<T> onSuccess) {
+                throw new RejectedJobException("ns", Duration.ofSeconds(1));
+            }
+        }
+
         static final class DeferringAsyncRunner implements AsyncRunner {
             @Override
             public <T> void run(Supplier<T> compute, Consumer<T> onSuccess) {
@@ -163,7 +1062,7 @@ class CacheBackedPollCoordinatorTest {
 
         static final class OneShotReadyAwaiter implements ReadyAwaiter {
             @Override
-            public <T> Optional<Ready<T>> waitReady(long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady) {
+            public <T> Optional<Ready<T>> waitReady(String key, long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady) {
                 return tryConsumeReady.get();
             }
         }
@@ -181,6 +1080,15 @@ class CacheBackedPollCoordinatorTest {
             }
         }
 
+        static final class SequentialIdGenerator implements IdGenerator {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public String newId() {
+                return "jid-" + counter.incrementAndGet();
+            }
+        }
+
         static final class SimpleKeyFactory implements KeyFactory {
             @Override
             public String build(String namespace, String jobId) {
@@ -0,0 +1,113 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.exception.RejectedJobException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedAsyncRunnerTest {
+
+    @Test
+    void givenFullBulkhead_WhenKickoffArrives_ThenRejectedWithRetryAfter() throws Exception {
+        Context ctx = Context.fixed(1, 1);
+
+        ctx.runner.run("ns", ctx::blockUntilReleased, ctx::complete);
+        ctx.runner.run("ns", ctx::blockUntilReleased, ctx::complete);
+
+        RejectedJobException ex = assertThrows(RejectedJobException.class,
+                () -> ctx.runner.run("ns", ctx::blockUntilReleased, ctx::complete));
+        assertEquals("ns", ex.getNamespace());
+        assertTrue(ex.getRetryAfter().compareTo(Duration.ofSeconds(1)) >= 0);
+
+        ctx.release.countDown();
+        assertTrue(ctx.completions.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenFullBulkhead_WhenOtherNamespaceKicksOff_ThenAdmitted() throws Exception {
+        Context ctx = Context.fixed(1, 0);
+
+        ctx.runner.run("busy", ctx::blockUntilReleased, ctx::complete);
+        assertThrows(RejectedJobException.class,
+                () -> ctx.runner.run("busy", ctx::blockUntilReleased, ctx::complete));
+
+        ctx.runner.run("idle", ctx::blockUntilReleased, ctx::complete);
+
+        ctx.release.countDown();
+        assertTrue(ctx.completions.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenQueuedJob_WhenCancelled_ThenLeavesQueueWithoutComputing() throws Exception {
+        Context ctx = Context.fixed(1, 1);
+        CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        AtomicBoolean computed = new AtomicBoolean();
+
+        ctx.runner.run("ns", ctx::blockUntilReleased, ctx::complete);
+        ctx.runner.run("ns", () -> computed.getAndSet(true), flag -> {
+        }, failure::complete, cancelled);
+        assertThrows(RejectedJobException.class,
+                () -> ctx.runner.run("ns", ctx::blockUntilReleased, ctx::complete));
+
+        cancelled.complete(null);
+
+        assertInstanceOf(CancellationException.class, failure.get(2, TimeUnit.SECONDS));
+        // the queue place is free again while the first job still holds the only running slot
+        ctx.runner.run("ns", ctx::blockUntilReleased, ctx::complete);
+        ctx.release.countDown();
+        assertTrue(ctx.completions.await(2, TimeUnit.SECONDS));
+        assertFalse(computed.get());
+    }
+
+    @Test
+    void givenGradientLimit_WhenLatencyRises_ThenLimitShrinks() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), limit.limit());
+        }
+        int grown = limit.limit();
+        assertTrue(grown > 10);
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(200), limit.limit());
+        }
+        assertTrue(limit.limit() < grown);
+    }
+
+    static final class Context {
+        final BoundedAsyncRunner runner;
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completions = new CountDownLatch(2);
+
+        Context(BoundedAsyncRunner runner) {
+            this.runner = runner;
+        }
+
+        static Context fixed(int maxInFlight, int maxQueued) {
+            return new Context(new BoundedAsyncRunner(new VirtualThreadAsyncRunner(),
+                    namespace -> new FixedConcurrencyLimit(maxInFlight), maxQueued));
+        }
+
+        String blockUntilReleased() {
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return "done";
+        }
+
+        void complete(String payload) {
+            completions.countDown();
+        }
+    }
+}
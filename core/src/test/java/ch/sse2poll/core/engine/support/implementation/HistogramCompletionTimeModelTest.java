@@ -0,0 +1,69 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.support.interfaces.CompletionTimeModel.PollHint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramCompletionTimeModelTest {
+
+    @Test
+    void givenTooFewSamples_WhenHinting_ThenNoHint() {
+        HistogramCompletionTimeModel model = new HistogramCompletionTimeModel(Duration.ofSeconds(30));
+
+        Context.record(model, "ns", 200, 10);
+
+        assertTrue(model.hint("ns", 0).isEmpty());
+        assertTrue(model.hint("other", 0).isEmpty());
+    }
+
+    @Test
+    void givenBimodalNamespace_WhenJobOutlivesFastMode_ThenHintTracksRemainingSlowMode() {
+        HistogramCompletionTimeModel model = new HistogramCompletionTimeModel(Duration.ofSeconds(30));
+        Context.record(model, "ns", 100, 80);
+        Context.record(model, "ns", 5_000, 20);
+
+        PollHint fresh = model.hint("ns", 0).orElseThrow();
+        PollHint late = model.hint("ns", TimeUnit.SECONDS.toNanos(1)).orElseThrow();
+
+        Context.assertNear(100, fresh.retryAfter().toMillis());
+        Context.assertNear(5_000, fresh.suggestedWait().toMillis());
+        Context.assertNear(4_000, late.retryAfter().toMillis());
+        Context.assertNear(4_000, late.suggestedWait().toMillis());
+    }
+
+    @Test
+    void givenSlowNamespace_WhenHinting_ThenSuggestedWaitIsCapped() {
+        HistogramCompletionTimeModel model = new HistogramCompletionTimeModel(Duration.ofSeconds(2));
+        Context.record(model, "ns", 60_000, 50);
+
+        PollHint hint = model.hint("ns", 0).orElseThrow();
+
+        Context.assertNear(60_000, hint.retryAfter().toMillis());
+        assertEquals(Duration.ofSeconds(2), hint.suggestedWait());
+    }
+
+    @Test
+    void givenAnyValue_WhenBucketed_ThenUpperBoundWithinSixPercent() {
+        for (long millis = 0; millis < 5_000_000; millis = millis * 3 / 2 + 1) {
+            long upper = HistogramCompletionTimeModel.upperBound(HistogramCompletionTimeModel.bucket(millis));
+            assertTrue(upper >= millis && upper <= millis + Math.max(1, millis / 16), millis + " -> " + upper);
+        }
+    }
+
+    private static final class Context {
+        static void record(HistogramCompletionTimeModel model, String namespace, long millis, int times) {
+            for (int i = 0; i < times; i++) {
+                model.record(namespace, TimeUnit.MILLISECONDS.toNanos(millis));
+            }
+        }
+
+        static void assertNear(long expectedMillis, long actualMillis) {
+            assertTrue(Math.abs(actualMillis - expectedMillis) <= expectedMillis / 16 + 1,
+                    "expected ~" + expectedMillis + " but was " + actualMillis);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ch.sse2poll.core.engine.support.implementation;
+
+import ch.sse2poll.core.engine.port.outgoing.CompletionBus;
+import ch.sse2poll.core.engine.support.interfaces.ReadyAwaiter;
+import ch.sse2poll.core.entities.model.Ready;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalingReadyAwaiterTest {
+
+    @Test
+    void givenRegisteredKey_WhenSignalled_ThenWaiterWakesAfterSingleReRead() throws Exception {
+        Context ctx = Context.defaults();
+        ctx.awaiter.register("ns:job");
+
+        CompletableFuture<Optional<Ready<String>>> waiting = CompletableFuture.supplyAsync(
+                () -> ctx.awaiter.waitReady("ns:job", 10_000, ctx::tryRead));
+        ctx.awaitFirstRead();
+
+        ctx.ready.set("PAYLOAD");
+        ctx.awaiter.signal("ns:job");
+
+        Optional<Ready<String>> res = waiting.get(2, TimeUnit.SECONDS);
+        assertEquals("PAYLOAD", res.orElseThrow().payload());
+        assertEquals(2, ctx.reads.get());
+        assertEquals(0, ctx.awaiter.registeredSignals());
+        assertEquals(0, ctx.fallback.invocations.get());
+    }
+
+    @Test
+    void givenRegisteredKey_WhenNeverSignalled_ThenTimesOutEmpty() {
+        Context ctx = Context.defaults();
+        ctx.awaiter.register("ns:job");
+
+        Optional<Ready<String>> res = ctx.awaiter.waitReady("ns:job", 50, ctx::tryRead);
+
+        assertTrue(res.isEmpty());
+        assertEquals(1, ctx.reads.get());
+    }
+
+    @Test
+    void givenRegisteredKey_WhenLastWaiterTimesOut_ThenSignalIsDroppedAndLaterWaitsFallBack() {
+        Context ctx = Context.defaults();
+        ctx.awaiter.register("ns:stuck");
+
+        ctx.awaiter.waitReady("ns:stuck", 30, ctx::tryRead);
+
+        assertEquals(0, ctx.awaiter.registeredSignals());
+        ctx.awaiter.waitReady("ns:stuck", 30, ctx::tryRead);
+        assertEquals(1, ctx.fallback.invocations.get());
+    }
+
+    @Test
+    void givenUnregisteredKey_WhenWaiting_ThenDelegatesToFallback() {
+        Context ctx = Context.defaults();
+
+        Optional<Ready<String>> res = ctx.awaiter.waitReady("ns:elsewhere", 50, ctx::tryRead);
+
+        assertTrue(res.isEmpty());
+        assertEquals(1, ctx.fallback.invocations.get());
+    }
+
+    @Test
+    void givenSharedBus_WhenJobCompletesOnAnotherNode_ThenWaiterWakesWithoutPolling() throws Exception {
+        Context ctx = Context.defaults();
+        CompletionBus bus = new Context.LocalBus();
+        SignalingReadyAwaiter owner = new SignalingReadyAwaiter(bus);
+        SignalingReadyAwaiter remote = new SignalingReadyAwaiter(bus);
+        owner.register("ns:job");
+
+        CompletableFuture<Optional<Ready<String>>> waiting = CompletableFuture.supplyAsync(
+                () -> remote.waitReady("ns:job", 10_000, ctx::tryRead));
+        ctx.awaitFirstRead();
+
+        ctx.ready.set("PAYLOAD");
+        owner.signal("ns:job");
+
+        Optional<Ready<String>> res = waiting.get(2, TimeUnit.SECONDS);
+        assertEquals("PAYLOAD", res.orElseThrow().payload());
+        assertEquals(3, ctx.reads.get());
+        assertEquals(0, remote.registeredSignals());
+        assertEquals(0, owner.registeredSignals());
+    }
+
+    @Test
+    void givenBus_WhenOnDemandWaiterTimesOut_ThenSignalIsDropped() {
+        Context ctx = Context.defaults();
+        SignalingReadyAwaiter awaiter = new SignalingReadyAwaiter(new Context.LocalBus());
+
+        Optional<Ready<String>> res = awaiter.waitReady("ns:elsewhere", 30, ctx::tryRead);
+
+        assertTrue(res.isEmpty());
+        assertEquals(0, awaiter.registeredSignals());
+    }
+
+    static final class Context {
+        final CountingFallback fallback = new CountingFallback();
+        final SignalingReadyAwaiter awaiter = new SignalingReadyAwaiter(fallback);
+        final AtomicReference<String> ready = new AtomicReference<>();
+        final AtomicInteger reads = new AtomicInteger();
+
+        static Context defaults() {
+            return new Context();
+        }
+
+        Optional<Ready<String>> tryRead() {
+            reads.incrementAndGet();
+            String payload = ready.get();
+            return payload == null ? Optional.empty() : Optional.of(new Ready<>(payload));
+        }
+
+        void awaitFirstRead() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (reads.get() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            // give the waiter a moment to park on the signal
+            Thread.sleep(50);
+        }
+
+        static final class LocalBus implements CompletionBus {
+            final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+            @Override
+            public void publish(String key) {
+                listeners.forEach(listener -> listener.accept(key));
+            }
+
+            @Override
+            public void subscribe(Consumer<String> listener) {
+                listeners.add(listener);
+            }
+        }
+
+        static final class CountingFallback implements ReadyAwaiter {
+            final AtomicInteger invocations = new AtomicInteger();
+
+            @Override
+            public <T> Optional<Ready<T>> waitReady(String key, long waitMs, Supplier<Optional<Ready<T>>> tryConsumeReady) {
+                invocations.incrementAndGet();
+                return Optional.empty();
+            }
+        }
+    }
+}
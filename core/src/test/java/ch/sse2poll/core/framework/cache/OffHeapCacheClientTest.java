@@ -0,0 +1,113 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Pending;
+import ch.sse2poll.core.entities.model.Ready;
+import ch.sse2poll.core.framework.cache.codec.CompactBinaryCodec;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCacheClientTest {
+
+    @Test
+    void givenReadyPayload_WhenConsumed_ThenServedFromOffHeapAndBlockReclaimed() {
+        Context ctx = Context.fixedClock();
+
+        ctx.client.writeReady("ns:job-1", Context.report(), Duration.ofMinutes(5));
+        assertTrue(ctx.client.offHeapBytes() > 0);
+
+        Envelope read = ctx.client.read("ns:job-1", Context.Report.class).orElseThrow();
+        Envelope consumed = ctx.client.consume("ns:job-1", Context.Report.class).orElseThrow();
+
+        assertEquals(Context.report(), ((Ready<?>) read).payload());
+        assertEquals(Context.report(), ((Ready<?>) consumed).payload());
+        assertEquals(0, ctx.client.offHeapBytes());
+        assertTrue(ctx.client.read("ns:job-1", Context.Report.class).isEmpty());
+    }
+
+    @Test
+    void givenPendingMarker_WhenWritten_ThenStaysOnHeap() {
+        Context ctx = Context.fixedClock();
+
+        ctx.client.writePending("ns:job-2", "job-2", Duration.ofMinutes(5));
+
+        assertEquals(new Pending("job-2"), ctx.client.read("ns:job-2", Object.class).orElseThrow());
+        assertEquals(0, ctx.client.offHeapBytes());
+    }
+
+    @Test
+    void givenReadyPayload_WhenTtlElapses_ThenBlockReturnedToAllocator() {
+        Context ctx = Context.fixedClock();
+        ctx.client.writeReady("ns:job-3", Context.report(), Duration.ofSeconds(10));
+
+        ctx.ticker.advanceSeconds(11);
+        ctx.client.cleanUp();
+
+        assertEquals(0, ctx.client.offHeapBytes());
+        assertTrue(ctx.client.read("ns:job-3", Context.Report.class).isEmpty());
+    }
+
+    @Test
+    void givenReclaimedBlocks_WhenWritingAgain_ThenSlabsAreReusedNotGrown() {
+        Context ctx = Context.fixedClock();
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                ctx.client.writeReady("ns:job-" + i, Context.report(), Duration.ofMinutes(5));
+            }
+            for (int i = 0; i < 100; i++) {
+                ctx.client.delete("ns:job-" + i);
+            }
+        }
+
+        assertEquals(OffHeapSlabAllocator.SLAB_BYTES, ctx.allocator.reservedBytes());
+        assertEquals(0, ctx.allocator.usedBytes());
+    }
+
+    private static final class Context {
+        record Line(String sku, int quantity) {
+        }
+
+        record Report(String dock, List<Line> lines) {
+        }
+
+        final OffHeapSlabAllocator allocator;
+        final OffHeapCacheClient client;
+        final TestTicker ticker;
+
+        Context(OffHeapSlabAllocator allocator, OffHeapCacheClient client, TestTicker ticker) {
+            this.allocator = allocator;
+            this.client = client;
+            this.ticker = ticker;
+        }
+
+        static Context fixedClock() {
+            TestTicker ticker = new TestTicker();
+            OffHeapSlabAllocator allocator = new OffHeapSlabAllocator(OffHeapSlabAllocator.SLAB_BYTES);
+            return new Context(allocator, new OffHeapCacheClient(1_000, allocator, new CompactBinaryCodec(), ticker), ticker);
+        }
+
+        static Report report() {
+            return new Report("north", List.of(new Line("A-1", 3), new Line("B-2", 7)));
+        }
+    }
+
+    private static final class TestTicker implements Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advanceSeconds(long seconds) {
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ch.sse2poll.core.framework.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapSlabAllocatorTest {
+
+    @Test
+    void givenMaxSizeBlock_WhenFreedAndStoredAgain_ThenReusesTheSlab() {
+        OffHeapSlabAllocator allocator = new OffHeapSlabAllocator(OffHeapSlabAllocator.SLAB_BYTES);
+        byte[] whole = new byte[OffHeapSlabAllocator.SLAB_BYTES];
+        whole[whole.length - 1] = 7;
+
+        OffHeapSlabAllocator.Block first = allocator.store(whole);
+        assertNotNull(first);
+        assertNull(allocator.store(new byte[1]));
+        first.release();
+
+        OffHeapSlabAllocator.Block second = allocator.store(whole);
+        assertNotNull(second);
+        assertEquals(7, second.copy()[whole.length - 1]);
+        assertEquals(OffHeapSlabAllocator.SLAB_BYTES, allocator.reservedBytes());
+    }
+
+    @Test
+    void givenSlabSplitIntoSmallBlocks_WhenAllFreed_ThenBuddiesMergeBackIntoMaxSizeBlock() {
+        OffHeapSlabAllocator allocator = new OffHeapSlabAllocator(OffHeapSlabAllocator.SLAB_BYTES);
+        List<OffHeapSlabAllocator.Block> blocks = new ArrayList<>();
+        for (int size : new int[]{100, 3_000, 70_000, 256, 1_000_000, 5}) {
+            blocks.add(allocator.store(new byte[size]));
+        }
+        assertTrue(blocks.stream().allMatch(Objects::nonNull));
+        assertNull(allocator.store(new byte[OffHeapSlabAllocator.SLAB_BYTES]));
+
+        // freed out of allocation order, so merges happen at every level
+        for (int i : new int[]{3, 0, 5, 2, 4, 1}) {
+            blocks.get(i).release();
+        }
+
+        assertEquals(0, allocator.usedBytes());
+        assertNotNull(allocator.store(new byte[OffHeapSlabAllocator.SLAB_BYTES]));
+        assertEquals(OffHeapSlabAllocator.SLAB_BYTES, allocator.reservedBytes());
+    }
+}
@@ -0,0 +1,185 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.entities.model.Envelope;
+import ch.sse2poll.core.entities.model.Failed;
+import ch.sse2poll.core.entities.model.Partial;
+import ch.sse2poll.core.entities.model.Pending;
+import ch.sse2poll.core.entities.model.Progress;
+import ch.sse2poll.core.entities.model.Ready;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCacheClientTest {
+
+    private Context ctx;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ctx = new Context();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ctx.close();
+    }
+
+    @Test
+    void givenPendingEntry_WhenRead_ThenReturnsPendingWithNativeTtl() {
+        ctx.client.writePending("ns:job-1", "job-1", Duration.ofSeconds(5));
+
+        Envelope envelope = ctx.client.read("ns:job-1", Object.class).orElseThrow();
+
+        assertEquals(new Pending("job-1"), envelope);
+        long ttl = ctx.server.ttlMillis("{ns:job-1}");
+        assertTrue(ttl > 4_000 && ttl <= 5_000, "ttl was " + ttl);
+    }
+
+    @Test
+    void givenReadyEntry_WhenConsumed_ThenPayloadReturnedOnceAndEntryRemoved() {
+        ctx.client.writeReady("ns:job-2", new ArrayList<>(List.of("a", "b")), Duration.ofMinutes(5));
+
+        Envelope first = ctx.client.consume("ns:job-2", Object.class).orElseThrow();
+
+        assertEquals(List.of("a", "b"), ((Ready<?>) first).payload());
+        assertTrue(ctx.client.consume("ns:job-2", Object.class).isEmpty());
+        assertTrue(ctx.client.read("ns:job-2", Object.class).isEmpty());
+    }
+
+    @Test
+    void givenRecordPayload_WhenReadWithBodyType_ThenDecodedIntoThatType() {
+        ctx.client.writeReady("ns:job-5", new Context.Parcel("p-1", 12), Duration.ofMinutes(5));
+
+        Envelope envelope = ctx.client.read("ns:job-5", Context.Parcel.class).orElseThrow();
+
+        assertEquals(new Context.Parcel("p-1", 12), ((Ready<?>) envelope).payload());
+    }
+
+    @Test
+    void givenPartialEntry_WhenRead_ThenChunksSurviveInGenericForm() {
+        ctx.client.writePartial("ns:job-6", new Partial(List.of("first", new Context.Parcel("p-2", 3))),
+                Duration.ofMinutes(5));
+
+        Partial partial = (Partial) ctx.client.read("ns:job-6", Context.Parcel.class).orElseThrow();
+
+        assertEquals(List.of("first", Map.of("id", "p-2", "weight", 3)), partial.chunks());
+    }
+
+    @Test
+    void givenProgressUpdate_WhenReadWhilePending_ThenAttachedWithoutTouchingTheEntry() {
+        ctx.client.writePending("ns:job-7", "job-7", Duration.ofMinutes(5));
+
+        ctx.client.updateProgress("ns:job-7", new Progress(35, "pricing", 1_500L), Duration.ofMinutes(5));
+
+        assertEquals(new Pending("job-7", new Progress(35, "pricing", 1_500L)),
+                ctx.client.read("ns:job-7", Object.class).orElseThrow());
+        ctx.client.writeReady("ns:job-7", "done", Duration.ofMinutes(5));
+        assertEquals(new Ready<>("done"), ctx.client.read("ns:job-7", String.class).orElseThrow());
+        ctx.client.delete("ns:job-7");
+        assertTrue(ctx.client.read("ns:job-7", Object.class).isEmpty());
+        assertEquals(0, ctx.server.size());
+    }
+
+    @Test
+    void givenProgressBesideReadyEntry_WhenConsumed_ThenBothKeysGoInOneTransaction() {
+        ctx.client.writePending("ns:job-8", "job-8", Duration.ofMinutes(5));
+        ctx.client.updateProgress("ns:job-8", new Progress(90, "packing", null), Duration.ofMinutes(5));
+        ctx.client.writeReady("ns:job-8", "done", Duration.ofMinutes(5));
+
+        // the stub rejects multi-key commands across hash slots, as a cluster node would
+        assertEquals(new Ready<>("done"), ctx.client.consume("ns:job-8", String.class).orElseThrow());
+
+        assertEquals(0, ctx.server.size());
+    }
+
+    @Test
+    void givenBufferedCommand_WhenNotFlushed_ThenStaysUntilTheWaiterFlushes() throws Exception {
+        try (RespConnection connection = new RespConnection("127.0.0.1", ctx.server.port(), null, Duration.ofSeconds(2))) {
+            CompletableFuture<Object> reply = connection.send("PING");
+
+            assertThrows(TimeoutException.class, () -> reply.get(200, TimeUnit.MILLISECONDS));
+            connection.flush();
+            assertEquals("PONG", reply.get(2, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void givenPasswordProtectedServer_WhenConnecting_ThenWrongPasswordFailsTheConnectAndRightOneIsAccepted()
+            throws Exception {
+        try (RespServerStub guarded = new RespServerStub("s3cret");
+             RespConnection wrong = new RespConnection("127.0.0.1", guarded.port(), "guess", Duration.ofSeconds(2));
+             RespConnection right = new RespConnection("127.0.0.1", guarded.port(), "s3cret", Duration.ofSeconds(2))) {
+            ExecutionException rejected = assertThrows(ExecutionException.class,
+                    () -> wrong.send("PING").get(2, TimeUnit.SECONDS));
+            assertTrue(rejected.getCause().getCause().getMessage().contains("WRONGPASS"));
+
+            CompletableFuture<Object> reply = right.send("PING");
+            right.flush();
+            assertEquals("PONG", reply.get(2, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void givenFailedEntry_WhenRead_ThenStatusAndDetailSurvive() {
+        ctx.client.writeFailed("ns:job-3", new Failed(409, "conflict"), Duration.ofMinutes(5));
+        ctx.client.writeFailed("ns:job-4", new Failed(500, null), Duration.ofMinutes(5));
+
+        assertEquals(new Failed(409, "conflict"), ctx.client.read("ns:job-3", Object.class).orElseThrow());
+        assertEquals(new Failed(500, null), ctx.client.read("ns:job-4", Object.class).orElseThrow());
+
+        ctx.client.delete("ns:job-3");
+        assertTrue(ctx.client.read("ns:job-3", Object.class).isEmpty());
+    }
+
+    @Test
+    void givenConcurrentCallers_WhenRoundTripping_ThenRepliesMatchOverOneConnection() throws Exception {
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                String key = "ns:job-" + i;
+                String payload = "payload-" + i;
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    ctx.client.writeReady(key, payload, Duration.ofMinutes(1));
+                    return ((Ready<?>) ctx.client.consume(key, Object.class).orElseThrow()).payload();
+                }, pool));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("payload-" + i, results.get(i).get());
+        }
+        assertEquals(1, ctx.server.connections());
+    }
+
+    private static final class Context {
+        record Parcel(String id, int weight) {
+        }
+
+        final RespServerStub server;
+        final RedisCacheClient client;
+
+        Context() throws IOException {
+            this.server = new RespServerStub();
+            this.client = new RedisCacheClient("127.0.0.1", server.port(), null, Duration.ofSeconds(2));
+        }
+
+        void close() throws IOException {
+            client.close();
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ch.sse2poll.core.framework.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCompletionBusTest {
+
+    private Context ctx;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ctx = new Context();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ctx.close();
+    }
+
+    @Test
+    void givenTwoNodes_WhenOnePublishes_ThenTheOtherReceivesTheKey() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        ctx.nodeB.subscribe(received::add);
+
+        ctx.nodeA.publish("ns:job-1");
+
+        assertEquals("ns:job-1", received.poll(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenPublisherSubscribed_WhenPublishing_ThenItHearsItsOwnKeyToo() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        ctx.nodeA.subscribe(received::add);
+
+        ctx.nodeA.publish("ns:job-2");
+        ctx.nodeA.publish("ns:job-3");
+
+        assertEquals("ns:job-2", received.poll(2, TimeUnit.SECONDS));
+        assertEquals("ns:job-3", received.poll(2, TimeUnit.SECONDS));
+    }
+
+    private static final class Context {
+        static final String CHANNEL = "sse2poll:ready";
+
+        final RespServerStub server;
+        final RedisCompletionBus nodeA;
+        final RedisCompletionBus nodeB;
+
+        Context() throws Exception {
+            this.server = new RespServerStub();
+            this.nodeA = new RedisCompletionBus("127.0.0.1", server.port(), null, Duration.ofSeconds(2), CHANNEL);
+            this.nodeB = new RedisCompletionBus("127.0.0.1", server.port(), null, Duration.ofSeconds(2), CHANNEL);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (server.subscribers(CHANNEL) < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+
+        void close() throws IOException {
+            nodeA.close();
+            nodeB.close();
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package ch.sse2poll.core.framework.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Keeps cluster rules: commands and transactions touching keys of different hash slots fail with CROSSSLOT.
+final class RespServerStub implements AutoCloseable {
+
+    private static final RespConnection.ErrorReply CROSSSLOT =
+            new RespConnection.ErrorReply("CROSSSLOT Keys in request don't hash to the same slot");
+
+    private final ServerSocket server;
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Map<String, List<OutputStream>> subscribers = new ConcurrentHashMap<>();
+    private final String password;
+
+    RespServerStub() throws IOException {
+        this(null);
+    }
+
+    // with a password every connection has to AUTH before anything else
+    RespServerStub(String password) throws IOException {
+        this.password = password;
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().start(this::acceptLoop);
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    int subscribers(String channel) {
+        return subscribers.getOrDefault(channel, List.of()).size();
+    }
+
+    int size() {
+        return store.size();
+    }
+
+    long ttlMillis(String key) {
+        Entry entry = live(key);
+        return entry == null ? -2 : (entry.expiresAtNanos() - System.nanoTime()) / 1_000_000;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void acceptLoop() {
+        try {
+            while (true) {
+                Socket socket = server.accept();
+                connections.incrementAndGet();
+                Thread.ofVirtual().start(() -> serve(socket));
+            }
+        } catch (IOException closed) {
+            // stub stopped
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            List<List<?>> queued = null;
+            boolean authenticated = password == null;
+            while (true) {
+                List<?> command = (List<?>) RespConnection.readReply(in);
+                String name = text(command.get(0)).toUpperCase();
+                Object result;
+                if (name.equals("AUTH")) {
+                    authenticated = password != null && password.equals(text(command.get(1)));
+                    result = authenticated ? "OK"
+                            : new RespConnection.ErrorReply("WRONGPASS invalid username-password pair");
+                } else if (!authenticated) {
+                    result = new RespConnection.ErrorReply("NOAUTH Authentication required.");
+                } else if (name.equals("MULTI")) {
+                    queued = new ArrayList<>();
+                    result = "OK";
+                } else if (name.equals("EXEC") && queued != null) {
+                    result = exec(queued, out);
+                    queued = null;
+                } else if (queued != null) {
+                    queued.add(command);
+                    result = "QUEUED";
+                } else {
+                    result = crossSlot(List.of(command)) ? CROSSSLOT : execute(command, out);
+                }
+                synchronized (out) {
+                    reply(out, result);
+                    if (in.available() == 0) {
+                        out.flush();
+                    }
+                }
+            }
+        } catch (IOException closed) {
+            // client went away
+        }
+    }
+
+    private Object exec(List<List<?>> queued, OutputStream out) {
+        if (crossSlot(queued)) {
+            return CROSSSLOT;
+        }
+        synchronized (store) {
+            List<Object> results = new ArrayList<>();
+            for (List<?> command : queued) {
+                results.add(execute(command, out));
+            }
+            return results;
+        }
+    }
+
+    private static boolean crossSlot(List<List<?>> commands) {
+        return commands.stream()
+                .filter(command -> !List.of("PING", "AUTH", "SUBSCRIBE", "PUBLISH").contains(text(command.get(0)).toUpperCase()))
+                .flatMap(command -> keys(command).stream())
+                .map(RespServerStub::hashTag)
+                .distinct()
+                .count() > 1;
+    }
+
+    private static List<String> keys(List<?> command) {
+        return switch (text(command.get(0)).toUpperCase()) {
+            case "MGET", "DEL", "EXISTS" -> command.subList(1, command.size()).stream().map(RespServerStub::text).toList();
+            default -> List.of(text(command.get(1)));
+        };
+    }
+
+    // the part Redis Cluster hashes: the first non-empty {...}, otherwise the whole key
+    private static String hashTag(String key) {
+        int open = key.indexOf('{');
+        int close = open < 0 ? -1 : key.indexOf('}', open + 1);
+        return close > open + 1 ? key.substring(open + 1, close) : key;
+    }
+
+    private Object execute(List<?> command, OutputStream out) {
+        String name = text(command.get(0)).toUpperCase();
+        return switch (name) {
+            case "PING" -> "PONG";
+            case "GET" -> {
+                Entry entry = live(text(command.get(1)));
+                yield entry == null ? null : entry.value();
+            }
+            case "SET" -> {
+                long ttl = command.size() > 4 ? Long.parseLong(text(command.get(4))) : Long.MAX_VALUE / 2_000_000;
+                store.put(text(command.get(1)), new Entry((byte[]) command.get(2), System.nanoTime() + ttl * 1_000_000));
+                yield "OK";
+            }
+            case "MGET" -> {
+                List<Object> values = new ArrayList<>();
+                for (Object key : command.subList(1, command.size())) {
+                    Entry entry = live(text(key));
+                    values.add(entry == null ? null : entry.value());
+                }
+                yield values;
+            }
+            case "DEL" -> command.subList(1, command.size()).stream()
+                    .filter(key -> store.remove(text(key)) != null)
+                    .count();
+            case "EXISTS" -> command.subList(1, command.size()).stream()
+                    .filter(key -> live(text(key)) != null)
+                    .count();
+            case "SUBSCRIBE" -> {
+                subscribers.computeIfAbsent(text(command.get(1)), channel -> new CopyOnWriteArrayList<>()).add(out);
+                yield List.of("subscribe".getBytes(StandardCharsets.UTF_8), command.get(1), 1L);
+            }
+            case "PUBLISH" -> publish(text(command.get(1)), (byte[]) command.get(2));
+            default -> new RespConnection.ErrorReply("ERR unknown command '" + name + "'");
+        };
+    }
+
+    private long publish(String channel, byte[] message) {
+        List<OutputStream> targets = subscribers.getOrDefault(channel, List.of());
+        for (OutputStream target : targets) {
+            synchronized (target) {
+                try {
+                    reply(target, List.of("message".getBytes(StandardCharsets.UTF_8),
+                            channel.getBytes(StandardCharsets.UTF_8), message));
+                    target.flush();
+                } catch (IOException gone) {
+                    targets.remove(target);
+                }
+            }
+        }
+        return targets.size();
+    }
+
+    private Entry live(String key) {
+        Entry entry = store.get(key);
+        if (entry != null && entry.expired()) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static String text(Object bulk) {
+        return new String((byte[]) bulk, StandardCharsets.UTF_8);
+    }
+
+    private static void reply(OutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+        } else if (value instanceof String simple) {
+            out.write(("+" + simple + "\r\n").getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Long number) {
+            out.write((":" + number + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        } else if (value instanceof List<?> items) {
+            out.write(("*" + items.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (Object item : items) {
+                reply(out, item);
+            }
+        } else if (value instanceof RespConnection.ErrorReply error) {
+            out.write(("-" + error.message() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        } else {
+            byte[] bytes = (byte[]) value;
+            out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private record Entry(byte[] value, long expiresAtNanos) {
+        boolean expired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+}
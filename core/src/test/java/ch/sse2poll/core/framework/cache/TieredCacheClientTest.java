@@ -0,0 +1,190 @@
+package ch.sse2poll.core.framework.cache;
+
+import ch.sse2poll.core.entities.model.Pending;
+import ch.sse2poll.core.entities.model.Ready;
+import ch.sse2poll.core.framework.cache.codec.JacksonPayloadCodec;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredCacheClientTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenHotTierFull_WhenReadyEntryEvicted_ThenPollStillFindsItOnDisk() {
+        Context ctx = Context.create(directory, 1, 0, 64 * 1024);
+
+        ctx.client.writeReady("ns:job-1", "FIRST", Duration.ofMinutes(5));
+        ctx.client.writeReady("ns:job-2", "SECOND", Duration.ofMinutes(5));
+        ctx.client.cleanUp();
+
+        assertEquals(1, ctx.disk.entries());
+        assertEquals("FIRST", ((Ready<?>) ctx.client.consume("ns:job-1", String.class).orElseThrow()).payload());
+        assertEquals("SECOND", ((Ready<?>) ctx.client.consume("ns:job-2", String.class).orElseThrow()).payload());
+        assertEquals(0, ctx.disk.entries());
+    }
+
+    @Test
+    void givenOversizedPayload_WhenWritten_ThenGoesStraightToDiskAndPendingOverwritesIt() {
+        Context ctx = Context.create(directory, 100, 64, 64 * 1024);
+        String big = "x".repeat(500);
+
+        ctx.client.writeReady("ns:job-3", big, Duration.ofMinutes(5));
+
+        assertEquals(1, ctx.disk.entries());
+        assertEquals(big, ((Ready<?>) ctx.client.read("ns:job-3", String.class).orElseThrow()).payload());
+
+        ctx.client.writePending("ns:job-3", "job-3", Duration.ofMinutes(5));
+        assertEquals(0, ctx.disk.entries());
+        assertEquals(new Pending("job-3"), ctx.client.read("ns:job-3", String.class).orElseThrow());
+    }
+
+    @Test
+    void givenSpilledEntry_WhenTtlElapses_ThenGone() {
+        Context ctx = Context.create(directory, 100, 64, 64 * 1024);
+        ctx.client.writeReady("ns:job-4", "y".repeat(200), Duration.ofSeconds(10));
+
+        ctx.ticker.advanceSeconds(11);
+
+        assertTrue(ctx.client.read("ns:job-4", String.class).isEmpty());
+        assertEquals(0, ctx.disk.entries());
+    }
+
+    @Test
+    void givenManySpills_WhenAllConsumed_ThenSealedSegmentsAreDeleted() throws IOException {
+        Context ctx = Context.create(directory, 100, 64, 2 * 1024);
+        for (int i = 0; i < 40; i++) {
+            ctx.client.writeReady("ns:job-" + i, "z".repeat(300), Duration.ofMinutes(5));
+        }
+        assertTrue(ctx.disk.segments() > 1);
+
+        for (int i = 0; i < 40; i++) {
+            assertTrue(ctx.client.consume("ns:job-" + i, String.class).isPresent());
+        }
+
+        assertEquals(1, ctx.disk.segments());
+        try (Stream<Path> files = Files.list(ctx.disk.directory())) {
+            assertEquals(1, files.filter(file -> file.getFileName().toString().startsWith("segment-")).count());
+        }
+    }
+
+    @Test
+    void givenSpillStillQueued_WhenPolled_ThenResultIsServedUntilItLandsOnDisk() {
+        List<Runnable> queued = new ArrayList<>();
+        Context ctx = Context.create(directory, 1, 0, 64 * 1024, queued::add);
+
+        ctx.client.writeReady("ns:job-1", "FIRST", Duration.ofMinutes(5));
+        ctx.client.writeReady("ns:job-2", "SECOND", Duration.ofMinutes(5));
+        ctx.client.cleanUp();
+
+        // the evicting write returned without touching the disk
+        assertEquals(1, queued.size());
+        assertEquals(0, ctx.disk.entries());
+        assertEquals("FIRST", ((Ready<?>) ctx.client.read("ns:job-1", String.class).orElseThrow()).payload());
+
+        queued.forEach(Runnable::run);
+
+        assertEquals(1, ctx.disk.entries());
+        assertEquals("FIRST", ((Ready<?>) ctx.client.consume("ns:job-1", String.class).orElseThrow()).payload());
+    }
+
+    @Test
+    void givenSpillQueued_WhenConsumedFirst_ThenSpillIsDropped() {
+        List<Runnable> queued = new ArrayList<>();
+        Context ctx = Context.create(directory, 1, 0, 64 * 1024, queued::add);
+        ctx.client.writeReady("ns:job-1", "FIRST", Duration.ofMinutes(5));
+        ctx.client.writeReady("ns:job-2", "SECOND", Duration.ofMinutes(5));
+        ctx.client.cleanUp();
+
+        assertEquals("FIRST", ((Ready<?>) ctx.client.consume("ns:job-1", String.class).orElseThrow()).payload());
+        queued.forEach(Runnable::run);
+
+        assertEquals(0, ctx.disk.entries());
+        assertTrue(ctx.client.read("ns:job-1", String.class).isEmpty());
+    }
+
+    @Test
+    void givenTwoStoresOnOneDirectory_WhenSecondOpens_ThenFirstKeepsItsSegments() {
+        Context first = Context.create(directory, 100, 64, 64 * 1024);
+        first.client.writeReady("ns:job-1", "a".repeat(200), Duration.ofMinutes(5));
+
+        Context second = Context.create(directory, 100, 64, 64 * 1024);
+        second.client.writeReady("ns:job-1", "b".repeat(200), Duration.ofMinutes(5));
+
+        assertNotEquals(first.disk.directory(), second.disk.directory());
+        assertEquals("a".repeat(200), ((Ready<?>) first.client.consume("ns:job-1", String.class).orElseThrow()).payload());
+        assertEquals("b".repeat(200), ((Ready<?>) second.client.consume("ns:job-1", String.class).orElseThrow()).payload());
+        first.client.close();
+        second.client.close();
+    }
+
+    @Test
+    void givenDirectoryLeftByStoppedStore_WhenStoreOpens_ThenItIsSwept() throws IOException {
+        Context stopped = Context.create(directory, 100, 64, 64 * 1024);
+        Path left = stopped.disk.directory();
+        Path crashed = Files.createDirectory(directory.resolve("store-crashed"));
+        Files.write(crashed.resolve("segment-0.log"), new byte[16]);
+
+        // releasing the owner lock without cleaning up is what a killed process leaves behind
+        stopped.disk.close();
+        Files.createDirectories(left);
+        Files.createFile(left.resolve("owner.lock"));
+        Context.create(directory, 100, 64, 64 * 1024);
+
+        assertFalse(Files.exists(left));
+        assertFalse(Files.exists(crashed));
+    }
+
+    private static final class Context {
+        final TestTicker ticker;
+        final SegmentFileStore disk;
+        final TieredCacheClient client;
+
+        private Context(TestTicker ticker, SegmentFileStore disk, TieredCacheClient client) {
+            this.ticker = ticker;
+            this.disk = disk;
+            this.client = client;
+        }
+
+        static Context create(Path directory, long hotEntries, int spillAboveBytes, long segmentBytes) {
+            return create(directory, hotEntries, spillAboveBytes, segmentBytes, Runnable::run);
+        }
+
+        static Context create(Path directory, long hotEntries, int spillAboveBytes, long segmentBytes,
+                              Executor spillExecutor) {
+            TestTicker ticker = new TestTicker();
+            SegmentFileStore disk = new SegmentFileStore(directory, segmentBytes, ticker);
+            TieredCacheClient client = new TieredCacheClient(hotEntries, disk, JacksonPayloadCodec.json(),
+                    spillAboveBytes, ticker, spillExecutor);
+            return new Context(ticker, disk, client);
+        }
+    }
+
+    private static final class TestTicker implements Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advanceSeconds(long seconds) {
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ch.sse2poll.core.framework.cache.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadCodecTest {
+
+    @Test
+    void givenRecordPayload_WhenJsonRoundTrip_ThenDecodesIntoRequestedType() {
+        PayloadCodec codec = JacksonPayloadCodec.json();
+
+        byte[] bytes = codec.encode(Context.sampleReport());
+
+        assertTrue(new String(bytes, StandardCharsets.UTF_8).contains("\"dock\":\"north\""));
+        assertEquals(Context.sampleReport(), codec.decode(bytes, Context.Report.class));
+    }
+
+    @Test
+    void givenRecordPayload_WhenBinaryJacksonFormats_ThenRoundTrip() {
+        for (PayloadCodec codec : List.of(JacksonPayloadCodec.cbor(), JacksonPayloadCodec.smile())) {
+            assertEquals(Context.sampleReport(), codec.decode(codec.encode(Context.sampleReport()), Context.Report.class));
+        }
+    }
+
+    @Test
+    void givenNestedRecords_WhenCompactRoundTrip_ThenSmallerThanJsonAndEqual() {
+        CompactBinaryCodec compact = new CompactBinaryCodec();
+
+        byte[] bytes = compact.encode(Context.sampleReport());
+
+        assertEquals(Context.sampleReport(), compact.decode(bytes, Context.Report.class));
+        assertTrue(bytes.length < JacksonPayloadCodec.json().encode(Context.sampleReport()).length);
+    }
+
+    @Test
+    void givenScalarsAndCollections_WhenCompactDecodedAsObject_ThenStructurePreserved() {
+        CompactBinaryCodec compact = new CompactBinaryCodec();
+        UUID id = UUID.randomUUID();
+        Map<String, Object> payload = Map.of("id", id, "count", 42L, "tags", List.of("a", "b"));
+
+        Object decoded = compact.decode(compact.encode(payload), Object.class);
+
+        assertEquals(payload, decoded);
+        assertNull(compact.decode(compact.encode(null), String.class));
+    }
+
+    @Test
+    void givenRecords_WhenCompactDecodedWithoutRecordType_ThenStoredRecordTypesAreRebuilt() {
+        CompactBinaryCodec compact = new CompactBinaryCodec();
+        List<Context.Line> lines = List.of(new Context.Line("A-1", 3, 1.5), new Context.Line("B-2", -7, 0.25));
+
+        assertEquals(Context.sampleReport(), compact.decode(compact.encode(Context.sampleReport()), Object.class));
+        assertEquals(lines, compact.decode(compact.encode(lines), List.class));
+        // the second Line refers back to the first one's class name instead of repeating it
+        assertTrue(compact.encode(lines).length < 2 * compact.encode(lines.subList(0, 1)).length);
+    }
+
+    @Test
+    void givenLargeRepetitivePayload_WhenCompressing_ThenShrinksAndRoundTrips() {
+        PayloadCodec plain = JacksonPayloadCodec.json();
+        PayloadCodec compressing = new CompressingPayloadCodec(plain, 256);
+        String big = "shipment-".repeat(500);
+
+        byte[] bytes = compressing.encode(big);
+
+        assertTrue(bytes.length < plain.encode(big).length / 4);
+        assertEquals(big, compressing.decode(bytes, String.class));
+        assertEquals("tiny", compressing.decode(compressing.encode("tiny"), String.class));
+    }
+
+    static final class Context {
+        enum Status { OPEN, CLOSED }
+
+        record Line(String sku, int quantity, double weight) {
+        }
+
+        record Report(String dock, Status status, Instant at, List<Line> lines, Map<String, Long> totals) {
+        }
+
+        static Report sampleReport() {
+            return new Report("north", Status.OPEN, Instant.ofEpochSecond(1_700_000_000L),
+                    List.of(new Line("A-1", 3, 1.5), new Line("B-2", -7, 0.25)),
+                    Map.of("pallets", 12L));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ch.sse2poll.core.framework.metrics;
+
+import ch.sse2poll.core.engine.port.outgoing.PollMetrics.PollOutcome;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerPollMetricsTest {
+
+    @Test
+    void givenJobPolledUntilReady_WhenRecorded_ThenPollsPerJobAndOutcomesAreTaggedByNamespace() {
+        Context ctx = Context.create();
+
+        ctx.metrics.kickoff("orders");
+        ctx.metrics.poll("orders", "job-1", PollOutcome.PENDING);
+        ctx.metrics.poll("orders", "job-1", PollOutcome.PARTIAL);
+        ctx.metrics.poll("orders", "job-1", PollOutcome.READY);
+        ctx.metrics.poll("orders", "job-1", PollOutcome.UNKNOWN);
+        ctx.metrics.poll("stock", "job-2", PollOutcome.READY);
+
+        assertEquals(1, ctx.registry.get("sse2poll.kickoffs").tag("namespace", "orders").counter().count());
+        assertEquals(1, ctx.registry.get("sse2poll.polls").tags("namespace", "orders", "outcome", "pending").counter().count());
+        assertEquals(1, ctx.registry.get("sse2poll.polls").tags("namespace", "orders", "outcome", "unknown").counter().count());
+        DistributionSummary orders = ctx.registry.get("sse2poll.polls.per.job").tag("namespace", "orders").summary();
+        assertEquals(1, orders.count());
+        assertEquals(3, orders.totalAmount());
+        assertEquals(1, ctx.registry.get("sse2poll.polls.per.job").tag("namespace", "stock").summary().totalAmount());
+    }
+
+    @Test
+    void givenQueuedJobs_WhenFinishedOrRejected_ThenInFlightGaugeAndTimersFollow() {
+        Context ctx = Context.create();
+
+        ctx.metrics.jobQueued("orders");
+        ctx.metrics.jobQueued("orders");
+        assertEquals(2, ctx.registry.get("sse2poll.jobs.in.flight").tag("namespace", "orders").gauge().value());
+
+        ctx.metrics.jobFinished("orders", TimeUnit.MILLISECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(40));
+        ctx.metrics.jobFinished("orders", TimeUnit.MILLISECONDS.toNanos(2), -1L);
+
+        assertEquals(0, ctx.registry.get("sse2poll.jobs.in.flight").tag("namespace", "orders").gauge().value());
+        assertEquals(2, ctx.registry.get("sse2poll.job.queue").tag("namespace", "orders").timer().count());
+        assertEquals(1, ctx.registry.get("sse2poll.job.compute").tag("namespace", "orders").timer().count());
+        assertEquals(40, ctx.registry.get("sse2poll.job.compute").tag("namespace", "orders").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    private static final class Context {
+        final SimpleMeterRegistry registry;
+        final MicrometerPollMetrics metrics;
+
+        private Context(SimpleMeterRegistry registry) {
+            this.registry = registry;
+            this.metrics = new MicrometerPollMetrics(registry);
+        }
+
+        static Context create() {
+            return new Context(new SimpleMeterRegistry());
+        }
+    }
+}
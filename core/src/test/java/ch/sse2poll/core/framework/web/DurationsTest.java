@@ -0,0 +1,38 @@
+package ch.sse2poll.core.framework.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurationsTest {
+
+    @Test
+    void givenBareIntegers_WhenParsed_ThenReadAsMillisWhateverTheirLength() {
+        assertEquals(Duration.ofMillis(5), Durations.parse("cacheFor", "5"));
+        assertEquals(Duration.ofMillis(0), Durations.parse("cacheFor", "0"));
+        assertEquals(Duration.ofMillis(250), Durations.parse("cacheFor", "250"));
+        assertEquals(Duration.ofMillis(1_500), Durations.parse("cacheFor", " 1500 "));
+    }
+
+    @Test
+    void givenUnitsAndIso_WhenParsed_ThenConvertedToTheirDuration() {
+        assertEquals(Duration.ofMillis(5), Durations.parse("cacheFor", "5ms"));
+        assertEquals(Duration.ofSeconds(5), Durations.parse("cacheFor", "5s"));
+        assertEquals(Duration.ofMinutes(2), Durations.parse("cacheFor", "2M"));
+        assertEquals(Duration.ofHours(1), Durations.parse("cacheFor", "1h"));
+        assertEquals(Duration.ofDays(3), Durations.parse("cacheFor", "3d"));
+        assertEquals(Duration.ofSeconds(90), Durations.parse("cacheFor", "PT1M30S"));
+        assertNull(Durations.parse("cacheFor", " "));
+    }
+
+    @Test
+    void givenUnknownUnitOrNoNumber_WhenParsed_ThenRejectedNamingTheAttribute() {
+        for (String invalid : new String[]{"5w", "s", "ms", "five", "PT"}) {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> Durations.parse("cacheFor", invalid));
+            assertTrue(ex.getMessage().contains("@PolledGet.cacheFor"), ex.getMessage());
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package ch.sse2poll.core.framework.web;
 
+import ch.sse2poll.core.engine.port.incoming.ChunkEmitter;
 import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
+import ch.sse2poll.core.entities.model.ChunkPage;
+import ch.sse2poll.core.entities.model.EncodedBody;
+import ch.sse2poll.core.entities.model.JobRef;
+import ch.sse2poll.core.entities.model.JobStatus;
 import ch.sse2poll.core.framework.annotation.PolledGet;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
@@ -8,15 +13,34 @@ import org.aspectj.lang.reflect.SourceLocation;
 import org.aspectj.runtime.internal.AroundClosure;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PolledGetAspectTest {
 
@@ -25,6 +49,20 @@ class PolledGetAspectTest {
         RequestContextHolder.resetRequestAttributes();
     }
 
+    @Test
+    void givenPolledBeans_WhenSingletonsInstantiated_ThenEveryEndpointIsRegisteredBeforeAnyRequest() {
+        Context ctx = Context.defaults();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("demo", new RootBeanDefinition(Context.DemoController.class));
+        ctx.aspect.setBeanFactory(beanFactory);
+
+        ctx.aspect.afterSingletonsInstantiated();
+
+        assertTrue(ctx.coordinator.registered.contains("DemoController#fastEndpoint"));
+        assertTrue(ctx.coordinator.registered.contains("DemoController#futureEndpoint"));
+        assertEquals(0, ctx.coordinator.computeInvocations);
+    }
+
     @Test
     void givenHttpRequest_WhenOrchestrate_ThenDerivesNamespaceAndContext() throws Throwable {
         Context ctx = Context.defaults();
@@ -37,11 +75,30 @@ class PolledGetAspectTest {
 
         assertEquals("fast", res);
         assertEquals("DemoController#fastEndpoint", ctx.coordinator.namespace);
+        assertEquals(String.class, ctx.coordinator.endpoint.responseType());
+        assertFalse(ctx.coordinator.endpoint.coalesce());
+        assertFalse(ctx.coordinator.endpoint.memoizes());
         assertEquals("jid-44", ctx.coordinator.ctx.clientJobId());
         assertEquals(250L, ctx.coordinator.ctx.waitMs());
         assertEquals(1, ctx.coordinator.computeInvocations);
     }
 
+    @Test
+    void givenFutureReturningEndpoint_WhenOrchestrate_ThenEndpointIsAsyncAndTypedByElement() throws Throwable {
+        Context ctx = Context.defaults();
+        ctx.coordinator.result = "ready";
+
+        Object res = ctx.aspect.orchestrate(ctx.joinPoint("futureEndpoint"), ctx.annotation("futureEndpoint"));
+
+        assertTrue(ctx.coordinator.endpoint.async());
+        assertEquals(String.class, ctx.coordinator.endpoint.responseType());
+        // the method's own stage reaches the coordinator, unwrapped and without a thread in between
+        assertEquals("future", assertInstanceOf(CompletableFuture.class, ctx.coordinator.computed).join());
+        // the ready payload goes back as a stage, the only type the proxy lets through
+        CompletableFuture<?> stage = assertInstanceOf(CompletableFuture.class, res);
+        assertEquals("ready", stage.join());
+    }
+
     @Test
     void givenNoHttpRequest_WhenOrchestrate_ThenUsesDefaults() throws Throwable {
         Context ctx = Context.defaults();
@@ -55,6 +112,136 @@ class PolledGetAspectTest {
         assertEquals(1, ctx.coordinator.computeInvocations);
     }
 
+    @Test
+    void givenDeferredEndpointWithWait_WhenOutcomePending_ThenReturnsDeferredResultCompletedLater() throws Throwable {
+        Context ctx = Context.defaults();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("waitMs", "250");
+        Context.dispatching(request, "deferredEndpoint");
+
+        Object res = ctx.aspect.orchestrate(ctx.joinPoint("deferredEndpoint"), ctx.annotation("deferredEndpoint"));
+
+        // the proxy can only pass the declared type, so the DeferredResult waits on the request for the MVC handler
+        assertNull(res);
+        DeferredResult<?> deferred = assertInstanceOf(DeferredResult.class,
+                request.getAttribute(PolledReturnValueHandler.RESPONSE_ATTRIBUTE));
+        assertFalse(deferred.hasResult());
+        assertEquals(0, ctx.coordinator.computeInvocations);
+
+        ctx.coordinator.asyncOutcome.complete("late");
+        assertEquals("late", deferred.getResult());
+    }
+
+    @Test
+    void givenDeferredEndpointWithoutWait_WhenOrchestrate_ThenHandledSynchronously() throws Throwable {
+        Context ctx = Context.defaults();
+
+        Object res = ctx.aspect.orchestrate(ctx.joinPoint("deferredEndpoint"), ctx.annotation("deferredEndpoint"));
+
+        assertEquals("deferred", res);
+        assertEquals(1, ctx.coordinator.computeInvocations);
+    }
+
+    @Test
+    void givenCacheForAttribute_WhenOrchestrate_ThenEndpointCarriesParsedWindow() throws Throwable {
+        Context ctx = Context.defaults();
+
+        ctx.aspect.orchestrate(ctx.joinPoint("memoizedEndpoint"), ctx.annotation("memoizedEndpoint"));
+
+        assertEquals(Duration.ofSeconds(30), ctx.coordinator.endpoint.cacheFor());
+        assertTrue(ctx.coordinator.endpoint.memoizes());
+    }
+
+    @Test
+    void givenCancelParameter_WhenOrchestrate_ThenCancelsJobWithoutComputing() throws Throwable {
+        Context ctx = Context.defaults();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("job", "jid-9");
+        request.setParameter("cancel", "true");
+        Context.dispatching(request, "fastEndpoint");
+
+        Object res = ctx.aspect.orchestrate(ctx.joinPoint("fastEndpoint"), ctx.annotation("fastEndpoint"));
+
+        assertNull(res);
+        ResponseEntity<?> response = assertInstanceOf(ResponseEntity.class,
+                request.getAttribute(PolledReturnValueHandler.RESPONSE_ATTRIBUTE));
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertEquals("DemoController#fastEndpoint:jid-9", ctx.coordinator.cancelled);
+        assertEquals(0, ctx.coordinator.computeInvocations);
+    }
+
+    @Test
+    void givenPreEncodeEndpoint_WhenCoordinatorReturnsEncodedBody_ThenWritesBytesWithContentType() throws Throwable {
+        Context ctx = Context.defaults();
+        byte[] json = "{\"dock\":\"north\"}".getBytes(StandardCharsets.UTF_8);
+        ctx.coordinator.result = new EncodedBody(json, "application/json");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Context.dispatching(request, "encodedEndpoint");
+
+        Object res = ctx.aspect.orchestrate(ctx.joinPoint("encodedEndpoint"), ctx.annotation("encodedEndpoint"));
+
+        assertTrue(ctx.coordinator.endpoint.preEncode());
+        assertEquals(EncodedBody.class, ctx.coordinator.endpoint.storedType());
+        assertNull(res);
+        ResponseEntity<?> response = assertInstanceOf(ResponseEntity.class,
+                request.getAttribute(PolledReturnValueHandler.RESPONSE_ATTRIBUTE));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(json.length, response.getHeaders().getContentLength());
+        assertSame(json, response.getBody());
+    }
+
+    @Test
+    void givenCursorParameter_WhenCoordinatorReturnsChunkPage_ThenRespondsPartialContent() throws Throwable {
+        Context ctx = Context.defaults();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("job", "jid-3");
+        request.setParameter("cursor", "2");
+        Context.dispatching(request, "streamingEndpoint");
+        ChunkPage page = new ChunkPage("jid-3", List.of("c"), "3");
+        ctx.coordinator.result = page;
+
+        Object res = ctx.aspect.orchestrate(ctx.joinPoint("streamingEndpoint"), ctx.annotation("streamingEndpoint"));
+
+        assertEquals("2", ctx.coordinator.ctx.cursor());
+        assertNull(res);
+        ResponseEntity<?> response = assertInstanceOf(ResponseEntity.class,
+                request.getAttribute(PolledReturnValueHandler.RESPONSE_ATTRIBUTE));
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertSame(page, response.getBody());
+    }
+
+    @Test
+    void givenAnotherHandlerDispatching_WhenPolledMethodIsCalledFromIt_ThenAnswersInsteadOfParkingNull() throws Throwable {
+        Context ctx = Context.defaults();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("job", "jid-5");
+        request.setParameter("cancel", "true");
+        Context.dispatching(request, "slowEndpoint");
+
+        Object cancelled = ctx.aspect.orchestrate(ctx.joinPoint("reportEndpoint"), ctx.annotation("reportEndpoint"));
+
+        // a method declared as Object can hold the entity itself, and nothing is left for the dispatched handler
+        ResponseEntity<?> response = assertInstanceOf(ResponseEntity.class, cancelled);
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertNull(request.getAttribute(PolledReturnValueHandler.RESPONSE_ATTRIBUTE));
+        assertEquals("DemoController#reportEndpoint:jid-5", ctx.coordinator.cancelled);
+    }
+
+    @Test
+    void givenAnotherHandlerDispatching_WhenAnswerDoesNotFitDeclaredType_ThenFailsInsteadOfReturningNull() throws Throwable {
+        Context ctx = Context.defaults();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("job", "jid-3");
+        request.setParameter("cursor", "2");
+        Context.dispatching(request, "slowEndpoint");
+        ctx.coordinator.result = new ChunkPage("jid-3", List.of("c"), "3");
+
+        assertThrows(IllegalStateException.class,
+                () -> ctx.aspect.orchestrate(ctx.joinPoint("streamingEndpoint"), ctx.annotation("streamingEndpoint")));
+        assertNull(request.getAttribute(PolledReturnValueHandler.RESPONSE_ATTRIBUTE));
+    }
+
     static final class Context {
         final RecordingCoordinator coordinator = new RecordingCoordinator();
         final PolledGetAspect aspect = new PolledGetAspect(coordinator);
@@ -63,8 +250,24 @@ class PolledGetAspectTest {
             return new Context();
         }
 
+        static Method method(String name) throws NoSuchMethodException {
+            for (Method m : DemoController.class.getDeclaredMethods()) {
+                if (m.getName().equals(name)) {
+                    return m;
+                }
+            }
+            throw new NoSuchMethodException(name);
+        }
+
+        // what MVC sets up before it invokes a handler method
+        static void dispatching(MockHttpServletRequest request, String handler) throws NoSuchMethodException {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                    new HandlerMethod(new DemoController(), method(handler)));
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+
         MethodSignature signature(String method) throws NoSuchMethodException {
-            Method m = DemoController.class.getDeclaredMethod(method);
+            Method m = method(method);
             return new MethodSignature() {
                 @Override
                 public Method getMethod() {
@@ -130,7 +333,7 @@ class PolledGetAspectTest {
 
         ProceedingJoinPoint joinPoint(String method) throws NoSuchMethodException {
             DemoController controller = new DemoController();
-            Method m = DemoController.class.getDeclaredMethod(method);
+            Method m = method(method);
             MethodSignature sig = signature(method);
             return new ProceedingJoinPoint() {
                 @Override
@@ -155,7 +358,13 @@ class PolledGetAspectTest {
 
                 @Override
                 public Object[] getArgs() {
-                    return new Object[0];
+                    Object[] args = new Object[m.getParameterCount()];
+                    for (int i = 0; i < args.length; i++) {
+                        if (m.getParameterTypes()[i] == ChunkEmitter.class) {
+                            args[i] = ChunkEmitter.NONE;
+                        }
+                    }
+                    return args;
                 }
 
                 @Override
@@ -180,7 +389,7 @@ class PolledGetAspectTest {
 
                 @Override
                 public Object proceed() throws Throwable {
-                    return m.invoke(controller);
+                    return m.invoke(controller, getArgs());
                 }
 
                 @Override
@@ -196,24 +405,61 @@ class PolledGetAspectTest {
         }
 
         PolledGet annotation(String method) throws NoSuchMethodException {
-            return DemoController.class.getDeclaredMethod(method).getAnnotation(PolledGet.class);
+            return method(method).getAnnotation(PolledGet.class);
         }
 
         static final class RecordingCoordinator implements PollCoordinator {
             String namespace;
+            Endpoint endpoint;
+            String cancelled;
             RequestContextView ctx;
             int computeInvocations;
+            Object computed;
+            Object result;
+            final CompletableFuture<Object> asyncOutcome = new CompletableFuture<>();
+            final Set<String> registered = ConcurrentHashMap.newKeySet();
+
+            @Override
+            public void register(Endpoint endpoint) {
+                registered.add(endpoint.namespace());
+            }
 
             @Override
-            public Object handle(String namespace, Supplier<?> compute, Class<?> responseType, RequestContextView requestContext) {
-                this.namespace = namespace;
+            public Object handle(Endpoint endpoint, Supplier<?> compute, Object[] arguments, RequestContextView requestContext) {
+                this.namespace = endpoint.namespace();
+                this.endpoint = endpoint;
                 this.ctx = requestContext;
                 computeInvocations++;
-                return compute.get();
+                computed = compute.get();
+                return result != null ? result : computed;
+            }
+
+            @Override
+            public boolean cancel(String namespace, String jobId) {
+                cancelled = namespace + ":" + jobId;
+                return true;
+            }
+
+            @Override
+            public CompletableFuture<Object> handleAsync(Endpoint endpoint, Supplier<?> compute, Object[] arguments, RequestContextView requestContext) {
+                this.namespace = endpoint.namespace();
+                this.endpoint = endpoint;
+                this.ctx = requestContext;
+                return asyncOutcome;
+            }
+
+            @Override
+            public CompletableFuture<List<JobStatus>> pollAny(List<JobRef> jobs, long waitMs) {
+                return CompletableFuture.completedFuture(jobs.stream().map(JobStatus::unknown).toList());
             }
         }
 
         static final class DemoController {
+            @PolledGet
+            CompletableFuture<String> futureEndpoint() {
+                return CompletableFuture.completedFuture("future");
+            }
+
             @PolledGet
             String fastEndpoint() {
                 return "fast";
@@ -223,6 +469,32 @@ class PolledGetAspectTest {
             String slowEndpoint() {
                 return "slow";
             }
+
+            @PolledGet(deferred = true)
+            String deferredEndpoint() {
+                return "deferred";
+            }
+
+            @PolledGet(cacheFor = "30s")
+            String memoizedEndpoint() {
+                return "memoized";
+            }
+
+            @PolledGet(preEncode = true)
+            String encodedEndpoint() {
+                return "encoded";
+            }
+
+            @PolledGet
+            String streamingEndpoint(ChunkEmitter emitter) {
+                emitter.emit("chunk");
+                return "streamed";
+            }
+
+            @PolledGet
+            Object reportEndpoint() {
+                return "report";
+            }
         }
     }
 }
@@ -0,0 +1,237 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.port.incoming.ChunkEmitter;
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import ch.sse2poll.core.framework.config.Sse2PollAutoConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockPropertySource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Goes through the CGLIB proxy and the MVC return-value handlers the way a deployed controller does, so an advice
+// answering with something other than the declared type shows up as a failed request here.
+class PolledGetMvcTest {
+
+    @Test
+    void givenDeferredEndpoint_WhenKickoffWaitsThroughProxy_ThenAnswersFromDeferredResult() throws Exception {
+        try (Context ctx = new Context()) {
+            MvcResult pending = ctx.mvc.perform(get("/report?waitMs=5000")).andReturn();
+            assertTrue(pending.getRequest().isAsyncStarted());
+            ctx.gate.complete("late");
+
+            MockHttpServletResponse response = ctx.mvc.perform(asyncDispatch(pending)).andReturn().getResponse();
+            assertEquals(200, response.getStatus());
+            assertEquals("late", response.getContentAsString());
+        }
+    }
+
+    @Test
+    void givenRunningJob_WhenCancelledThroughProxy_ThenAnswersNoContent() throws Exception {
+        try (Context ctx = new Context()) {
+            MockHttpServletResponse kickoff = ctx.mvc.perform(get("/report")).andReturn().getResponse();
+            assertEquals(202, kickoff.getStatus());
+            String jobId = ctx.jobId(kickoff);
+
+            MockHttpServletResponse cancelled = ctx.mvc.perform(get("/report?job=" + jobId + "&cancel=true"))
+                    .andReturn().getResponse();
+
+            assertEquals(204, cancelled.getStatus());
+            assertEquals(404, ctx.mvc.perform(get("/report?job=" + jobId)).andReturn().getResponse().getStatus());
+        }
+    }
+
+    @Test
+    void givenPreEncodeEndpoint_WhenResultReadyThroughProxy_ThenWritesEncodedBytes() throws Exception {
+        try (Context ctx = new Context()) {
+            MockHttpServletResponse response = ctx.mvc.perform(get("/dock?waitMs=5000")).andReturn().getResponse();
+
+            assertEquals(200, response.getStatus());
+            assertEquals("application/json", response.getContentType());
+            assertEquals("{\"name\":\"north\"}", response.getContentAsString());
+        }
+    }
+
+    @Test
+    void givenStreamingEndpoint_WhenCursorPolledThroughProxy_ThenAnswersPartialContent() throws Exception {
+        try (Context ctx = new Context()) {
+            String jobId = ctx.jobId(ctx.mvc.perform(get("/lines")).andReturn().getResponse());
+
+            MockHttpServletResponse page = ctx.mvc.perform(get("/lines?job=" + jobId + "&cursor=0&waitMs=5000"))
+                    .andReturn().getResponse();
+
+            assertEquals(206, page.getStatus());
+            JsonNode body = new ObjectMapper().readTree(page.getContentAsString());
+            assertEquals("a", body.get("chunks").get(0).asText());
+            assertEquals("1", body.get("cursor").asText());
+        }
+    }
+
+    @Test
+    void givenFutureEndpoint_WhenPendingThenReadyThroughProxy_ThenAnswersAcceptedThenCompletedStage() throws Exception {
+        try (Context ctx = new Context()) {
+            MockHttpServletResponse kickoff = ctx.mvc.perform(get("/future")).andReturn().getResponse();
+            assertEquals(202, kickoff.getStatus());
+            ctx.app.getBean(Gate.class).future.complete("staged");
+
+            MvcResult ready = ctx.mvc.perform(get("/future?job=" + ctx.jobId(kickoff) + "&waitMs=5000")).andReturn();
+            MockHttpServletResponse response = ctx.mvc.perform(asyncDispatch(ready)).andReturn().getResponse();
+
+            assertEquals(200, response.getStatus());
+            assertEquals("staged", response.getContentAsString());
+        }
+    }
+
+    @Test
+    void givenDefaultConfiguration_WhenBatchPolled_ThenEndpointIsNotRegistered() throws Exception {
+        try (Context ctx = new Context()) {
+            MockHttpServletResponse response = ctx.mvc.perform(batch("Other#method", "job")).andReturn().getResponse();
+
+            assertEquals(404, response.getStatus());
+        }
+    }
+
+    @Test
+    void givenBatchEnabled_WhenUnregisteredNamespacePolled_ThenAnswersBadRequest() throws Exception {
+        try (Context ctx = new Context(new MockPropertySource().withProperty("sse2poll.batch.enabled", "true"))) {
+            MockHttpServletResponse response = ctx.mvc.perform(batch("Other#method", "job")).andReturn().getResponse();
+
+            assertEquals(400, response.getStatus());
+        }
+    }
+
+    @Test
+    void givenBatchEnabled_WhenRegisteredNamespacePolled_ThenAnswersJobStatus() throws Exception {
+        try (Context ctx = new Context(new MockPropertySource().withProperty("sse2poll.batch.enabled", "true"))) {
+            MockHttpServletResponse kickoff = ctx.mvc.perform(get("/report")).andReturn().getResponse();
+            String namespace = kickoff.getHeader(PolledExceptionHandler.NAMESPACE_HEADER);
+
+            MockHttpServletResponse response = ctx.mvc.perform(batch(namespace, ctx.jobId(kickoff)))
+                    .andReturn().getResponse();
+
+            assertEquals(200, response.getStatus());
+            JsonNode job = new ObjectMapper().readTree(response.getContentAsString()).get("jobs").get(0);
+            assertEquals(ctx.jobId(kickoff), job.get("jobId").asText());
+            assertEquals("PENDING", job.get("state").asText());
+        }
+    }
+
+    private static MockHttpServletRequestBuilder batch(String namespace, String jobId) {
+        return post("/sse2poll/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"waitMs\":0,\"jobs\":[{\"namespace\":\"" + namespace + "\",\"jobId\":\"" + jobId + "\"}]}");
+    }
+
+    static final class Context implements AutoCloseable {
+        final AnnotationConfigWebApplicationContext app = new AnnotationConfigWebApplicationContext();
+        final MockMvc mvc;
+        final CompletableFuture<String> gate;
+
+        Context() {
+            this(new MockPropertySource());
+        }
+
+        Context(MockPropertySource properties) {
+            app.setServletContext(new MockServletContext());
+            app.getEnvironment().getPropertySources().addFirst(properties);
+            app.register(WebConfig.class);
+            app.refresh();
+            mvc = MockMvcBuilders.webAppContextSetup(app).build();
+            gate = app.getBean(Gate.class).result;
+        }
+
+        String jobId(MockHttpServletResponse pending) throws Exception {
+            return new ObjectMapper().readTree(pending.getContentAsString()).get("jobId").asText();
+        }
+
+        @Override
+        public void close() {
+            // releases computations a test left parked on the gate
+            gate.complete("closed");
+            app.getBean(Gate.class).tail.complete("closed");
+            app.getBean(Gate.class).future.complete("closed");
+            app.close();
+        }
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Import({Sse2PollAutoConfiguration.class, PolledGetAspect.class, PolledExceptionHandler.class})
+    static class WebConfig {
+
+        @Bean
+        Gate gate() {
+            return new Gate();
+        }
+
+        @Bean
+        ReportController reportController(Gate gate) {
+            return new ReportController(gate);
+        }
+    }
+
+    public record Dock(String name) {
+    }
+
+    static final class Gate {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final CompletableFuture<String> tail = new CompletableFuture<>();
+        final CompletableFuture<String> future = new CompletableFuture<>();
+    }
+
+    @RestController
+    static class ReportController {
+        private final Gate gate;
+
+        ReportController(Gate gate) {
+            this.gate = gate;
+        }
+
+        @GetMapping("/dock")
+        @PolledGet(preEncode = true)
+        public Dock dock() {
+            return new Dock("north");
+        }
+
+        @GetMapping("/lines")
+        @PolledGet
+        public String lines(ChunkEmitter emitter) {
+            emitter.emit("a");
+            return gate.tail.join();
+        }
+
+        @GetMapping("/future")
+        @PolledGet
+        public CompletableFuture<String> future() {
+            return gate.future;
+        }
+
+        @GetMapping("/report")
+        @PolledGet(deferred = true)
+        public String report() {
+            return gate.result.join();
+        }
+    }
+}
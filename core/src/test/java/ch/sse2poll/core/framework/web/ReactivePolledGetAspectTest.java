@@ -0,0 +1,126 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.CacheBackedPollCoordinator;
+import ch.sse2poll.core.engine.exception.PendingJobException;
+import ch.sse2poll.core.engine.support.implementation.DefaultKeyFactory;
+import ch.sse2poll.core.engine.support.implementation.SignalingReadyAwaiter;
+import ch.sse2poll.core.engine.support.implementation.UuidIdGenerator;
+import ch.sse2poll.core.engine.support.interfaces.AsyncRunner;
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import ch.sse2poll.core.framework.cache.CaffeineCacheClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactivePolledGetAspectTest {
+
+    @Test
+    void givenMonoEndpoint_WhenKickedOffAndPolled_ThenPublisherIsFollowedWithoutWorker() {
+        Context ctx = new Context();
+
+        PendingJobException pending = assertThrows(PendingJobException.class,
+                () -> ctx.call(ctx.controller.report(), "/report").block());
+        ctx.result.tryEmitValue("done");
+        ResponseEntity<?> response = ctx.call(ctx.controller.report(), "/report?job=" + pending.getJobId()).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("done", response.getBody());
+    }
+
+    @Test
+    void givenWaitingPoll_WhenPublisherEmits_ThenResponseCompletesFromSignal() throws Exception {
+        Context ctx = new Context();
+        PendingJobException pending = assertThrows(PendingJobException.class,
+                () -> ctx.call(ctx.controller.report(), "/report").block());
+
+        CompletableFuture<ResponseEntity<?>> poll = ctx.call(ctx.controller.report(),
+                "/report?job=" + pending.getJobId() + "&waitMs=5000").toFuture();
+        assertFalse(poll.isDone());
+        ctx.result.tryEmitValue("late");
+
+        assertEquals("late", poll.get(1, TimeUnit.SECONDS).getBody());
+    }
+
+    @Test
+    void givenFluxEndpoint_WhenElementsCompleteDuringKickoff_ThenAnswersWithCollectedList() {
+        Context ctx = new Context();
+
+        ResponseEntity<?> response = ctx.call(ctx.controller.lines(), "/lines").blockFirst();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("a", "b"), response.getBody());
+    }
+
+    static final class Context {
+        final Sinks.One<String> result = Sinks.one();
+        final ReportController controller;
+
+        Context() {
+            // any use of the runner would mean a publisher got a worker thread of its own
+            AsyncRunner noWorkers = new AsyncRunner() {
+                @Override
+                public <T> void run(Supplier<T> compute, Consumer<T> onSuccess) {
+                    throw new IllegalStateException("Reactive endpoints must not be handed to the runner");
+                }
+            };
+            CacheBackedPollCoordinator coordinator = new CacheBackedPollCoordinator(new CaffeineCacheClient(100),
+                    new UuidIdGenerator(), new DefaultKeyFactory(), new SignalingReadyAwaiter(), noWorkers);
+            AspectJProxyFactory factory = new AspectJProxyFactory(new ReportController(result));
+            factory.setProxyTargetClass(true);
+            factory.addAspect(new ReactivePolledGetAspect(coordinator));
+            controller = factory.getProxy();
+        }
+
+        // the aspect answers with ResponseEntity elements whatever the method declares
+        @SuppressWarnings("unchecked")
+        Mono<ResponseEntity<?>> call(Mono<?> publisher, String uri) {
+            return (Mono<ResponseEntity<?>>) publisher.contextWrite(withExchange(uri));
+        }
+
+        @SuppressWarnings("unchecked")
+        Flux<ResponseEntity<?>> call(Flux<?> publisher, String uri) {
+            return (Flux<ResponseEntity<?>>) publisher.contextWrite(withExchange(uri));
+        }
+
+        private static reactor.util.context.Context withExchange(String uri) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+            return reactor.util.context.Context.of(ServerWebExchangeContextFilter.EXCHANGE_CONTEXT_ATTRIBUTE, exchange);
+        }
+    }
+
+    static class ReportController {
+        private final Sinks.One<String> result;
+
+        ReportController(Sinks.One<String> result) {
+            this.result = result;
+        }
+
+        @PolledGet
+        public Mono<String> report() {
+            return result.asMono().timeout(Duration.ofSeconds(5));
+        }
+
+        @PolledGet
+        public Flux<String> lines() {
+            return Flux.just("a", "b");
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.CacheBackedPollCoordinator;
+import ch.sse2poll.core.engine.port.incoming.PollCoordinator;
+import ch.sse2poll.core.engine.support.implementation.DefaultKeyFactory;
+import ch.sse2poll.core.engine.support.implementation.SignalingReadyAwaiter;
+import ch.sse2poll.core.engine.support.implementation.UuidIdGenerator;
+import ch.sse2poll.core.engine.support.implementation.VirtualThreadAsyncRunner;
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import ch.sse2poll.core.framework.cache.CaffeineCacheClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs @PolledGet methods through the CGLIB proxy, the DispatcherHandler and PolledResultHandler, so every supported
+// return shape is checked against what the proxy may actually hand back.
+class ReactivePolledGetWebFluxTest {
+
+    @Test
+    void givenMonoEndpoint_WhenKickedOffAndPolledThroughProxy_ThenAnswersAcceptedThenResult() throws Exception {
+        try (Context ctx = new Context(WebConfig.class)) {
+            String jobId = ctx.jobId(ctx.client.get().uri("/report").exchange()
+                    .expectStatus().isAccepted()
+                    .expectBody(String.class).returnResult().getResponseBody());
+            ctx.gate().report.tryEmitValue("done");
+
+            String body = ctx.client.get().uri("/report?job=" + jobId + "&waitMs=5000").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).returnResult().getResponseBody();
+
+            assertEquals("done", body);
+        }
+    }
+
+    @Test
+    void givenFluxEndpoint_WhenKickoffWaitsThroughProxy_ThenAnswersWithCollectedList() throws Exception {
+        try (Context ctx = new Context(WebConfig.class)) {
+            String body = ctx.client.get().uri("/lines?waitMs=5000").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).returnResult().getResponseBody();
+
+            assertEquals("[\"a\",\"b\"]", body);
+        }
+    }
+
+    @Test
+    void givenFutureEndpoint_WhenPendingThenReadyThroughProxy_ThenAnswersAcceptedThenResult() throws Exception {
+        try (Context ctx = new Context(WebConfig.class)) {
+            String jobId = ctx.jobId(ctx.client.get().uri("/future").exchange()
+                    .expectStatus().isAccepted()
+                    .expectBody(String.class).returnResult().getResponseBody());
+            ctx.gate().future.complete("staged");
+
+            String body = ctx.client.get().uri("/future?job=" + jobId + "&waitMs=5000").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).returnResult().getResponseBody();
+
+            assertEquals("staged", body);
+        }
+    }
+
+    @Test
+    void givenPlainValueEndpoint_WhenContextStarts_ThenStartupFailsNamingTheMethod() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> new Context(PlainConfig.class));
+
+        assertTrue(ex.getMessage().contains("PlainController#plain"), ex.getMessage());
+    }
+
+    static final class Context implements AutoCloseable {
+        final AnnotationConfigApplicationContext app;
+        final WebTestClient client;
+
+        Context(Class<?> config) {
+            app = new AnnotationConfigApplicationContext(config);
+            client = WebTestClient.bindToApplicationContext(app).configureClient()
+                    .responseTimeout(Duration.ofSeconds(10)).build();
+        }
+
+        Gate gate() {
+            return app.getBean(Gate.class);
+        }
+
+        String jobId(String pending) throws Exception {
+            return new ObjectMapper().readTree(pending).get("jobId").asText();
+        }
+
+        @Override
+        public void close() {
+            app.close();
+        }
+    }
+
+    @Configuration
+    @EnableWebFlux
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Import({ReactivePolledGetAspect.class, PolledExceptionHandler.class})
+    static class InfrastructureConfig {
+
+        @Bean
+        PollCoordinator pollCoordinator() {
+            return new CacheBackedPollCoordinator(new CaffeineCacheClient(100), new UuidIdGenerator(),
+                    new DefaultKeyFactory(), new SignalingReadyAwaiter(), new VirtualThreadAsyncRunner());
+        }
+
+        // the servlet API on the test classpath would make WebFlux look for a container's websocket support
+        @Bean
+        WebFluxConfigurer noWebSockets() {
+            return new WebFluxConfigurer() {
+                @Override
+                public WebSocketService getWebSocketService() {
+                    return new HandshakeWebSocketService((exchange, handler, protocol, info) ->
+                            Mono.error(new UnsupportedOperationException("no websockets in this test")));
+                }
+            };
+        }
+
+        @Bean
+        ServerWebExchangeContextFilter exchangeContextFilter() {
+            return new ServerWebExchangeContextFilter();
+        }
+
+        @Bean
+        PolledResultHandler polledResultHandler(ServerCodecConfigurer serverCodecConfigurer,
+                                                RequestedContentTypeResolver webFluxContentTypeResolver) {
+            return new PolledResultHandler(serverCodecConfigurer.getWriters(), webFluxContentTypeResolver);
+        }
+    }
+
+    @Configuration
+    @Import(InfrastructureConfig.class)
+    static class WebConfig {
+
+        @Bean
+        Gate gate() {
+            return new Gate();
+        }
+
+        @Bean
+        ReportController reportController(Gate gate) {
+            return new ReportController(gate);
+        }
+    }
+
+    @Configuration
+    @Import(InfrastructureConfig.class)
+    static class PlainConfig {
+
+        @Bean
+        PlainController plainController() {
+            return new PlainController();
+        }
+    }
+
+    static final class Gate {
+        final Sinks.One<String> report = Sinks.one();
+        final CompletableFuture<String> future = new CompletableFuture<>();
+    }
+
+    @RestController
+    static class ReportController {
+        private final Gate gate;
+
+        ReportController(Gate gate) {
+            this.gate = gate;
+        }
+
+        @GetMapping("/report")
+        @PolledGet
+        public Mono<String> report() {
+            return gate.report.asMono().timeout(Duration.ofSeconds(5));
+        }
+
+        @GetMapping("/future")
+        @PolledGet
+        public CompletableFuture<String> future() {
+            return gate.future;
+        }
+
+        @GetMapping("/lines")
+        @PolledGet
+        public Flux<String> lines() {
+            return Flux.just("a", "b");
+        }
+    }
+
+    @RestController
+    static class PlainController {
+
+        @GetMapping("/plain")
+        @PolledGet
+        public String plain() {
+            return "plain";
+        }
+    }
+}
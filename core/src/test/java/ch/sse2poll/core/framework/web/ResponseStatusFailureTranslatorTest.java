@@ -0,0 +1,34 @@
+package ch.sse2poll.core.framework.web;
+
+import ch.sse2poll.core.engine.support.implementation.GenericFailureTranslator;
+import ch.sse2poll.core.entities.model.Failed;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseStatusFailureTranslatorTest {
+
+    private final ResponseStatusFailureTranslator translator =
+            new ResponseStatusFailureTranslator(new GenericFailureTranslator());
+
+    @Test
+    void givenWrappedResponseStatusException_WhenTranslate_ThenUsesItsStatusAndReason() {
+        Throwable error = new IllegalStateException("Failed to execute polled computation",
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown product desk"));
+
+        Failed failed = translator.translate(error);
+
+        assertEquals(404, failed.status());
+        assertEquals("Unknown product desk", failed.detail());
+    }
+
+    @Test
+    void givenUnclassifiedError_WhenTranslate_ThenFallsBackToGenericServerError() {
+        Failed failed = translator.translate(new IllegalArgumentException("secret internals"));
+
+        assertEquals(500, failed.status());
+        assertEquals("Polled computation failed", failed.detail());
+    }
+}
@@ -0,0 +1,180 @@
+package ch.sse2poll.loadtest;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Drives the polling protocol the way the Angular client does: kickoff, then poll with job and waitMs until 200.
+// Each simulated client runs on its own virtual thread and is assigned one waitMs/poll-interval profile.
+@Component
+public class LoadDriver implements CommandLineRunner, ExitCodeGenerator {
+
+    private static final Pattern JOB_ID = Pattern.compile("\"jobId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final long SAMPLE_EVERY_MS = 100;
+
+    private final ApplicationContext context;
+    private final Environment environment;
+    private final ServerGauges gauges;
+    private int exitCode;
+
+    public LoadDriver(ApplicationContext context, Environment environment, ServerGauges gauges) {
+        this.context = context;
+        this.environment = environment;
+        this.gauges = gauges;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        LoadSettings settings = LoadSettings.from(environment);
+        boolean embedded = settings.target().isBlank();
+        String target = embedded ? embeddedTarget(settings) : settings.target();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicLong heapHighWater = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> heapHighWater.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, SAMPLE_EVERY_MS, TimeUnit.MILLISECONDS);
+        threads.resetPeakThreadCount();
+        gauges.reset();
+
+        Queue<LoadReport.JobResult> results = new ConcurrentLinkedQueue<>();
+        long started = System.nanoTime();
+        // resources close in reverse order: the client executor waits for every job before the HttpClient shuts down
+        try (HttpClient http = HttpClient.newBuilder()
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < settings.clients(); client++) {
+                int profile = client % settings.profiles();
+                long startDelayMs = settings.rampUpMs() * client / Math.max(1, settings.clients());
+                clients.submit(() -> {
+                    sleep(startDelayMs);
+                    for (int job = 0; job < settings.jobsPerClient(); job++) {
+                        results.add(runJob(http, target, settings, profile));
+                    }
+                });
+            }
+        }
+        long wallNanos = System.nanoTime() - started;
+        sampler.shutdownNow();
+
+        LoadReport report = new LoadReport(settings, List.copyOf(results), wallNanos, heapHighWater.get(),
+                threads.getPeakThreadCount(), gauges.peakRequestThreads(), gauges.peakJobs(), embedded);
+        report.print(System.out);
+        exitCode = report.failures() == 0 ? 0 : 1;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private LoadReport.JobResult runJob(HttpClient http, String target, LoadSettings settings, int profile) {
+        long waitMs = settings.waitMsOf(profile);
+        long intervalMs = settings.pollIntervalMsOf(profile);
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(settings.jobTimeoutMs());
+        int polls = 0;
+        int rejections = 0;
+        String jobId = null;
+        try {
+            while (System.nanoTime() < deadline) {
+                HttpResponse<String> response = http.send(request(target, jobId, waitMs), HttpResponse.BodyHandlers.ofString());
+                switch (response.statusCode()) {
+                    case 200 -> {
+                        return new LoadReport.JobResult(profile, System.nanoTime() - started, polls, rejections, null);
+                    }
+                    case 202 -> {
+                        if (jobId == null) {
+                            Optional<String> issued = jobId(response.body());
+                            if (issued.isEmpty()) {
+                                return new LoadReport.JobResult(profile, System.nanoTime() - started, polls, rejections,
+                                        "202 without jobId");
+                            }
+                            jobId = issued.get();
+                        }
+                        sleep(intervalMs);
+                        polls++;
+                    }
+                    case 503 -> {
+                        // bulkhead full: back off as told and kick off again
+                        rejections++;
+                        jobId = null;
+                        sleep(response.headers().firstValueAsLong("Retry-After").orElse(1) * 1000);
+                    }
+                    default -> {
+                        return new LoadReport.JobResult(profile, System.nanoTime() - started, polls, rejections,
+                                "status " + response.statusCode());
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            return new LoadReport.JobResult(profile, System.nanoTime() - started, polls, rejections,
+                    ex.getClass().getSimpleName());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new LoadReport.JobResult(profile, System.nanoTime() - started, polls, rejections, "interrupted");
+        }
+        return new LoadReport.JobResult(profile, System.nanoTime() - started, polls, rejections, "timed out");
+    }
+
+    private static HttpRequest request(String target, String jobId, long waitMs) {
+        StringBuilder uri = new StringBuilder(target).append(target.contains("?") ? '&' : '?').append("waitMs=").append(waitMs);
+        if (jobId != null) {
+            uri.append("&job=").append(jobId);
+        }
+        return HttpRequest.newBuilder(URI.create(uri.toString()))
+                .timeout(Duration.ofMillis(waitMs).plusSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static Optional<String> jobId(String body) {
+        Matcher matcher = JOB_ID.matcher(body);
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    private String embeddedTarget(LoadSettings settings) {
+        if (!(context instanceof WebServerApplicationContext web)) {
+            throw new IllegalStateException("Set loadtest.target or run with a web server");
+        }
+        return "http://localhost:" + web.getWebServer().getPort() + settings.path();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ch.sse2poll.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+final class LoadReport {
+
+    // failure is null for a job that reached 200
+    record JobResult(int profile, long nanos, int polls, int rejections, String failure) {
+        boolean completed() {
+            return failure == null;
+        }
+    }
+
+    private final LoadSettings settings;
+    private final List<JobResult> results;
+    private final long wallNanos;
+    private final long heapHighWaterBytes;
+    private final int peakPlatformThreads;
+    private final int peakRequestThreads;
+    private final int peakJobs;
+    private final boolean embedded;
+
+    LoadReport(LoadSettings settings, List<JobResult> results, long wallNanos, long heapHighWaterBytes,
+               int peakPlatformThreads, int peakRequestThreads, int peakJobs, boolean embedded) {
+        this.settings = settings;
+        this.results = results;
+        this.wallNanos = wallNanos;
+        this.heapHighWaterBytes = heapHighWaterBytes;
+        this.peakPlatformThreads = peakPlatformThreads;
+        this.peakRequestThreads = peakRequestThreads;
+        this.peakJobs = peakJobs;
+        this.embedded = embedded;
+    }
+
+    long failures() {
+        return results.stream().filter(result -> !result.completed()).count();
+    }
+
+    void print(PrintStream out) {
+        double seconds = wallNanos / 1e9;
+        long requests = results.stream().mapToLong(result -> 1 + result.polls() + result.rejections()).sum();
+        out.printf(Locale.ROOT, "%nsse2poll load test: %d clients x %d jobs against %s%n",
+                settings.clients(), settings.jobsPerClient(), embedded ? "embedded server" : settings.target());
+        out.printf(Locale.ROOT, "wall time           %.1f s%n", seconds);
+        out.printf(Locale.ROOT, "throughput          %.1f jobs/s, %.1f requests/s%n",
+                completed(results).size() / seconds, requests / seconds);
+        out.printf(Locale.ROOT, "failed jobs         %d%n", failures());
+        results.stream()
+                .filter(result -> !result.completed())
+                .collect(Collectors.groupingBy(JobResult::failure, TreeMap::new, Collectors.counting()))
+                .forEach((failure, count) -> out.printf(Locale.ROOT, "  %-17s %d%n", failure, count));
+        out.printf(Locale.ROOT, "rejections (503)    %d%n", results.stream().mapToLong(JobResult::rejections).sum());
+        out.printf(Locale.ROOT, "heap high-water     %.1f MiB%s%n", heapHighWaterBytes / (1024.0 * 1024.0),
+                embedded ? " (driver and server share the JVM)" : " (driver only)");
+        out.printf(Locale.ROOT, "platform threads    %d peak%n", peakPlatformThreads);
+        if (embedded) {
+            out.printf(Locale.ROOT, "request threads     %d peak held by the container%n", peakRequestThreads);
+            out.printf(Locale.ROOT, "job threads         %d peak virtual threads computing%n", peakJobs);
+        }
+        out.println();
+        out.printf(Locale.ROOT, "%-22s %8s %10s %10s %10s %12s%n", "profile", "jobs", "p50 ms", "p99 ms", "max ms",
+                "polls/job");
+        line(out, "all", completed(results));
+        for (int profile = 0; profile < settings.profiles(); profile++) {
+            int p = profile;
+            line(out, "waitMs=" + settings.waitMsOf(p) + " every=" + settings.pollIntervalMsOf(p),
+                    completed(results.stream().filter(result -> result.profile() == p).toList()));
+        }
+    }
+
+    private static void line(PrintStream out, String label, List<JobResult> done) {
+        if (done.isEmpty()) {
+            out.printf(Locale.ROOT, "%-22s %8d %10s %10s %10s %12s%n", label, 0, "-", "-", "-", "-");
+            return;
+        }
+        long[] nanos = done.stream().mapToLong(JobResult::nanos).sorted().toArray();
+        double polls = done.stream().mapToInt(JobResult::polls).average().orElse(0);
+        out.printf(Locale.ROOT, "%-22s %8d %10d %10d %10d %12.2f%n", label, nanos.length,
+                millis(percentile(nanos, 0.50)), millis(percentile(nanos, 0.99)), millis(nanos[nanos.length - 1]),
+                polls);
+    }
+
+    private static List<JobResult> completed(List<JobResult> results) {
+        List<JobResult> done = new ArrayList<>();
+        for (JobResult result : results) {
+            if (result.completed()) {
+                done.add(result);
+            }
+        }
+        return done;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
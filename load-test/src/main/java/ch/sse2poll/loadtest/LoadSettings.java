@@ -0,0 +1,46 @@
+package ch.sse2poll.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+
+record LoadSettings(String target,
+                    String path,
+                    int clients,
+                    int jobsPerClient,
+                    long[] waitMs,
+                    long[] pollIntervalMs,
+                    long rampUpMs,
+                    long jobTimeoutMs) {
+
+    static LoadSettings from(Environment env) {
+        return new LoadSettings(
+                env.getProperty("loadtest.target", ""),
+                env.getProperty("loadtest.path", "/load/slow"),
+                env.getProperty("loadtest.clients", Integer.class, 1000),
+                env.getProperty("loadtest.jobs-per-client", Integer.class, 3),
+                longs(env.getProperty("loadtest.wait-ms", "0")),
+                longs(env.getProperty("loadtest.poll-interval-ms", "500")),
+                env.getProperty("loadtest.ramp-up-ms", Long.class, 5000L),
+                env.getProperty("loadtest.job-timeout-ms", Long.class, 120_000L));
+    }
+
+    // clients are spread over every combination of waitMs and poll interval
+    int profiles() {
+        return waitMs.length * pollIntervalMs.length;
+    }
+
+    long waitMsOf(int profile) {
+        return waitMs[profile % waitMs.length];
+    }
+
+    long pollIntervalMsOf(int profile) {
+        return pollIntervalMs[profile / waitMs.length];
+    }
+
+    private static long[] longs(String csv) {
+        long[] values = Arrays.stream(csv.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .mapToLong(Long::parseLong).toArray();
+        return values.length == 0 ? new long[]{0} : values;
+    }
+}
@@ -0,0 +1,17 @@
+package ch.sse2poll.loadtest;
+
+import ch.sse2poll.core.framework.config.Sse2PollAutoConfiguration;
+import ch.sse2poll.core.framework.web.PolledGetAspect;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@Import({Sse2PollAutoConfiguration.class, PolledGetAspect.class})
+public class LoadTestApplication {
+
+	public static void main(String[] args) {
+		System.exit(SpringApplication.exit(SpringApplication.run(LoadTestApplication.class, args)));
+	}
+
+}
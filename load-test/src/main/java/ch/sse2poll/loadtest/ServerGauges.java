@@ -0,0 +1,54 @@
+package ch.sse2poll.loadtest;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Peak request threads held by the container and peak jobs computing at once, for the embedded server only.
+// A deferred poll leaves the filter as soon as it parks, so it stops counting as a held thread.
+@Component
+public class ServerGauges implements Filter {
+
+    private final AtomicInteger requestThreads = new AtomicInteger();
+    private final AtomicInteger peakRequestThreads = new AtomicInteger();
+    private final AtomicInteger jobs = new AtomicInteger();
+    private final AtomicInteger peakJobs = new AtomicInteger();
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        peakRequestThreads.accumulateAndGet(requestThreads.incrementAndGet(), Math::max);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            requestThreads.decrementAndGet();
+        }
+    }
+
+    void jobStarted() {
+        peakJobs.accumulateAndGet(jobs.incrementAndGet(), Math::max);
+    }
+
+    void jobFinished() {
+        jobs.decrementAndGet();
+    }
+
+    int peakRequestThreads() {
+        return peakRequestThreads.get();
+    }
+
+    int peakJobs() {
+        return peakJobs.get();
+    }
+
+    void reset() {
+        peakRequestThreads.set(requestThreads.get());
+        peakJobs.set(jobs.get());
+    }
+}
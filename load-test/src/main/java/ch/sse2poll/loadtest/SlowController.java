@@ -0,0 +1,59 @@
+package ch.sse2poll.loadtest;
+
+import ch.sse2poll.core.framework.annotation.PolledGet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Stand-in for a slow backend: sleeps delay-ms plus up to jitter-ms, then returns payload-bytes of text.
+@RestController
+@RequestMapping("/load")
+public class SlowController {
+
+    private final ServerGauges gauges;
+    private final long delayMs;
+    private final long jitterMs;
+    private final String body;
+
+    public SlowController(ServerGauges gauges,
+                          @Value("${loadtest.server.delay-ms:2000}") long delayMs,
+                          @Value("${loadtest.server.jitter-ms:1000}") long jitterMs,
+                          @Value("${loadtest.server.payload-bytes:512}") int payloadBytes) {
+        this.gauges = gauges;
+        this.delayMs = delayMs;
+        this.jitterMs = jitterMs;
+        this.body = "x".repeat(Math.max(0, payloadBytes));
+    }
+
+    @PolledGet
+    @GetMapping("/slow")
+    public SlowResult slow() {
+        return compute();
+    }
+
+    @PolledGet(deferred = true)
+    @GetMapping("/slow-deferred")
+    public SlowResult slowDeferred() {
+        return compute();
+    }
+
+    private SlowResult compute() {
+        gauges.jobStarted();
+        try {
+            long sleep = delayMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+            Thread.sleep(sleep);
+            return new SlowResult(sleep, body);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating slow work", ie);
+        } finally {
+            gauges.jobFinished();
+        }
+    }
+
+    public record SlowResult(long tookMs, String body) {
+    }
+}